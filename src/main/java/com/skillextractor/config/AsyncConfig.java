@@ -0,0 +1,69 @@
+package com.skillextractor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded worker pools for work that must not run on Tomcat request threads
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${analysis.jobs.workers:2}")
+    private int analysisWorkers;
+
+    @Value("${analysis.jobs.queue-capacity:50}")
+    private int analysisQueueCapacity;
+
+    @Value("${analysis.chunk.parallelism:3}")
+    private int chunkParallelism;
+
+    @Value("${quiz.warmup.concurrency:1}")
+    private int warmupConcurrency;
+
+    @Value("${quiz.warmup.queue-capacity:200}")
+    private int warmupQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor analysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisWorkers);
+        executor.setMaxPoolSize(analysisWorkers);
+        executor.setQueueCapacity(analysisQueueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    /**
+     * Runs the map stage of chunked analysis; the pool size caps concurrent chunk completions app-wide
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analysisChunkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(chunkParallelism);
+        executor.setMaxPoolSize(chunkParallelism);
+        executor.setThreadNamePrefix("analysis-chunk-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    /**
+     * Low-priority pool for speculative quiz pre-generation. Best effort: tasks beyond the queue are rejected,
+     * and QuizWarmupService counts them as dropped.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor quizWarmupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(warmupConcurrency);
+        executor.setMaxPoolSize(warmupConcurrency);
+        executor.setQueueCapacity(warmupQueueCapacity);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("quiz-warmup-");
+        return executor;
+    }
+}
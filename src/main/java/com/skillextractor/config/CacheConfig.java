@@ -1,32 +1,78 @@
 package com.skillextractor.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillextractor.repository.CacheEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Peer fill: with cache.peer-fill.enabled generated quizzes also go to the shared database tier,
+     * so a quiz generated on one instance serves misses on every other instance before OpenAI is called
+     */
+    @Value("${cache.peer-fill.enabled:false}")
+    private boolean peerFill;
+
+    // Memory tier of every cache; the database tier is bounded by age (cache.persistent.ttl-days)
+    @Value("${cache.memory.maximum-size:100}")
+    private long memoryMaximumSize;
+
+    @Value("${cache.memory.expire-after-write-hours:24}")
+    private long memoryExpireAfterWriteHours;
+
+    @Value("${cache.persistent.ttl-days:30}")
+    private long persistentTtlDays;
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "projectAnalysis",  // Cache for project analysis results
-                "quizGeneration"    // Cache for generated quizzes
-        );
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    public CacheManager cacheManager(CacheEntryRepository cacheEntryRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ClusterCacheBus clusterCacheBus,
+                                     MeterRegistry meterRegistry) {
+        // Cache for project analysis results - backed by the database so restarts keep paid-for results
+        CaffeineCache analysisMemory = caffeineCache("projectAnalysis");
+        Cache analysis = new TieredCache(analysisMemory, cacheEntryRepository, Duration.ofDays(persistentTtlDays),
+                transactionManager, meterRegistry);
+
+        // Cache for generated quizzes
+        CaffeineCache quizMemory = caffeineCache("quizGeneration");
+        Cache quizzes = peerFill
+                ? new TieredCache(quizMemory, cacheEntryRepository, Duration.ofDays(persistentTtlDays),
+                        transactionManager, meterRegistry)
+                : quizMemory;
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        // Both caches coalesce concurrent identical misses into a single OpenAI call and are kept
+        // coherent across instances by invalidating the other nodes' memory tier on every change
+        cacheManager.setCaches(List.of(
+                new CoalescingCache(new ClusterCache(analysis, analysisMemory, clusterCacheBus, meterRegistry), meterRegistry),
+                new CoalescingCache(new ClusterCache(quizzes, quizMemory, clusterCacheBus, meterRegistry), meterRegistry)
+        ));
         return cacheManager;
     }
 
+    private CaffeineCache caffeineCache(String name) {
+        return new CaffeineCache(name, caffeineCacheBuilder().build());
+    }
+
     private Caffeine<Object, Object> caffeineCacheBuilder() {
         return Caffeine.newBuilder()
-                .maximumSize(100)
-                .expireAfterWrite(24, TimeUnit.HOURS)
+                .maximumSize(memoryMaximumSize)
+                .expireAfterWrite(memoryExpireAfterWriteHours, TimeUnit.HOURS)
                 .recordStats();
     }
-}
\ No newline at end of file
+}
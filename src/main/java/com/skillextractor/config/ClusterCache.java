@@ -0,0 +1,118 @@
+package com.skillextractor.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps a node-local cache coherent across instances: every put, evict and clear is published on the
+ * {@link ClusterCacheBus}, and messages from other nodes drop entries from the local (memory) tier only,
+ * leaving the shared persistent tier to refill them. Lookups are counted so summing
+ * cache.cluster.requests{result} over all instances gives the cluster-wide hit rate. Each request is
+ * counted once, by {@link #get(Object)}: {@link CoalescingCache} probes with it before loading.
+ */
+public class ClusterCache implements Cache {
+
+    private final Cache delegate;
+    private final Cache local;
+    private final ClusterCacheBus bus;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param local the node-local part of {@code delegate} (the delegate itself when it has no shared tier)
+     */
+    public ClusterCache(Cache delegate, Cache local, ClusterCacheBus bus, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.local = local;
+        this.bus = bus;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        bus.subscribe(getName(), this::onRemoteInvalidation);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = delegate.get(key);
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Not counted: the caller's probe already counted this request as a miss, and the lookup here only
+     * catches a value stored in the meantime
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        bus.publish(getName(), ClusterCacheBus.Operation.PUT, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        bus.publish(getName(), ClusterCacheBus.Operation.EVICT, key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        bus.publish(getName(), ClusterCacheBus.Operation.CLEAR, null);
+    }
+
+    private void onRemoteInvalidation(ClusterCacheBus.Operation operation, String key) {
+        if (key == null) {
+            local.clear();
+        } else {
+            local.evict(key);
+        }
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.cluster.requests")
+                .description("Cache lookups answered from any tier vs. passed on to the source")
+                .tag("cache", delegate.getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,219 @@
+package com.skillextractor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide invalidation of node-local caches over Postgres LISTEN/NOTIFY.
+ * A node that evicts, replaces or clears an entry publishes a small message (never the value);
+ * every other node drops its local copy and reloads from the shared tier or the source on the next
+ * read. Messages sent inside a transaction go out after it commits, so no node can reload the old
+ * value. After a lost listener connection every local cache is cleared, since messages may have been
+ * missed. Metrics: cache.bus.messages{direction=sent|received|failed},
+ * cache.bus.propagation (publish to remote delivery, across node clocks).
+ */
+@Component
+@Slf4j
+public class ClusterCacheBus {
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    public enum Operation {
+        EVICT, PUT, CLEAR
+    }
+
+    /**
+     * Drops local state for a key published by another node; key is null for CLEAR
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onInvalidate(Operation operation, String key);
+    }
+
+    record Message(String node, String cache, Operation operation, String key, long sentAtMicros) {
+    }
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer propagation;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Listener> listeners = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public ClusterCacheBus(DataSource dataSource,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${cache.bus.enabled:false}") boolean enabled,
+                           @Value("${cache.bus.poll-timeout-ms:500}") int pollTimeoutMs) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.propagation = Timer.builder("cache.bus.propagation")
+                .description("Delay between publishing an invalidation and its delivery on another node")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void subscribe(String cache, Listener listener) {
+        listeners.put(cache, listener);
+    }
+
+    public void publish(String cache, Operation operation, Object key) {
+        if (!enabled) {
+            return;
+        }
+        Message message = new Message(nodeId, cache, operation, key != null ? key.toString() : null,
+                epochMicros());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+        } else {
+            send(message);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-bus");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Best effort: a failed publish leaves other nodes stale only until their entries expire
+     */
+    private void send(Message message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, objectMapper.writeValueAsString(message));
+            statement.execute();
+            meterRegistry.counter("cache.bus.messages", "direction", "sent").increment();
+        } catch (Exception e) {
+            meterRegistry.counter("cache.bus.messages", "direction", "failed").increment();
+            log.warn("Failed to publish cache invalidation {}/{}: {}", message.cache(), message.key(), e.getMessage());
+        }
+    }
+
+    /**
+     * Holds one pooled connection for LISTEN; reconnects with a pause when it is lost
+     */
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    log.info("Cache bus reconnected, clearing local caches");
+                    clearLocal();
+                }
+                reconnect = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Any failure must not end this thread: the node would miss every later invalidation
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache bus connection lost: {}", e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears every local cache; one failing listener, e.g. a reload without a database, does not skip the rest
+     */
+    void clearLocal() {
+        listeners.forEach((cache, listener) -> {
+            try {
+                listener.onInvalidate(Operation.CLEAR, null);
+            } catch (Exception e) {
+                log.warn("Failed to clear local cache {}: {}", cache, e.getMessage());
+            }
+        });
+    }
+
+    private void deliver(String payload) {
+        try {
+            Message message = objectMapper.readValue(payload, Message.class);
+            if (nodeId.equals(message.node())) {
+                return;
+            }
+            propagation.record(Math.max(0, epochMicros() - message.sentAtMicros()), TimeUnit.MICROSECONDS);
+            meterRegistry.counter("cache.bus.messages", "direction", "received").increment();
+
+            Listener listener = listeners.get(message.cache());
+            if (listener != null) {
+                listener.onInvalidate(message.operation(), message.operation() == Operation.CLEAR ? null : message.key());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring invalid cache bus message {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private static long epochMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+}
@@ -0,0 +1,119 @@
+package com.skillextractor.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single-flight decorator: concurrent misses for the same key share one in-flight load.
+ * Only the first caller (the leader) runs the value loader; followers wait on its
+ * CompletableFuture and receive the same value or the same exception.
+ * Used by {@code @Cacheable(sync = true)} methods.
+ */
+public class CoalescingCache implements Cache {
+
+    private final Cache delegate;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter originated;
+    private final Counter coalesced;
+
+    public CoalescingCache(Cache delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.originated = callCounter(meterRegistry, "originated");
+        this.coalesced = callCounter(meterRegistry, "coalesced");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        originated.increment();
+        try {
+            T value = delegate.get(key, valueLoader);
+            leader.complete(value);
+            return value;
+        } catch (Throwable t) {
+            // Errors too: followers already joined must fail with the leader, never wait forever
+            leader.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception unchanged so followers fail exactly like the leader
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cache.loads")
+                .description("Cache loads that called the underlying service vs. joined an in-flight call")
+                .tag("cache", delegate.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,20 +1,43 @@
 package com.skillextractor.config;
 
+import com.theokanning.openai.client.OpenAiApi;
 import com.theokanning.openai.service.OpenAiService;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
 
 @Configuration
+@ConditionalOnProperty(name = "llm.provider", havingValue = "openai", matchIfMissing = true)
 public class OpenAIConfig {
 
     @Value("${openai.api.key}")
     private String apiKey;
 
+    /**
+     * API root for the SDK and the streaming client alike, so a proxy or a test double can stand in for OpenAI
+     */
+    @Value("${openai.base-url:https://api.openai.com/}")
+    private String baseUrl;
+
+    /**
+     * Authenticated HTTP client shared by the OpenAI SDK and the streaming completion client
+     */
+    @Bean
+    public OkHttpClient openAiHttpClient() {
+        return OpenAiService.defaultClient(apiKey, Duration.ofSeconds(60));
+    }
+
     @Bean
-    public OpenAiService openAiService() {
-        return new OpenAiService(apiKey, Duration.ofSeconds(60));
+    public OpenAiService openAiService(OkHttpClient openAiHttpClient) {
+        OpenAiApi api = OpenAiService.defaultRetrofit(openAiHttpClient, OpenAiService.defaultObjectMapper())
+                .newBuilder()
+                .baseUrl(baseUrl)
+                .build()
+                .create(OpenAiApi.class);
+        return new OpenAiService(api, openAiHttpClient.dispatcher().executorService());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.skillextractor.config;
+
+import com.skillextractor.repository.CacheEntryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes expired rows of the persistent cache tier every cache.persistent.purge-interval-minutes.
+ * Every instance runs it; the delete is idempotent, so overlapping runs only repeat work.
+ */
+@Component
+@Slf4j
+public class PersistentCachePurger {
+
+    private final CacheEntryRepository cacheEntryRepository;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${cache.persistent.ttl-days:30}")
+    private long ttlDays;
+
+    @Value("${cache.persistent.purge-interval-minutes:60}")
+    private long purgeIntervalMinutes;
+
+    public PersistentCachePurger(CacheEntryRepository cacheEntryRepository) {
+        this.cacheEntryRepository = cacheEntryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::purgeExpired, 1, purgeIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public int purgeExpired() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int purged = cacheEntryRepository.deleteExpired(now, now.minusDays(ttlDays));
+            if (purged > 0) {
+                log.info("Purged {} expired persistent cache entries", purged);
+            }
+            return purged;
+        } catch (RuntimeException e) {
+            log.warn("Could not purge expired persistent cache entries: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
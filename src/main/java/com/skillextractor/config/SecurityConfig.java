@@ -1,9 +1,12 @@
 package com.skillextractor.config;
 
+import com.skillextractor.service.AuthTokenService;
 import com.skillextractor.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,6 +16,9 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -20,6 +26,11 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final AuthTokenService authTokenService;
+
+    // Basic auth re-runs BCrypt on every request - only enable for clients that can't use tokens
+    @Value("${auth.basic.enabled:false}")
+    private boolean basicAuthEnabled;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -31,21 +42,35 @@ public class SecurityConfig {
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
 
                         // Publiczne endpointy rejestracji i logowania
-                        .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/token").permitAll()
 
                         // ✅ WSZYSTKIE INNE API wymagają logowania
                         .requestMatchers("/api/**").authenticated()
 
+                        // Actuator: health publiczny, metryki tylko po zalogowaniu
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").authenticated()
+
                         // Reszta publiczna
                         .anyRequest().permitAll()
                 )
-                .httpBasic(Customizer.withDefaults())
+                // Bearer token issued by POST /api/auth/token - validated without DB or BCrypt work
+                .addFilterBefore(new TokenAuthenticationFilter(authTokenService),
+                        UsernamePasswordAuthenticationFilter.class)
+                // API clients get 401 instead of a redirect to the login page
+                .exceptionHandling(ex -> ex.defaultAuthenticationEntryPointFor(
+                        new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                        new AntPathRequestMatcher("/api/**")))
                 .formLogin(form -> form
                         .loginPage("/login.html")
                         .loginProcessingUrl("/api/auth/login")
                         .permitAll()
                 );
 
+        if (basicAuthEnabled) {
+            http.httpBasic(Customizer.withDefaults());
+        }
+
         return http.build();
     }
 
@@ -0,0 +1,183 @@
+package com.skillextractor.config;
+
+import com.skillextractor.model.CacheEntry;
+import com.skillextractor.repository.CacheEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Two-tier cache: an in-memory (Caffeine) tier in front of a persistent database tier.
+ * Misses in memory are looked up in the database and, when found, warm the memory tier.
+ * Only String values are persisted, each for cache.persistent.ttl-days; expired rows are
+ * ignored here and deleted by {@link PersistentCachePurger}.
+ */
+@Slf4j
+public class TieredCache implements Cache {
+
+    private final Cache memory;
+    private final CacheEntryRepository repository;
+    private final TransactionTemplate writeTransaction;
+    private final Duration timeToLive;
+
+    private final Counter memoryHits;
+    private final Counter memoryMisses;
+    private final Counter persistentHits;
+    private final Counter persistentMisses;
+
+    public TieredCache(Cache memory, CacheEntryRepository repository, Duration timeToLive,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.memory = memory;
+        this.repository = repository;
+        this.timeToLive = timeToLive;
+        // Own transaction, so a failed write never marks the caller's transaction rollback-only
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.memoryHits = tierCounter(meterRegistry, "memory", "hit");
+        this.memoryMisses = tierCounter(meterRegistry, "memory", "miss");
+        this.persistentHits = tierCounter(meterRegistry, "persistent", "hit");
+        this.persistentMisses = tierCounter(meterRegistry, "persistent", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return memory.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return memory.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+        memoryMisses.increment();
+
+        Optional<String> persisted = loadPersisted(key);
+        if (persisted.isEmpty()) {
+            persistentMisses.increment();
+            return null;
+        }
+
+        persistentHits.increment();
+        memory.put(key, persisted.get());
+        return new SimpleValueWrapper(persisted.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        memory.put(key, value);
+        if (value instanceof String stringValue) {
+            persist(key, stringValue);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        memory.evict(key);
+        try {
+            writeTransaction.executeWithoutResult(status ->
+                    repository.deleteByCacheNameAndCacheKey(getName(), key.toString()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict persistent cache entry {}/{}: {}", getName(), key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        try {
+            writeTransaction.executeWithoutResult(status -> repository.deleteByCacheName(getName()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear persistent cache {}: {}", getName(), e.getMessage());
+        }
+    }
+
+    private Optional<String> loadPersisted(Object key) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            return repository.findByCacheNameAndCacheKey(getName(), key.toString())
+                    .filter(entry -> !isExpired(entry, now))
+                    .map(CacheEntry::getValue);
+        } catch (RuntimeException e) {
+            // The persistent tier is best effort - a database hiccup must not fail the caller
+            log.warn("Persistent cache lookup failed for {}/{}: {}", getName(), key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void persist(Object key, String value) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                CacheEntry entry = repository.findByCacheNameAndCacheKey(getName(), key.toString())
+                        .orElseGet(() -> CacheEntry.builder()
+                                .cacheName(getName())
+                                .cacheKey(key.toString())
+                                .build());
+                entry.setValue(value);
+                entry.setExpiresAt(LocalDateTime.now().plus(timeToLive));
+                repository.save(entry);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist cache entry {}/{}: {}", getName(), key, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(CacheEntry entry, LocalDateTime now) {
+        LocalDateTime expiresAt = entry.getExpiresAt() != null
+                ? entry.getExpiresAt()
+                : entry.getCreatedAt().plus(timeToLive);
+        return expiresAt.isBefore(now);
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("Tiered cache lookups by tier and outcome")
+                .tag("cache", memory.getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
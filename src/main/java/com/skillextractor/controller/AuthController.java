@@ -1,15 +1,23 @@
 // AuthController.java
 package com.skillextractor.controller;
 
+import com.skillextractor.config.AuthenticatedUser;
 import com.skillextractor.dto.AuthResponse;
+import com.skillextractor.dto.LoginRequest;
+import com.skillextractor.dto.TokenResponse;
 import com.skillextractor.dto.UserRegistrationRequest;
+import com.skillextractor.service.AuthTokenService;
 import com.skillextractor.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.Map;
 
 @RestController
@@ -18,6 +26,8 @@ import java.util.Map;
 public class AuthController {
 
     private final UserService userService;
+    private final AuthenticationManager authenticationManager;
+    private final AuthTokenService authTokenService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody UserRegistrationRequest request) {
@@ -25,6 +35,33 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Verify the password once (BCrypt) and issue a short-lived signed bearer token
+     */
+    @PostMapping("/token")
+    public ResponseEntity<?> issueToken(@RequestBody LoginRequest request) {
+        AuthenticatedUser user;
+        try {
+            // The principal already carries the id read during the password check
+            user = (AuthenticatedUser) authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()))
+                    .getPrincipal();
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Invalid username or password"));
+        }
+
+        Instant expiresAt = authTokenService.nextExpiry();
+
+        return ResponseEntity.ok(TokenResponse.builder()
+                .token(authTokenService.issue(user.getId(), user.getUsername(), expiresAt))
+                .tokenType("Bearer")
+                .expiresAt(expiresAt)
+                .userId(user.getId())
+                .username(user.getUsername())
+                .build());
+    }
+
     @GetMapping("/login")
     public ResponseEntity<String> login() {
         // Basic auth is handled by Spring Security
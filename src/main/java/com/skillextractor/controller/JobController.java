@@ -0,0 +1,26 @@
+// JobController.java
+package com.skillextractor.controller;
+
+import com.skillextractor.dto.JobStatusResponse;
+import com.skillextractor.service.AnalysisJobService;
+import com.skillextractor.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final AnalysisJobService analysisJobService;
+    private final UserService userService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatusResponse> getJob(@PathVariable String id, Authentication authentication) {
+        return analysisJobService.getJob(id, userService.currentUserId(authentication))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
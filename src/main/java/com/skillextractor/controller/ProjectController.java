@@ -1,21 +1,33 @@
 // ProjectController.java - With improved DELETE handling
 package com.skillextractor.controller;
 
+import com.skillextractor.dto.JobStatusResponse;
+import com.skillextractor.dto.PageResponse;
+import com.skillextractor.dto.ProjectSummaryResponse;
 import com.skillextractor.dto.ProjectUploadRequest;
 import com.skillextractor.dto.SkillResponse;
+import com.skillextractor.exception.OpenAIRateLimitException;
 import com.skillextractor.model.Project;
+import com.skillextractor.service.AnalysisJobService;
 import com.skillextractor.service.ProjectService;
+import com.skillextractor.service.ProjectVersionService;
 import com.skillextractor.service.SkillAnalysisService;
+import com.skillextractor.service.UploadSpooler;
+import com.skillextractor.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -25,23 +37,55 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final SkillAnalysisService skillAnalysisService;
+    private final AnalysisJobService analysisJobService;
+    private final UploadSpooler uploadSpooler;
+    private final ProjectVersionService projectVersionService;
+    private final UserService userService;
 
     @PostMapping("/upload")
     public ResponseEntity<Map<String, Object>> uploadProject(
             @RequestBody ProjectUploadRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
             Authentication authentication) {
 
-        String username = authentication.getName();
-        log.info("Upload request from user: {}", username);
+        Long userId = userService.currentUserId(authentication);
+        log.info("Upload request from user: {} (async: {})", userId, async);
+        return handleUpload(request, async, userId);
+    }
+
+    /**
+     * Multipart variant: source files and/or ZIP archives as "files" parts, streamed to a temp spool
+     * instead of being buffered as JSON strings
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadProjectMultipart(
+            @RequestParam String projectName,
+            @RequestParam(required = false) String description,
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(defaultValue = "false") boolean async,
+            Authentication authentication) {
+
+        Long userId = userService.currentUserId(authentication);
+        log.info("Multipart upload request from user: {} ({} parts, async: {})", userId, files.size(), async);
+
+        ProjectUploadRequest request = uploadSpooler.spool(projectName, description, files);
+        return handleUpload(request, async, userId);
+    }
 
+    private ResponseEntity<Map<String, Object>> handleUpload(
+            ProjectUploadRequest request, boolean async, Long userId) {
         try {
             // Create project
-            Project project = projectService.createProject(request, username);
+            Project project = projectService.createProject(request, userId);
             log.info("Project created with ID: {}", project.getId());
 
+            if (async) {
+                return queueAnalysis(request, project, userId);
+            }
+
             // Analyze and extract skills
             List<SkillResponse> skills = skillAnalysisService.analyzeAndSaveSkills(
-                    request, project, username);
+                    request, project, userId);
             log.info("Extracted {} skills from project", skills.size());
 
             // Build response
@@ -51,38 +95,141 @@ public class ProjectController {
                     "name", project.getName(),
                     "description", project.getDescription() != null ? project.getDescription() : "",
                     "totalFiles", project.getTotalFiles(),
-                    "uploadedAt", project.getUploadedAt().toString()
+                    "uploadedAt", project.getUploadedAt().toString(),
+                    "sourceBytes", project.getSourceBytes(),
+                    "promptBytes", project.getPromptBytes(),
+                    "sourceTokens", project.getSourceTokens(),
+                    "promptTokens", project.getPromptTokens()
             ));
             response.put("skills", skills);
             response.put("message", "Project uploaded and analyzed successfully");
 
             return ResponseEntity.ok(response);
 
+        } catch (OpenAIRateLimitException e) {
+            // Let the handler answer 503 + Retry-After instead of a generic 500
+            throw e;
         } catch (Exception e) {
             log.error("Error uploading project", e);
             throw new RuntimeException("Failed to upload project: " + e.getMessage());
         }
     }
 
+    /**
+     * Hand the analysis to the background pool and answer 202 with a job to poll
+     */
+    private ResponseEntity<Map<String, Object>> queueAnalysis(
+            ProjectUploadRequest request, Project project, Long userId) {
+        JobStatusResponse job;
+        try {
+            job = analysisJobService.submit(request, project, userId);
+        } catch (TaskRejectedException e) {
+            // Don't leave a project without skills behind when we couldn't queue it
+            projectService.deleteProject(project.getId(), userId);
+            Map<String, Object> busy = new HashMap<>();
+            busy.put("message", "Analysis queue is full, please try again shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(busy);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("project", Map.of(
+                "id", project.getId(),
+                "name", project.getName(),
+                "totalFiles", project.getTotalFiles(),
+                "uploadedAt", project.getUploadedAt().toString()
+        ));
+        response.put("job", job);
+        response.put("statusUrl", "/api/jobs/" + job.getJobId());
+        response.put("message", "Project uploaded, analysis queued");
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Upload a new version of an existing project: only added and changed files are analyzed
+     */
+    @PostMapping("/{id}/versions")
+    public ResponseEntity<?> uploadVersion(
+            @PathVariable Long id,
+            @RequestBody ProjectUploadRequest request,
+            @RequestParam(defaultValue = "false") boolean async,
+            Authentication authentication) {
+
+        Long userId = userService.currentUserId(authentication);
+        log.info("Version upload for project {} from user: {} (async: {})", id, userId, async);
+        return handleVersionUpload(id, request, async, userId);
+    }
+
+    @PostMapping(value = "/{id}/versions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadVersionMultipart(
+            @PathVariable Long id,
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(defaultValue = "false") boolean async,
+            Authentication authentication) {
+
+        Long userId = userService.currentUserId(authentication);
+        log.info("Multipart version upload for project {} from user: {} ({} parts, async: {})",
+                id, userId, files.size(), async);
+
+        ProjectUploadRequest request = uploadSpooler.spool(null, null, files);
+        return handleVersionUpload(id, request, async, userId);
+    }
+
+    private ResponseEntity<?> handleVersionUpload(Long id, ProjectUploadRequest request, boolean async, Long userId) {
+        if (!async) {
+            return ResponseEntity.ok(projectVersionService.uploadNewVersion(id, request, userId));
+        }
+
+        Project project = projectVersionService.checkVersionUpload(id, request, userId);
+        JobStatusResponse job;
+        try {
+            job = analysisJobService.submitVersion(request, project, userId);
+        } catch (TaskRejectedException e) {
+            Map<String, Object> busy = new HashMap<>();
+            busy.put("message", "Analysis queue is full, please try again shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(busy);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("projectId", project.getId());
+        response.put("job", job);
+        response.put("statusUrl", "/api/jobs/" + job.getJobId());
+        response.put("message", "Version uploaded, analysis queued");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @GetMapping
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<Project>> getUserProjects(Authentication authentication) {
-        String username = authentication.getName();
-        log.info("Fetching projects for user: {}", username);
+    public ResponseEntity<List<ProjectSummaryResponse>> getUserProjects(Authentication authentication) {
+        Long userId = userService.currentUserId(authentication);
+        log.info("Fetching projects for user: {}", userId);
 
-        List<Project> projects = projectService.getUserProjects(username);
+        List<ProjectSummaryResponse> projects = projectService.getUserProjects(userId);
         log.info("Returning {} projects", projects.size());
 
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * Cursor-paginated listing; fields=... skips description / analyzedFiles
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<ProjectSummaryResponse>> getUserProjectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields,
+            Authentication authentication) {
+
+        PageResponse<ProjectSummaryResponse> page = projectService.getUserProjectsPage(
+                userService.currentUserId(authentication), cursor, limit, fields);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
-    @Transactional(readOnly = true)
-    public ResponseEntity<Project> getProject(@PathVariable Long id, Authentication authentication) {
-        String username = authentication.getName();
-        log.info("GET project ID: {} by user: {}", id, username);
+    public ResponseEntity<ProjectSummaryResponse> getProject(@PathVariable Long id, Authentication authentication) {
+        Long userId = userService.currentUserId(authentication);
+        log.info("GET project ID: {} by user: {}", id, userId);
 
-        Project project = projectService.getProjectById(id);
+        ProjectSummaryResponse project = projectService.getProjectSummary(id);
         return ResponseEntity.ok(project);
     }
 
@@ -91,12 +238,12 @@ public class ProjectController {
             @PathVariable Long id,
             Authentication authentication) {
 
-        String username = authentication.getName();
-        log.info("DELETE request - Project ID: {}, User: {}", id, username);
+        Long userId = userService.currentUserId(authentication);
+        log.info("DELETE request - Project ID: {}, User: {}", id, userId);
 
         try {
-            projectService.deleteProject(id, username);
-            log.info("Project {} deleted successfully by user: {}", id, username);
+            projectService.deleteProject(id, userId);
+            log.info("Project {} deleted successfully by user: {}", id, userId);
 
             // Return JSON response instead of plain string
             Map<String, String> response = new HashMap<>();
@@ -1,9 +1,12 @@
 // QuizController.java
 package com.skillextractor.controller;
 
+import com.skillextractor.dto.AdaptiveAnswerRequest;
+import com.skillextractor.dto.AdaptiveQuizResponse;
 import com.skillextractor.dto.QuizRequest;
 import com.skillextractor.dto.QuizResponse;
 import com.skillextractor.dto.QuizResultResponse;
+import com.skillextractor.service.AdaptiveQuizService;
 import com.skillextractor.service.QuizService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class QuizController {
 
     private final QuizService quizService;
+    private final AdaptiveQuizService adaptiveQuizService;
 
     @PostMapping("/generate/{skillId}")
     public ResponseEntity<QuizResponse> generateQuiz(@PathVariable Long skillId) {
@@ -33,4 +37,15 @@ public class QuizController {
         QuizResultResponse result = quizService.getLatestResult(skillId);
         return ResponseEntity.ok(result);
     }
+
+    @PostMapping("/adaptive/{skillId}")
+    public ResponseEntity<AdaptiveQuizResponse> startAdaptiveQuiz(@PathVariable Long skillId) {
+        return ResponseEntity.ok(adaptiveQuizService.start(skillId));
+    }
+
+    @PostMapping("/adaptive/sessions/{sessionId}/answer")
+    public ResponseEntity<AdaptiveQuizResponse> answerAdaptiveQuiz(@PathVariable Long sessionId,
+                                                                   @RequestBody AdaptiveAnswerRequest request) {
+        return ResponseEntity.ok(adaptiveQuizService.answer(sessionId, request));
+    }
 }
\ No newline at end of file
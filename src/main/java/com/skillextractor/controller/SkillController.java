@@ -1,15 +1,19 @@
 // SkillController.java
 package com.skillextractor.controller;
 
+import com.skillextractor.dto.PageResponse;
 import com.skillextractor.dto.SkillResponse;
 import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.enums.SkillLevel;
 import com.skillextractor.service.SkillAnalysisService;
+import com.skillextractor.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/skills")
@@ -17,21 +21,40 @@ import java.util.List;
 public class SkillController {
 
     private final SkillAnalysisService skillAnalysisService;
+    private final UserService userService;
 
     @GetMapping
     public ResponseEntity<List<SkillResponse>> getAllSkills(Authentication authentication) {
-        String username = authentication.getName();
-        List<SkillResponse> skills = skillAnalysisService.getUserSkills(username);
+        Long userId = userService.currentUserId(authentication);
+        List<SkillResponse> skills = skillAnalysisService.getUserSkills(userId);
         return ResponseEntity.ok(skills);
     }
 
+    /**
+     * Cursor-paginated listing with optional filters; fields=name,category,... skips heavy columns
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<SkillResponse>> getSkillsPage(
+            @RequestParam(required = false) SkillCategory category,
+            @RequestParam(required = false) SkillLevel level,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Set<String> fields,
+            Authentication authentication) {
+
+        PageResponse<SkillResponse> page = skillAnalysisService.getUserSkillsPage(
+                userService.currentUserId(authentication), category, level, projectId, cursor, limit, fields);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<List<SkillResponse>> getSkillsByCategory(
             @PathVariable SkillCategory category,
             Authentication authentication) {
 
-        String username = authentication.getName();
-        List<SkillResponse> skills = skillAnalysisService.getUserSkillsByCategory(username, category);
+        Long userId = userService.currentUserId(authentication);
+        List<SkillResponse> skills = skillAnalysisService.getUserSkillsByCategory(userId, category);
         return ResponseEntity.ok(skills);
     }
 
@@ -0,0 +1,8 @@
+package com.skillextractor.dto;
+
+import lombok.Data;
+
+@Data
+public class AdaptiveAnswerRequest {
+    private String selectedAnswer; // A, B, C, or D - answers the session's current question
+}
@@ -0,0 +1,18 @@
+package com.skillextractor.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AdaptiveQuizResponse {
+    private Long sessionId;
+    private Long skillId;
+    private String skillName;
+    private Boolean lastAnswerCorrect; // Null before the first answer
+    private int questionsAnswered;
+    private double ability; // Logit scale, 0 = average
+    private double standardError;
+    private QuizResponse.Question question; // Next question; null once finished
+    private QuizResultResponse result; // Set once finished
+}
@@ -0,0 +1,24 @@
+// JobStatusResponse.java
+package com.skillextractor.dto;
+
+import com.skillextractor.enums.JobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class JobStatusResponse {
+    private String jobId;
+    private Long projectId;
+    private JobStatus status;
+    private Integer attempts;
+    private Instant queuedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Long queueWaitMs;
+    private Long runMs;
+    private Integer skillsExtracted;
+    private String error;
+}
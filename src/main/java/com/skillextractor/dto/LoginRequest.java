@@ -0,0 +1,10 @@
+// LoginRequest.java
+package com.skillextractor.dto;
+
+import lombok.Data;
+
+@Data
+public class LoginRequest {
+    private String username;
+    private String password;
+}
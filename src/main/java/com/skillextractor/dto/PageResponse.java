@@ -0,0 +1,16 @@
+// PageResponse.java
+package com.skillextractor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor; // null on the last page
+}
+
+// ============================================
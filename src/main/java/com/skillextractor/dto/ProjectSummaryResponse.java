@@ -0,0 +1,31 @@
+// ProjectSummaryResponse.java
+package com.skillextractor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummaryResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime uploadedAt;
+    private String analyzedFiles;
+    private Integer totalFiles;
+    private Long totalSizeKb;
+    private Long userId;
+    private Long sourceBytes;
+    private Long promptBytes;
+    private Integer sourceTokens;
+    private Integer promptTokens;
+    private Integer version;
+}
+
+// ============================================
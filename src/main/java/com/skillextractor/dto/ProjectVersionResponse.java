@@ -0,0 +1,22 @@
+// ProjectVersionResponse.java
+package com.skillextractor.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ProjectVersionResponse {
+    private Long projectId;
+    private Integer version;
+    private List<String> addedFiles;
+    private List<String> changedFiles;
+    private List<String> unchangedFiles;
+    private List<String> deletedFiles;
+    private Integer skillsAdded;
+    private Integer skillsCarriedOver;
+    private Integer skillsRetired;
+    private List<SkillResponse> skills;
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 @Data
 public class QuizRequest {
+    private Long sessionId; // From QuizResponse; older clients may omit it
     private Long skillId;
     private List<Answer> answers;
 
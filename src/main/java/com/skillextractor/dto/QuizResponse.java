@@ -2,20 +2,25 @@
 // QuizResponse.java
 package com.skillextractor.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Data
 @Builder
 public class QuizResponse {
+    private Long sessionId;
     private Long skillId;
     private String skillName;
     private List<Question> questions;
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class Question {
         private int number;
         private String text;
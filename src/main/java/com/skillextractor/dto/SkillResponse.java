@@ -3,6 +3,7 @@ package com.skillextractor.dto;
 
 import com.skillextractor.enums.SkillCategory;
 import com.skillextractor.enums.SkillLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -11,6 +12,7 @@ import java.util.List;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class SkillResponse {
     private Long id;
     private String name;
@@ -23,6 +25,15 @@ public class SkillResponse {
     private Boolean isGeneral;
     private String projectName;
     private LocalDateTime createdAt;
+
+    /**
+     * Used by JPQL constructor expressions (SkillRepository) - display fields are derived here
+     */
+    public SkillResponse(Long id, String name, SkillCategory category, String description, String exampleUsage,
+                         SkillLevel level, Boolean isGeneral, String projectName, LocalDateTime createdAt) {
+        this(id, name, category, category.getDisplayName(), description, exampleUsage,
+                level, level.getDisplayText(), isGeneral, projectName, createdAt);
+    }
 }
 
 // ============================================
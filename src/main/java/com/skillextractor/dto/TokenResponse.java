@@ -0,0 +1,17 @@
+// TokenResponse.java
+package com.skillextractor.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class TokenResponse {
+    private String token;
+    private String tokenType;
+    private Instant expiresAt;
+    private Long userId;
+    private String username;
+}
@@ -0,0 +1,26 @@
+package com.skillextractor.enums;
+
+/**
+ * How much of the uploaded source is stripped before it is sent to the LLM.
+ * Each level includes everything removed by the previous ones.
+ */
+public enum CompactionLevel {
+    NONE("Files are sent verbatim"),
+    LIGHT("Comments, trailing whitespace and blank lines removed"),
+    STANDARD("Also package/import declarations removed and indentation and runs of spaces collapsed"),
+    AGGRESSIVE("Also trivial getter and setter bodies reduced to their signatures");
+
+    private final String description;
+
+    CompactionLevel(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean includes(CompactionLevel other) {
+        return compareTo(other) >= 0;
+    }
+}
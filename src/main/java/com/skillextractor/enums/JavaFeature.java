@@ -0,0 +1,116 @@
+package com.skillextractor.enums;
+
+/**
+ * Language and library features recognized by the static pre-scan, each mapped onto a {@link SkillCategory}.
+ */
+public enum JavaFeature {
+    LOOPS("Loops and control flow", SkillCategory.SYNTAX_BASICS,
+            "Controls program flow with loops."),
+    SWITCH("Switch statements and expressions", SkillCategory.SYNTAX_BASICS,
+            "Branches on values with switch."),
+
+    LAMBDA("Lambda expressions", SkillCategory.STREAMS_LAMBDAS,
+            "Passes behavior as lambda expressions."),
+    METHOD_REFERENCE("Method references", SkillCategory.STREAMS_LAMBDAS,
+            "Refers to existing methods with the :: operator."),
+    STREAM_API("Stream API pipelines", SkillCategory.STREAMS_LAMBDAS,
+            "Processes collections with Stream API operations."),
+    OPTIONAL("Optional handling", SkillCategory.STREAMS_LAMBDAS,
+            "Models absent values with Optional."),
+
+    INHERITANCE("Inheritance and interfaces", SkillCategory.OOP,
+            "Builds type hierarchies with extends and implements."),
+    ABSTRACTION("Abstract types", SkillCategory.OOP,
+            "Defines contracts with interfaces and abstract classes."),
+    POLYMORPHISM("Method overriding", SkillCategory.OOP,
+            "Specializes inherited behavior with overridden methods."),
+    RECORDS_ENUMS("Records and enums", SkillCategory.OOP,
+            "Models fixed values and immutable data with enums and records."),
+
+    LISTS("Lists", SkillCategory.COLLECTIONS,
+            "Stores ordered data in List implementations."),
+    MAPS("Maps", SkillCategory.COLLECTIONS,
+            "Associates keys with values in Map implementations."),
+    SETS_QUEUES("Sets and queues", SkillCategory.COLLECTIONS,
+            "Uses Set, Queue and Deque implementations."),
+
+    TRY_CATCH("Try-catch error handling", SkillCategory.EXCEPTION_HANDLING,
+            "Recovers from failures with try-catch-finally."),
+    THROWING("Throwing exceptions", SkillCategory.EXCEPTION_HANDLING,
+            "Signals errors by throwing exceptions."),
+    CUSTOM_EXCEPTION("Custom exceptions", SkillCategory.EXCEPTION_HANDLING,
+            "Defines application specific exception types."),
+
+    FILE_IO("File I/O", SkillCategory.FILE_HANDLING,
+            "Reads and writes files with java.io and java.nio."),
+
+    JPA_MAPPING("JPA entity mapping", SkillCategory.DATABASE,
+            "Maps objects to tables with JPA annotations."),
+    SPRING_DATA("Spring Data repositories", SkillCategory.DATABASE,
+            "Queries data through repository interfaces."),
+    JDBC("JDBC", SkillCategory.DATABASE,
+            "Runs SQL through JDBC connections and statements."),
+    TRANSACTIONS("Transactions", SkillCategory.DATABASE,
+            "Demarcates transactional units of work."),
+
+    SPRING_DI("Spring dependency injection", SkillCategory.FRAMEWORKS,
+            "Wires components with Spring stereotypes and injection."),
+    LOMBOK("Lombok", SkillCategory.FRAMEWORKS,
+            "Generates boilerplate with Lombok annotations."),
+
+    REST_CONTROLLER("REST endpoints", SkillCategory.REST_API,
+            "Exposes HTTP endpoints with Spring MVC controllers."),
+    HTTP_CLIENT("HTTP clients", SkillCategory.REST_API,
+            "Calls remote HTTP services."),
+    JSON("JSON processing", SkillCategory.REST_API,
+            "Serializes and parses JSON."),
+
+    UNIT_TESTS("Unit tests", SkillCategory.TESTING,
+            "Verifies behavior with JUnit tests and assertions."),
+    MOCKING("Mocking", SkillCategory.TESTING,
+            "Isolates units under test with mocks."),
+
+    EXECUTORS("Executors and futures", SkillCategory.CONCURRENCY,
+            "Runs work on thread pools and composes futures."),
+    SYNCHRONIZATION("Synchronization", SkillCategory.CONCURRENCY,
+            "Coordinates threads with locks, synchronized and volatile."),
+    CONCURRENT_TYPES("Atomics and concurrent collections", SkillCategory.CONCURRENCY,
+            "Shares state safely with atomics and concurrent collections."),
+
+    SINGLETON("Singleton", SkillCategory.DESIGN_PATTERNS,
+            "Exposes a single shared instance."),
+    BUILDER("Builder", SkillCategory.DESIGN_PATTERNS,
+            "Constructs objects step by step with builders."),
+    FACTORY("Factory", SkillCategory.DESIGN_PATTERNS,
+            "Centralizes object creation in factories."),
+    OBSERVER("Observer", SkillCategory.DESIGN_PATTERNS,
+            "Notifies registered listeners of events."),
+
+    SORTING_SEARCHING("Sorting and searching", SkillCategory.ALGORITHMS,
+            "Orders and searches data with comparators and library algorithms."),
+
+    BUILD_FILE("Build configuration", SkillCategory.BUILD_TOOLS,
+            "Declares dependencies and build lifecycle in Maven or Gradle.");
+
+    private final String displayName;
+    private final SkillCategory category;
+    private final String description;
+
+    JavaFeature(String displayName, SkillCategory category, String description) {
+        this.displayName = displayName;
+        this.category = category;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public SkillCategory getCategory() {
+        return category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
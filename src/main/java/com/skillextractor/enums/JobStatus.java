@@ -0,0 +1,16 @@
+package com.skillextractor.enums;
+
+/**
+ * Lifecycle of a background project analysis job
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED,
+    DEAD; // Dead-lettered: failed analysis.jobs.max-attempts times, kept for inspection
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED || this == DEAD;
+    }
+}
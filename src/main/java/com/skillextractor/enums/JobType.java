@@ -0,0 +1,9 @@
+package com.skillextractor.enums;
+
+/**
+ * What a background analysis job does with its upload
+ */
+public enum JobType {
+    ANALYSIS, // First upload: analyze every file of a new project
+    VERSION   // New version of an existing project: analyze the diff, retire stale skills
+}
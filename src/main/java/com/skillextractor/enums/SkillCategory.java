@@ -1,5 +1,9 @@
 package com.skillextractor.enums;
 
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
 /**
  * Predefined skill categories for Java project analysis.
  * These categories are hardcoded and used by the LLM to classify extracted skills.
@@ -66,16 +70,47 @@ public enum SkillCategory {
         return description;
     }
 
+    /**
+     * Lenient lookup for LLM output: enum name in any case or spacing ("streams lambdas", "Streams-Lambdas")
+     * or the display name. Returns null for anything else.
+     */
+    public static SkillCategory fromText(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String normalized = text.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+        for (SkillCategory category : values()) {
+            if (category.name().equals(normalized) || category.displayName.equalsIgnoreCase(text.trim())) {
+                return category;
+            }
+        }
+        return null;
+    }
+
     /**
      * Returns formatted list of all categories for LLM prompts
      */
     public static String getAllCategoriesForPrompt() {
+        return getCategoriesForPrompt(EnumSet.allOf(SkillCategory.class));
+    }
+
+    /**
+     * Returns formatted list of the given categories with descriptions, naming the remaining ones only
+     */
+    public static String getCategoriesForPrompt(Set<SkillCategory> categories) {
         StringBuilder sb = new StringBuilder("Available skill categories:\n");
-        for (SkillCategory category : values()) {
+        for (SkillCategory category : categories) {
             sb.append("- ").append(category.name())
                     .append(": ").append(category.displayName)
                     .append(" (").append(category.description).append(")\n");
         }
+
+        Set<SkillCategory> others = EnumSet.allOf(SkillCategory.class);
+        others.removeAll(categories);
+        if (!others.isEmpty()) {
+            sb.append("Other categories (only if clearly demonstrated): ");
+            sb.append(String.join(", ", others.stream().map(Enum::name).toList())).append("\n");
+        }
         return sb.toString();
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.skillextractor.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 
@@ -90,6 +92,20 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(OpenAIRateLimitException.class)
+    public ResponseEntity<ErrorResponse> handleOpenAIRateLimitException(
+            OpenAIRateLimitException ex, WebRequest request) {
+        log.warn("OpenAI rate limited: {}", ex.getMessage());
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(
+                "AI service is busy. Please try again in a moment.",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(UnauthorizedAccessException.class)
     public ResponseEntity<ErrorResponse> handleUnauthorizedAccessException(
             UnauthorizedAccessException ex, WebRequest request) {
@@ -104,6 +120,13 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
     }
 
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex, WebRequest request) {
+        log.error("Request failed with status {}: {}", ex.getStatusCode(), ex.getReason());
+        return buildErrorResponse(ex.getReason(), HttpStatus.valueOf(ex.getStatusCode().value()), request);
+    }
+
     @ExceptionHandler(SkillExtractorException.class)
     public ResponseEntity<ErrorResponse> handleSkillExtractorException(
             SkillExtractorException ex, WebRequest request) {
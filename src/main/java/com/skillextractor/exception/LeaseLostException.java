@@ -0,0 +1,12 @@
+package com.skillextractor.exception;
+
+/**
+ * Thrown when a job attempt is about to write its results but no longer holds the job's lease:
+ * a newer attempt took the job over, and only that attempt may write.
+ */
+public class LeaseLostException extends RuntimeException {
+
+    public LeaseLostException(String message) {
+        super(message);
+    }
+}
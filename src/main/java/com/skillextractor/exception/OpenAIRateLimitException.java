@@ -0,0 +1,19 @@
+package com.skillextractor.exception;
+
+/**
+ * Thrown when an OpenAI call cannot be made within the client-side rate budget,
+ * or the provider keeps answering 429 after all retries.
+ */
+public class OpenAIRateLimitException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OpenAIRateLimitException(String message, long retryAfterSeconds) {
+        super("OpenAI rate limit: " + message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,52 @@
+package com.skillextractor.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An adaptive quiz in progress: questions are picked one at a time from the item bank
+ * to match the current ability estimate
+ */
+@Entity
+@Table(name = "adaptive_quiz_sessions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdaptiveQuizSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "skill_id", nullable = false)
+    private Skill skill;
+
+    @Column(name = "bank_key", nullable = false, length = 64)
+    private String bankKey;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    @Builder.Default
+    private String responsesJson = "[]"; // [{"itemId":7,"correct":true},...]
+
+    private Long currentItemId; // Question awaiting an answer; null once finished
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double ability = 0.0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double standardError = 1.0;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+}
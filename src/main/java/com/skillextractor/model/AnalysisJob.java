@@ -0,0 +1,74 @@
+package com.skillextractor.model;
+
+import com.skillextractor.enums.JobStatus;
+import com.skillextractor.enums.JobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Durable analysis job, claimed by worker threads of any instance with SELECT ... FOR UPDATE SKIP LOCKED.
+ * A RUNNING job whose lease (lockedUntil) ran out is claimable again: its node stopped heartbeating.
+ */
+@Entity
+@Table(name = "analysis_jobs", indexes = {
+        @Index(name = "idx_analysis_jobs_status_available", columnList = "status, available_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalysisJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Null on jobs queued before versions went through the queue: those are all analyses
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    @Builder.Default
+    private JobType type = JobType.ANALYSIS;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    // Upload request as gzipped JSON; cleared once the job is done
+    @Column(columnDefinition = "bytea")
+    private byte[] payload;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Not claimable before this instant (retry backoff)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "locked_by", length = 128)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(nullable = false, updatable = false)
+    private Instant queuedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private Integer skillsExtracted;
+
+    @Column(length = 1000)
+    private String error;
+}
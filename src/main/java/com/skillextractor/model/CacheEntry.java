@@ -0,0 +1,43 @@
+package com.skillextractor.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent tier of the application caches - survives restarts and redeploys, until it expires
+ */
+@Entity
+@Table(name = "cache_entries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"cache_name", "cache_key"}),
+        indexes = @Index(name = "idx_cache_entries_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 64)
+    private String cacheName;
+
+    @Column(name = "cache_key", nullable = false, length = 128)
+    private String cacheKey;
+
+    @Column(name = "cache_value", columnDefinition = "TEXT", nullable = false)
+    private String value;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Null for rows written before expiry existed; those are purged by createdAt
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -12,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        // Keyset pagination: WHERE user_id = ? ORDER BY uploaded_at DESC, id DESC
+        @Index(name = "idx_projects_user_uploaded", columnList = "user_id, uploaded_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,6 +47,29 @@ public class Project {
     @Column(name = "total_size_kb")
     private Long totalSizeKb;
 
+    // Incremented by every "new version" upload
+    @Column(name = "version")
+    @Builder.Default
+    private Integer version = 1;
+
+    // Analyzed source before / after compaction, recorded once the analysis has run
+    @Column(name = "source_bytes")
+    private Long sourceBytes;
+
+    @Column(name = "prompt_bytes")
+    private Long promptBytes;
+
+    @Column(name = "source_tokens")
+    private Integer sourceTokens;
+
+    @Column(name = "prompt_tokens")
+    private Integer promptTokens;
+
+    // MinHash signature of the analyzed sources, reloaded into SimilarityIndex on startup
+    @Column(name = "minhash_signature", columnDefinition = "bytea")
+    @JsonIgnore
+    private byte[] minhashSignature;
+
     // ✅ CRITICAL: Ignore user relationship in JSON to prevent infinite recursion
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -55,12 +81,22 @@ public class Project {
     @JsonIgnore  // Also ignore skills to prevent recursion
     private List<Skill> skills = new ArrayList<>();
 
+    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    @JsonIgnore
+    private List<ProjectFile> files = new ArrayList<>();
+
     // Helper method to add skill
     public void addSkill(Skill skill) {
         skills.add(skill);
         skill.setProject(this);
     }
 
+    public void addFile(ProjectFile file) {
+        files.add(file);
+        file.setProject(this);
+    }
+
     // ✅ Expose user ID for frontend without loading full user object
     @JsonProperty("userId")
     public Long getUserId() {
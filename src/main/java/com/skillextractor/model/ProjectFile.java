@@ -0,0 +1,37 @@
+package com.skillextractor.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One file of the current project version with its content digest - the baseline for incremental re-analysis
+ */
+@Entity
+@Table(name = "project_files", indexes = {
+        @Index(name = "idx_project_files_project", columnList = "project_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(nullable = false)
+    private String filename;
+
+    // SHA-256 hex of the content with normalized line endings
+    @Column(nullable = false, length = 64)
+    private String digest;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+}
@@ -0,0 +1,63 @@
+package com.skillextractor.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One question of the item bank of a skill fingerprint, with its calibrated difficulty.
+ * Questions enter the bank from generated quizzes; difficulty is re-estimated from every answer.
+ */
+@Entity
+@Table(name = "quiz_items", indexes = {
+        @Index(name = "idx_quiz_items_bank", columnList = "bank_key")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_quiz_items_content", columnNames = {"bank_key", "content_digest"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Skill fingerprint the question was generated for
+    @Column(name = "bank_key", nullable = false, length = 64)
+    private String bankKey;
+
+    // SHA-256 of the text and options
+    @Column(name = "content_digest", nullable = false, length = 64)
+    private String contentDigest;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String text;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String optionsJson; // ["A) ...", "B) ...", ...]
+
+    @Column(nullable = false, length = 1)
+    private String correctAnswer;
+
+    // Logit scale, 0 = answered correctly by an average user (apart from guessing)
+    @Column(nullable = false)
+    @Builder.Default
+    private Double difficulty = 0.0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer responses = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer correctResponses = 0;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,52 @@
+package com.skillextractor.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One generated quiz in the pool of a skill fingerprint (name, category, normalized example).
+ * Shared by every skill with the same fingerprint; served least-used first.
+ */
+@Entity
+@Table(name = "quiz_pool", indexes = {
+        @Index(name = "idx_quiz_pool_fingerprint_served", columnList = "fingerprint, times_served")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_quiz_pool_content", columnNames = {"fingerprint", "content_digest"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizPoolEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    // SHA-256 of questionsJson, keeps identical generations out of the pool
+    @Column(name = "content_digest", nullable = false, length = 64)
+    private String contentDigest;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String questionsJson; // Validated questions including the correct answers
+
+    @Column(nullable = false)
+    private Integer totalQuestions;
+
+    @Column(name = "times_served", nullable = false)
+    @Builder.Default
+    private Integer timesServed = 0;
+
+    private LocalDateTime lastServedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
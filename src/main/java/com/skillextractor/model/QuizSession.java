@@ -0,0 +1,45 @@
+package com.skillextractor.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A generated quiz as shown to the user, with its answer key - grading never needs the LLM again
+ */
+@Entity
+@Table(name = "quiz_sessions", indexes = {
+        @Index(name = "idx_quiz_sessions_skill_created", columnList = "skill_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "skill_id", nullable = false)
+    private Skill skill;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String questionsJson; // Questions and options as shown to the user
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String answerKeyJson; // {"1":"B","2":"A",...}
+
+    @Column(nullable = false)
+    private Integer totalQuestions;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime submittedAt;
+}
@@ -11,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "skills")
+@Table(name = "skills", indexes = {
+        // Keyset pagination: WHERE user_id = ? ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_skills_user_created", columnList = "user_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +52,14 @@ public class Skill {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // File the skill was found in; null for general skills and skills extracted before per-file tracking
+    @Column(name = "source_file")
+    private String sourceFile;
+
+    // Set when a new project version no longer contains the skill; retired skills are hidden from listings
+    @Column(name = "retired_at")
+    private LocalDateTime retiredAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
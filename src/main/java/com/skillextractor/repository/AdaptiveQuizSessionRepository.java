@@ -0,0 +1,20 @@
+package com.skillextractor.repository;
+
+import com.skillextractor.model.AdaptiveQuizSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AdaptiveQuizSessionRepository extends JpaRepository<AdaptiveQuizSession, Long> {
+
+    /**
+     * Claim the question awaiting an answer; 0 when it was already answered (also by a concurrent request)
+     */
+    @Modifying
+    @Query("UPDATE AdaptiveQuizSession s SET s.currentItemId = NULL " +
+            "WHERE s.id = :id AND s.currentItemId = :itemId AND s.completedAt IS NULL")
+    int claimCurrentItem(@Param("id") Long id, @Param("itemId") Long itemId);
+}
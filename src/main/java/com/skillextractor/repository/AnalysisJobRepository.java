@@ -0,0 +1,91 @@
+package com.skillextractor.repository;
+
+import com.skillextractor.enums.JobStatus;
+import com.skillextractor.model.AnalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, String> {
+
+    /**
+     * Status polls read every column but the payload
+     */
+    interface StatusView {
+        String getId();
+        Long getProjectId();
+        Long getUserId();
+        JobStatus getStatus();
+        Integer getAttempts();
+        Instant getQueuedAt();
+        Instant getStartedAt();
+        Instant getFinishedAt();
+        Integer getSkillsExtracted();
+        String getError();
+    }
+
+    Optional<StatusView> findStatusById(String id);
+
+    long countByStatus(JobStatus status);
+
+    /**
+     * Next claimable job, row-locked until the caller's transaction ends. Rows locked by other
+     * workers are skipped instead of waited for, so concurrent workers never claim the same job.
+     */
+    @Query(value = "SELECT * FROM analysis_jobs " +
+            "WHERE (status = 'QUEUED' AND available_at <= :now) OR (status = 'RUNNING' AND locked_until < :now) " +
+            "ORDER BY available_at LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<AnalysisJob> lockNextClaimable(@Param("now") Instant now);
+
+    /**
+     * The job's id, row-locked until the caller's transaction ends, while this node still holds it in the
+     * given attempt. A take-over needs the same row lock, so writes fenced by this never overlap a newer attempt.
+     */
+    @Query(value = "SELECT id FROM analysis_jobs WHERE id = :id AND locked_by = :node AND attempts = :attempt " +
+            "FOR UPDATE", nativeQuery = true)
+    Optional<String> lockHeldLease(@Param("id") String id, @Param("node") String node, @Param("attempt") Integer attempt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AnalysisJob j SET j.lockedUntil = :until " +
+            "WHERE j.id IN :ids AND j.lockedBy = :node AND j.status = :status")
+    int extendLeases(@Param("ids") Collection<String> ids, @Param("node") String node, @Param("until") Instant until,
+                     @Param("status") JobStatus status);
+
+    /**
+     * Finish a job this node still holds in the given attempt; 0 when the lease was lost and another
+     * worker (possibly on this node) took it over
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AnalysisJob j SET j.status = :status, j.finishedAt = :now, j.skillsExtracted = :skills, " +
+            "j.error = NULL, j.payload = NULL, j.lockedBy = NULL, j.lockedUntil = NULL " +
+            "WHERE j.id = :id AND j.lockedBy = :node AND j.attempts = :attempt")
+    int complete(@Param("id") String id, @Param("node") String node, @Param("attempt") Integer attempt,
+                 @Param("status") JobStatus status, @Param("skills") Integer skills, @Param("now") Instant now);
+
+    /**
+     * Hand a failed attempt back: QUEUED again from availableAt, or a final FAILED / DEAD
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AnalysisJob j SET j.status = :status, j.availableAt = :availableAt, j.finishedAt = :finishedAt, " +
+            "j.error = :error, j.lockedBy = NULL, j.lockedUntil = NULL " +
+            "WHERE j.id = :id AND j.lockedBy = :node AND j.attempts = :attempt")
+    int release(@Param("id") String id, @Param("node") String node, @Param("attempt") Integer attempt,
+                @Param("status") JobStatus status, @Param("availableAt") Instant availableAt,
+                @Param("finishedAt") Instant finishedAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AnalysisJob j WHERE j.status IN :statuses AND j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("statuses") Collection<JobStatus> statuses, @Param("before") Instant before);
+}
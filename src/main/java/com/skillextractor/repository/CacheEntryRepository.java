@@ -0,0 +1,32 @@
+// CacheEntryRepository.java
+package com.skillextractor.repository;
+
+import com.skillextractor.model.CacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CacheEntryRepository extends JpaRepository<CacheEntry, Long> {
+    Optional<CacheEntry> findByCacheNameAndCacheKey(String cacheName, String cacheKey);
+
+    @Modifying
+    @Transactional
+    void deleteByCacheNameAndCacheKey(String cacheName, String cacheKey);
+
+    @Modifying
+    @Transactional
+    void deleteByCacheName(String cacheName);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CacheEntry e WHERE e.expiresAt < :now " +
+            "OR (e.expiresAt IS NULL AND e.createdAt < :createdBefore)")
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("createdBefore") LocalDateTime createdBefore);
+}
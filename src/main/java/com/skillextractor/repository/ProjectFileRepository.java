@@ -0,0 +1,13 @@
+// ProjectFileRepository.java
+package com.skillextractor.repository;
+
+import com.skillextractor.model.ProjectFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectFileRepository extends JpaRepository<ProjectFile, Long> {
+    List<ProjectFile> findByProjectId(Long projectId);
+}
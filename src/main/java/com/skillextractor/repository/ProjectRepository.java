@@ -1,16 +1,22 @@
 // ProjectRepository.java - FIXED
 package com.skillextractor.repository;
 
+import com.skillextractor.dto.ProjectSummaryResponse;
 import com.skillextractor.model.Project;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
 
     // ✅ POPRAWIONE: user.id zamiast userId (bo pole nazywa się 'user', nie 'userId')
     @Query("SELECT p FROM Project p WHERE p.user.id = :userId ORDER BY p.uploadedAt DESC")
@@ -19,4 +25,44 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Alternatywna metoda - Spring automatycznie generuje query
     @Query("SELECT p FROM Project p WHERE p.user.id = :userId")
     List<Project> findByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // Read paths: summary DTOs built in the query, user id taken from the FK column
+    @Query("SELECT new com.skillextractor.dto.ProjectSummaryResponse(p.id, p.name, p.description, " +
+            "p.uploadedAt, p.analyzedFiles, p.totalFiles, p.totalSizeKb, p.user.id, " +
+            "p.sourceBytes, p.promptBytes, p.sourceTokens, p.promptTokens, p.version) " +
+            "FROM Project p WHERE p.user.id = :userId ORDER BY p.uploadedAt DESC")
+    List<ProjectSummaryResponse> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.skillextractor.dto.ProjectSummaryResponse(p.id, p.name, p.description, " +
+            "p.uploadedAt, p.analyzedFiles, p.totalFiles, p.totalSizeKb, p.user.id, " +
+            "p.sourceBytes, p.promptBytes, p.sourceTokens, p.promptTokens, p.version) " +
+            "FROM Project p WHERE p.id = :id")
+    Optional<ProjectSummaryResponse> findSummaryById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Project p SET p.sourceBytes = :sourceBytes, p.promptBytes = :promptBytes, " +
+            "p.sourceTokens = :sourceTokens, p.promptTokens = :promptTokens WHERE p.id = :id")
+    int updateCompactionStats(@Param("id") Long id,
+                              @Param("sourceBytes") long sourceBytes,
+                              @Param("promptBytes") long promptBytes,
+                              @Param("sourceTokens") int sourceTokens,
+                              @Param("promptTokens") int promptTokens);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Project p SET p.minhashSignature = :signature WHERE p.id = :id")
+    int updateSignature(@Param("id") Long id, @Param("signature") byte[] signature);
+
+    // [id, signature] pairs for rebuilding the similarity index
+    @Query("SELECT p.id, p.minhashSignature FROM Project p WHERE p.minhashSignature IS NOT NULL")
+    List<Object[]> findSignatures();
+
+    @Query("SELECT p.minhashSignature FROM Project p WHERE p.id = :id AND p.minhashSignature IS NOT NULL")
+    Optional<byte[]> findSignature(@Param("id") Long id);
+
+    // Row lock held until commit: serializes writers that derive the next state from the current one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,17 @@
+// ProjectRepositoryCustom.java
+package com.skillextractor.repository;
+
+import com.skillextractor.dto.ProjectSummaryResponse;
+import com.skillextractor.util.KeysetCursor;
+
+import java.util.List;
+
+public interface ProjectRepositoryCustom {
+
+    /**
+     * Keyset page of a user's projects ordered by uploadedAt DESC, id DESC.
+     * description / analyzedFiles are only selected when requested.
+     */
+    List<ProjectSummaryResponse> findPage(Long userId, KeysetCursor after, int limit,
+                                          boolean includeDescription, boolean includeAnalyzedFiles);
+}
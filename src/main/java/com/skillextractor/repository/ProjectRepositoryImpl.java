@@ -0,0 +1,58 @@
+// ProjectRepositoryImpl.java
+package com.skillextractor.repository;
+
+import com.skillextractor.dto.ProjectSummaryResponse;
+import com.skillextractor.model.Project;
+import com.skillextractor.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProjectSummaryResponse> findPage(Long userId, KeysetCursor after, int limit,
+                                                 boolean includeDescription, boolean includeAnalyzedFiles) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjectSummaryResponse> query = cb.createQuery(ProjectSummaryResponse.class);
+        Root<Project> project = query.from(Project.class);
+
+        query.select(cb.construct(ProjectSummaryResponse.class,
+                project.get("id"),
+                project.get("name"),
+                includeDescription ? project.get("description") : cb.nullLiteral(String.class),
+                project.get("uploadedAt"),
+                includeAnalyzedFiles ? project.get("analyzedFiles") : cb.nullLiteral(String.class),
+                project.get("totalFiles"),
+                project.get("totalSizeKb"),
+                project.get("user").get("id"),
+                project.get("sourceBytes"),
+                project.get("promptBytes"),
+                project.get("sourceTokens"),
+                project.get("promptTokens"),
+                project.get("version")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(project.get("user").get("id"), userId));
+        if (after != null) {
+            Path<LocalDateTime> uploadedAt = project.get("uploadedAt");
+            predicates.add(cb.or(
+                    cb.lessThan(uploadedAt, after.timestamp()),
+                    cb.and(cb.equal(uploadedAt, after.timestamp()), cb.lessThan(project.get("id"), after.id()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(project.get("uploadedAt")), cb.desc(project.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
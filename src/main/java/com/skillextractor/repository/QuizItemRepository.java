@@ -0,0 +1,27 @@
+package com.skillextractor.repository;
+
+import com.skillextractor.model.QuizItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface QuizItemRepository extends JpaRepository<QuizItem, Long> {
+    List<QuizItem> findByBankKey(String bankKey);
+
+    boolean existsByBankKeyAndContentDigest(String bankKey, String contentDigest);
+
+    // Relative update: concurrent calibrations (threads or instances) add up instead of overwriting each other
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE quiz_items SET difficulty = LEAST(:max, GREATEST(:min, difficulty + :delta)), " +
+            "responses = responses + 1, correct_responses = correct_responses + :correct WHERE id = :id",
+            nativeQuery = true)
+    int recordResponse(@Param("id") Long id, @Param("delta") double delta, @Param("min") double min,
+                       @Param("max") double max, @Param("correct") int correct);
+}
@@ -0,0 +1,31 @@
+// QuizPoolRepository.java
+package com.skillextractor.repository;
+
+import com.skillextractor.model.QuizPoolEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuizPoolRepository extends JpaRepository<QuizPoolEntry, Long> {
+    long countByFingerprint(String fingerprint);
+
+    List<QuizPoolEntry> findByFingerprint(String fingerprint);
+
+    boolean existsByFingerprintAndContentDigest(String fingerprint, String contentDigest);
+
+    // Rotation: least served first, then the one served longest ago
+    Optional<QuizPoolEntry> findFirstByFingerprintOrderByTimesServedAscLastServedAtAsc(String fingerprint);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE QuizPoolEntry e SET e.timesServed = e.timesServed + 1, e.lastServedAt = :servedAt WHERE e.id = :id")
+    int markServed(@Param("id") Long id, @Param("servedAt") LocalDateTime servedAt);
+}
@@ -0,0 +1,24 @@
+// QuizSessionRepository.java
+package com.skillextractor.repository;
+
+import com.skillextractor.model.QuizSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface QuizSessionRepository extends JpaRepository<QuizSession, Long> {
+    Optional<QuizSession> findFirstBySkillIdOrderByCreatedAtDesc(Long skillId);
+
+    /**
+     * Claim a session for grading; 0 when it was already submitted (also by a concurrent request)
+     */
+    @Modifying
+    @Query("UPDATE QuizSession s SET s.submittedAt = :now WHERE s.id = :id AND s.submittedAt IS NULL")
+    int markSubmitted(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
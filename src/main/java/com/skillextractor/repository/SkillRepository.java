@@ -1,20 +1,43 @@
 // SkillRepository.java
 package com.skillextractor.repository;
 
+import com.skillextractor.dto.SkillResponse;
 import com.skillextractor.enums.SkillCategory;
 import com.skillextractor.model.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SkillRepository extends JpaRepository<Skill, Long> {
+public interface SkillRepository extends JpaRepository<Skill, Long>, SkillRepositoryCustom {
     List<Skill> findByUserId(Long userId);
     List<Skill> findByUserIdAndCategory(Long userId, SkillCategory category);
     List<Skill> findByProjectId(Long projectId);
     List<Skill> findByUserIdAndIsGeneral(Long userId, Boolean isGeneral);
+    List<Skill> findByProjectIdAndRetiredAtIsNull(Long projectId);
+    long countByProjectId(Long projectId);
+
+    // Read paths: project name joined in the same statement - no lazy load per skill
+    @Query("SELECT new com.skillextractor.dto.SkillResponse(s.id, s.name, s.category, s.description, " +
+            "s.exampleUsage, s.level, s.isGeneral, p.name, s.createdAt) " +
+            "FROM Skill s JOIN s.project p WHERE s.user.id = :userId AND s.retiredAt IS NULL")
+    List<SkillResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.skillextractor.dto.SkillResponse(s.id, s.name, s.category, s.description, " +
+            "s.exampleUsage, s.level, s.isGeneral, p.name, s.createdAt) " +
+            "FROM Skill s JOIN s.project p " +
+            "WHERE s.user.id = :userId AND s.category = :category AND s.retiredAt IS NULL")
+    List<SkillResponse> findResponsesByUserIdAndCategory(@Param("userId") Long userId,
+                                                         @Param("category") SkillCategory category);
+
+    @Query("SELECT new com.skillextractor.dto.SkillResponse(s.id, s.name, s.category, s.description, " +
+            "s.exampleUsage, s.level, s.isGeneral, p.name, s.createdAt) " +
+            "FROM Skill s JOIN s.project p WHERE s.id = :id")
+    Optional<SkillResponse> findResponseById(@Param("id") Long id);
 }
 
 // ============================================
@@ -0,0 +1,20 @@
+// SkillRepositoryCustom.java
+package com.skillextractor.repository;
+
+import com.skillextractor.dto.SkillResponse;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.enums.SkillLevel;
+import com.skillextractor.util.KeysetCursor;
+
+import java.util.List;
+
+public interface SkillRepositoryCustom {
+
+    /**
+     * Keyset page of a user's skills ordered by createdAt DESC, id DESC. Null filters are ignored;
+     * description / exampleUsage are only selected when requested.
+     */
+    List<SkillResponse> findPage(Long userId, SkillCategory category, SkillLevel level, Long projectId,
+                                 KeysetCursor after, int limit,
+                                 boolean includeDescription, boolean includeExampleUsage);
+}
@@ -0,0 +1,69 @@
+// SkillRepositoryImpl.java
+package com.skillextractor.repository;
+
+import com.skillextractor.dto.SkillResponse;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.enums.SkillLevel;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.Skill;
+import com.skillextractor.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class SkillRepositoryImpl implements SkillRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SkillResponse> findPage(Long userId, SkillCategory category, SkillLevel level, Long projectId,
+                                        KeysetCursor after, int limit,
+                                        boolean includeDescription, boolean includeExampleUsage) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SkillResponse> query = cb.createQuery(SkillResponse.class);
+        Root<Skill> skill = query.from(Skill.class);
+        Join<Skill, Project> project = skill.join("project");
+
+        query.select(cb.construct(SkillResponse.class,
+                skill.get("id"),
+                skill.get("name"),
+                skill.get("category"),
+                includeDescription ? skill.get("description") : cb.nullLiteral(String.class),
+                includeExampleUsage ? skill.get("exampleUsage") : cb.nullLiteral(String.class),
+                skill.get("level"),
+                skill.get("isGeneral"),
+                project.get("name"),
+                skill.get("createdAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(skill.get("user").get("id"), userId));
+        predicates.add(cb.isNull(skill.get("retiredAt")));
+        if (category != null) {
+            predicates.add(cb.equal(skill.get("category"), category));
+        }
+        if (level != null) {
+            predicates.add(cb.equal(skill.get("level"), level));
+        }
+        if (projectId != null) {
+            predicates.add(cb.equal(project.get("id"), projectId));
+        }
+        if (after != null) {
+            Path<LocalDateTime> createdAt = skill.get("createdAt");
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.timestamp()),
+                    cb.and(cb.equal(createdAt, after.timestamp()), cb.lessThan(skill.get("id"), after.id()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(skill.get("createdAt")), cb.desc(skill.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
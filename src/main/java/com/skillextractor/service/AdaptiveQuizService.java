@@ -0,0 +1,224 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillextractor.dto.AdaptiveAnswerRequest;
+import com.skillextractor.dto.AdaptiveQuizResponse;
+import com.skillextractor.dto.QuizResultResponse;
+import com.skillextractor.model.AdaptiveQuizSession;
+import com.skillextractor.model.QuizResult;
+import com.skillextractor.model.Skill;
+import com.skillextractor.repository.AdaptiveQuizSessionRepository;
+import com.skillextractor.repository.QuizResultRepository;
+import com.skillextractor.repository.SkillRepository;
+import com.skillextractor.util.ItemResponseModel;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Computerized adaptive quiz: one question at a time from the skill's item bank, each chosen to be the
+ * most informative at the current ability estimate. The quiz stops once the estimate is precise enough
+ * (quiz.adaptive.target-error), after quiz.adaptive.max-questions or when the bank runs out; the final
+ * ability percentile is the score that sets the skill level. Once the bank is populated no LLM call is made.
+ * Metric: quiz.adaptive.length (questions per finished quiz).
+ */
+@Service
+@Slf4j
+public class AdaptiveQuizService {
+
+    private static final TypeReference<List<ItemBankService.Response>> RESPONSES = new TypeReference<>() {};
+
+    private final SkillRepository skillRepository;
+    private final AdaptiveQuizSessionRepository adaptiveQuizSessionRepository;
+    private final QuizResultRepository quizResultRepository;
+    private final QuizPoolService quizPoolService;
+    private final ItemBankService itemBankService;
+    private final ObjectMapper objectMapper;
+    private final DistributionSummary quizLength;
+
+    @Value("${quiz.adaptive.min-questions:4}")
+    private int minQuestions;
+
+    @Value("${quiz.adaptive.max-questions:12}")
+    private int maxQuestions;
+
+    @Value("${quiz.adaptive.target-error:0.7}")
+    private double targetError;
+
+    @Value("${quiz.adaptive.min-bank-size:8}")
+    private int minBankSize;
+
+    public AdaptiveQuizService(SkillRepository skillRepository,
+                               AdaptiveQuizSessionRepository adaptiveQuizSessionRepository,
+                               QuizResultRepository quizResultRepository,
+                               QuizPoolService quizPoolService,
+                               ItemBankService itemBankService,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.skillRepository = skillRepository;
+        this.adaptiveQuizSessionRepository = adaptiveQuizSessionRepository;
+        this.quizResultRepository = quizResultRepository;
+        this.quizPoolService = quizPoolService;
+        this.itemBankService = itemBankService;
+        this.objectMapper = objectMapper;
+        this.quizLength = DistributionSummary.builder("quiz.adaptive.length")
+                .description("Questions asked per finished adaptive quiz")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start an adaptive quiz and return its first question
+     */
+    public AdaptiveQuizResponse start(Long skillId) {
+        Skill skill = skillRepository.findById(skillId)
+                .orElseThrow(() -> new RuntimeException("Skill not found: " + skillId));
+        String bankKey = quizPoolService.fingerprint(skill);
+
+        if (itemBankService.size(bankKey) < minBankSize) {
+            // Generates a quiz for an empty pool and schedules a pool top-up; pooled questions join the bank
+            quizPoolService.draw(skill);
+        }
+
+        ItemBankService.Item first = itemBankService.selectNext(bankKey, 0, Set.of())
+                .orElseThrow(() -> new RuntimeException("No quiz questions available for skill: " + skillId));
+        AdaptiveQuizSession session = adaptiveQuizSessionRepository.save(AdaptiveQuizSession.builder()
+                .skill(skill)
+                .bankKey(bankKey)
+                .currentItemId(first.id())
+                .build());
+        log.info("Started adaptive quiz session {} for skill ID: {} ({} items in bank)",
+                session.getId(), skillId, itemBankService.size(bankKey));
+
+        return AdaptiveQuizResponse.builder()
+                .sessionId(session.getId())
+                .skillId(skill.getId())
+                .skillName(skill.getName())
+                .questionsAnswered(0)
+                .ability(session.getAbility())
+                .standardError(session.getStandardError())
+                .question(first.toQuestion(1))
+                .build();
+    }
+
+    /**
+     * Grade the answer to the current question, update the ability estimate and return the next
+     * question or, when the quiz is over, the result
+     */
+    @Transactional
+    public AdaptiveQuizResponse answer(Long sessionId, AdaptiveAnswerRequest request) {
+        AdaptiveQuizSession session = adaptiveQuizSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Adaptive quiz session not found: " + sessionId));
+        if (session.getCompletedAt() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Adaptive quiz session " + sessionId + " is already finished");
+        }
+        // A question is answered once: a concurrent answer read the same responses and would record the
+        // question twice, or finish the quiz twice (two results, calibration applied twice)
+        Long itemId = session.getCurrentItemId();
+        if (itemId == null || adaptiveQuizSessionRepository.claimCurrentItem(sessionId, itemId) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Question of adaptive quiz session " + sessionId + " was already answered");
+        }
+        Skill skill = session.getSkill();
+        String bankKey = session.getBankKey();
+
+        ItemBankService.Item item = itemBankService.find(bankKey, itemId)
+                .orElseThrow(() -> new RuntimeException("Quiz question not found: " + itemId));
+        boolean correct = item.correctAnswer().equals(request.getSelectedAnswer());
+
+        List<ItemBankService.Response> responses = readResponses(session);
+        responses.add(new ItemBankService.Response(item.id(), correct));
+        ItemResponseModel.Estimate estimate = itemBankService.estimate(bankKey, responses);
+        session.setResponsesJson(toJson(responses));
+        session.setAbility(estimate.theta());
+        session.setStandardError(estimate.standardError());
+
+        AdaptiveQuizResponse.AdaptiveQuizResponseBuilder response = AdaptiveQuizResponse.builder()
+                .sessionId(session.getId())
+                .skillId(skill.getId())
+                .skillName(skill.getName())
+                .lastAnswerCorrect(correct)
+                .questionsAnswered(responses.size())
+                .ability(estimate.theta())
+                .standardError(estimate.standardError());
+
+        boolean precise = responses.size() >= minQuestions && estimate.standardError() <= targetError;
+        if (!precise && responses.size() < maxQuestions) {
+            Set<Long> asked = responses.stream().map(ItemBankService.Response::itemId).collect(Collectors.toSet());
+            ItemBankService.Item next = itemBankService.selectNext(bankKey, estimate.theta(), asked).orElse(null);
+            if (next != null) {
+                session.setCurrentItemId(next.id());
+                adaptiveQuizSessionRepository.save(session);
+                return response.question(next.toQuestion(responses.size() + 1)).build();
+            }
+        }
+
+        return response.result(finish(session, skill, responses, estimate)).build();
+    }
+
+    private QuizResultResponse finish(AdaptiveQuizSession session, Skill skill,
+                                      List<ItemBankService.Response> responses, ItemResponseModel.Estimate estimate) {
+        session.setCurrentItemId(null);
+        session.setCompletedAt(LocalDateTime.now());
+        adaptiveQuizSessionRepository.save(session);
+
+        int score = ItemResponseModel.percentile(estimate.theta());
+        skill.updateLevel(score);
+        skillRepository.save(skill);
+
+        int correctAnswers = (int) responses.stream().filter(ItemBankService.Response::correct).count();
+        QuizResult result = quizResultRepository.save(QuizResult.builder()
+                .skill(skill)
+                .score(score)
+                .totalQuestions(responses.size())
+                .correctAnswers(correctAnswers)
+                .answersJson(session.getResponsesJson())
+                .build());
+
+        itemBankService.calibrate(session.getBankKey(), responses, estimate.theta());
+        quizLength.record(responses.size());
+        log.info("Adaptive quiz session {} finished after {} questions: ability {} (SE {}), score {}",
+                session.getId(), responses.size(), estimate.theta(), estimate.standardError(), score);
+
+        return QuizResultResponse.builder()
+                .id(result.getId())
+                .skillId(skill.getId())
+                .score(score)
+                .correctAnswers(correctAnswers)
+                .totalQuestions(responses.size())
+                .achievedLevel(skill.getLevel())
+                .levelDisplay(skill.getLevel().getDisplayText())
+                .completedAt(result.getCompletedAt())
+                .build();
+    }
+
+    private List<ItemBankService.Response> readResponses(AdaptiveQuizSession session) {
+        try {
+            return new ArrayList<>(objectMapper.readValue(session.getResponsesJson(), RESPONSES));
+        } catch (Exception e) {
+            log.error("Corrupt responses for adaptive quiz session {}", session.getId(), e);
+            throw new RuntimeException("Failed to read adaptive quiz session");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize adaptive quiz session", e);
+        }
+    }
+}
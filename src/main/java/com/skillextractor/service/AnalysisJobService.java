@@ -0,0 +1,458 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillextractor.dto.JobStatusResponse;
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.dto.ProjectVersionResponse;
+import com.skillextractor.dto.SkillResponse;
+import com.skillextractor.enums.JobStatus;
+import com.skillextractor.enums.JobType;
+import com.skillextractor.exception.LeaseLostException;
+import com.skillextractor.exception.OpenAIRateLimitException;
+import com.skillextractor.model.AnalysisJob;
+import com.skillextractor.model.Project;
+import com.skillextractor.repository.AnalysisJobRepository;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.SkillRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Durable analysis queue shared by all instances. Uploads and new project versions insert a job row
+ * (with the upload as payload) and return 202; analysis.jobs.workers threads on every node claim jobs with FOR UPDATE SKIP LOCKED,
+ * so adding instances adds workers. A claimed job is leased for analysis.jobs.visibility-timeout-ms and
+ * the lease is extended by a heartbeat while the node runs it; when a node dies the lease runs out and
+ * another node takes the job over. Failed attempts are retried with exponential backoff and
+ * dead-lettered (status DEAD) after analysis.jobs.max-attempts.
+ * Metrics: analysis.jobs{outcome=done|retried|failed|dead}, analysis.jobs.run (analysis time).
+ */
+@Service
+@Slf4j
+public class AnalysisJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AnalysisJobRepository analysisJobRepository;
+    private final ProjectRepository projectRepository;
+    private final SkillRepository skillRepository;
+    private final SkillAnalysisService skillAnalysisService;
+    private final ProjectVersionService projectVersionService;
+    private final ThreadPoolTaskExecutor analysisExecutor;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate claimTransaction;
+    private final Timer runTimer;
+    private final ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analysis-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Jobs a worker of this node is running right now; only their leases are extended
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Wakes this node's idle workers right after a local submit instead of at the next poll
+    private final Object workAvailable = new Object();
+    private volatile boolean running;
+
+    @Value("${analysis.jobs.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${analysis.jobs.workers:2}")
+    private int workers;
+
+    @Value("${analysis.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${analysis.jobs.visibility-timeout-ms:120000}")
+    private long visibilityTimeoutMs;
+
+    @Value("${analysis.jobs.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${analysis.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${analysis.jobs.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+
+    @Value("${analysis.jobs.retention-hours:24}")
+    private long retentionHours;
+
+    private String nodeId;
+
+    public AnalysisJobService(AnalysisJobRepository analysisJobRepository,
+                              ProjectRepository projectRepository,
+                              SkillRepository skillRepository,
+                              SkillAnalysisService skillAnalysisService,
+                              ProjectVersionService projectVersionService,
+                              @Qualifier("analysisExecutor") ThreadPoolTaskExecutor analysisExecutor,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.analysisJobRepository = analysisJobRepository;
+        this.projectRepository = projectRepository;
+        this.skillRepository = skillRepository;
+        this.skillAnalysisService = skillAnalysisService;
+        this.projectVersionService = projectVersionService;
+        this.analysisExecutor = analysisExecutor;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.runTimer = Timer.builder("analysis.jobs.run")
+                .description("Analysis time per job attempt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue analysis of an already persisted project.
+     *
+     * @throws TaskRejectedException when analysis.jobs.queue-capacity jobs are already waiting cluster-wide
+     */
+    public JobStatusResponse submit(ProjectUploadRequest request, Project project, Long userId) {
+        return enqueue(JobType.ANALYSIS, request, project, userId);
+    }
+
+    /**
+     * Queue a new version of an existing project, already checked with
+     * {@link ProjectVersionService#checkVersionUpload}. The diff is taken when the job runs, so versions
+     * queued back to back apply in turn; one that loses the race to another is retried and re-diffed.
+     *
+     * @throws TaskRejectedException when analysis.jobs.queue-capacity jobs are already waiting cluster-wide
+     */
+    public JobStatusResponse submitVersion(ProjectUploadRequest request, Project project, Long userId) {
+        return enqueue(JobType.VERSION, request, project, userId);
+    }
+
+    private JobStatusResponse enqueue(JobType type, ProjectUploadRequest request, Project project, Long userId) {
+        if (analysisJobRepository.countByStatus(JobStatus.QUEUED) >= queueCapacity) {
+            log.warn("Analysis queue full, rejecting job for project {}", project.getId());
+            throw new TaskRejectedException("Analysis queue is full");
+        }
+
+        Instant now = Instant.now();
+        AnalysisJob job = analysisJobRepository.save(AnalysisJob.builder()
+                .id(UUID.randomUUID().toString())
+                .type(type)
+                .projectId(project.getId())
+                .userId(userId)
+                .status(JobStatus.QUEUED)
+                .payload(writePayload(request))
+                .availableAt(now)
+                .queuedAt(now)
+                .build());
+
+        synchronized (workAvailable) {
+            workAvailable.notifyAll();
+        }
+        log.info("Queued {} job {} for project {}", type, job.getId(), project.getId());
+        return toResponse(analysisJobRepository.findStatusById(job.getId()).orElseThrow());
+    }
+
+    /**
+     * Job status, visible only to the user who submitted it
+     */
+    public Optional<JobStatusResponse> getJob(String jobId, Long userId) {
+        return analysisJobRepository.findStatusById(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(this::toResponse);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        nodeId = configuredNodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : configuredNodeId;
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            analysisExecutor.execute(this::work);
+        }
+
+        long heartbeatMs = Math.max(1000, visibilityTimeoutMs / 3);
+        leaseScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        leaseScheduler.scheduleWithFixedDelay(this::purgeFinished, 1, 60, TimeUnit.MINUTES);
+        log.info("Analysis queue node {} started with {} workers", nodeId, workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        synchronized (workAvailable) {
+            workAvailable.notifyAll();
+        }
+        // Jobs still running when the node goes away are taken over once their lease expires
+        leaseScheduler.shutdownNow();
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                Optional<AnalysisJob> job = claim();
+                if (job.isPresent()) {
+                    inFlight.add(job.get().getId());
+                    try {
+                        process(job.get());
+                    } finally {
+                        inFlight.remove(job.get().getId());
+                    }
+                } else {
+                    synchronized (workAvailable) {
+                        workAvailable.wait(pollIntervalMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Database unavailable or similar: back off, the job (if any) is retried after its lease
+                log.error("Analysis worker error", e);
+                sleepQuietly(pollIntervalMs);
+            }
+        }
+    }
+
+    /**
+     * Lock the next claimable job and lease it to this node in one short transaction
+     */
+    private Optional<AnalysisJob> claim() {
+        return claimTransaction.execute(status -> {
+            Instant now = Instant.now();
+            return analysisJobRepository.lockNextClaimable(now).map(job -> {
+                if (job.getStatus() == JobStatus.RUNNING) {
+                    log.warn("Taking over job {} from {} after its lease expired", job.getId(), job.getLockedBy());
+                }
+                job.setStatus(JobStatus.RUNNING);
+                job.setLockedBy(nodeId);
+                job.setLockedUntil(now.plusMillis(visibilityTimeoutMs));
+                job.setAttempts(job.getAttempts() + 1);
+                job.setStartedAt(now);
+                return job;
+            });
+        });
+    }
+
+    private void process(AnalysisJob job) {
+        log.info("Job {} attempt {} started for project {} on {}", job.getId(), job.getAttempts(), job.getProjectId(), nodeId);
+        if (job.getAttempts() > maxAttempts) {
+            // Lost its lease on the last attempt, e.g. a node crash in the middle of every try
+            release(job, JobStatus.DEAD, "Abandoned after " + maxAttempts + " attempts");
+            return;
+        }
+
+        Optional<Project> project = projectRepository.findById(job.getProjectId());
+        if (project.isEmpty()) {
+            release(job, JobStatus.FAILED, "Project was deleted");
+            return;
+        }
+
+        if (job.getType() == JobType.VERSION) {
+            processVersion(job);
+            return;
+        }
+
+        // A previous attempt may have saved the skills and died before marking the job done
+        if (job.getAttempts() > 1) {
+            long saved = skillRepository.countByProjectId(job.getProjectId());
+            if (saved > 0) {
+                complete(job, (int) saved);
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            // Fenced: a node that lost its lease mid-analysis must not save skills next to the newer attempt's
+            List<SkillResponse> skills = skillAnalysisService.analyzeAndSaveSkills(
+                    readPayload(job), project.get(), job.getUserId(), () -> holdsLease(job));
+            complete(job, skills.size());
+        } catch (LeaseLostException e) {
+            log.warn("Job {} attempt {} lost its lease on {} before saving skills", job.getId(), job.getAttempts(), nodeId);
+        } catch (Exception e) {
+            log.error("Job {} attempt {} failed for project {}", job.getId(), job.getAttempts(), job.getProjectId(), e);
+            retryOrDeadLetter(job, e);
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Version uploads write under the project's row lock with a version check, so a retry needs no
+     * shortcut: it re-diffs against whatever version is current by then
+     */
+    private void processVersion(AnalysisJob job) {
+        long start = System.nanoTime();
+        try {
+            ProjectVersionResponse version = projectVersionService.uploadNewVersion(
+                    job.getProjectId(), readPayload(job), job.getUserId());
+            complete(job, version.getSkillsAdded());
+        } catch (Exception e) {
+            log.error("Version job {} attempt {} failed for project {}", job.getId(), job.getAttempts(), job.getProjectId(), e);
+            retryOrDeadLetter(job, e);
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean holdsLease(AnalysisJob job) {
+        return analysisJobRepository.lockHeldLease(job.getId(), nodeId, job.getAttempts()).isPresent();
+    }
+
+    private void complete(AnalysisJob job, int skillCount) {
+        if (analysisJobRepository.complete(job.getId(), nodeId, job.getAttempts(), JobStatus.DONE, skillCount,
+                Instant.now()) == 0) {
+            log.warn("Job {} finished on {} after its lease was taken over", job.getId(), nodeId);
+            return;
+        }
+        meterRegistry.counter("analysis.jobs", "outcome", "done").increment();
+        log.info("Job {} done - extracted {} skills", job.getId(), skillCount);
+    }
+
+    private void retryOrDeadLetter(AnalysisJob job, Exception e) {
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (job.getAttempts() >= maxAttempts) {
+            release(job, JobStatus.DEAD, error);
+            return;
+        }
+
+        long backoffMs = retryBackoffMs << Math.min(job.getAttempts() - 1, 10);
+        OpenAIRateLimitException rateLimit = rateLimitCause(e);
+        if (rateLimit != null) {
+            backoffMs = Math.max(backoffMs, rateLimit.getRetryAfterSeconds() * 1000);
+        }
+        Instant retryAt = Instant.now().plusMillis(backoffMs);
+        if (analysisJobRepository.release(job.getId(), nodeId, job.getAttempts(), JobStatus.QUEUED, retryAt, null,
+                truncate(error)) > 0) {
+            meterRegistry.counter("analysis.jobs", "outcome", "retried").increment();
+            log.info("Job {} will be retried at {}", job.getId(), retryAt);
+        }
+    }
+
+    private void release(AnalysisJob job, JobStatus finalStatus, String error) {
+        Instant now = Instant.now();
+        if (analysisJobRepository.release(job.getId(), nodeId, job.getAttempts(), finalStatus, job.getAvailableAt(),
+                now, truncate(error)) > 0) {
+            meterRegistry.counter("analysis.jobs", "outcome", finalStatus == JobStatus.DEAD ? "dead" : "failed").increment();
+            log.warn("Job {} {} after {} attempts: {}", job.getId(), finalStatus, job.getAttempts(), error);
+        }
+    }
+
+    /**
+     * Extends only the leases of jobs a worker still runs: a job whose completion could not be recorded
+     * is no longer in flight, so its lease runs out and it is retried
+     */
+    private void heartbeat() {
+        Set<String> ids = Set.copyOf(inFlight);
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            analysisJobRepository.extendLeases(ids, nodeId, Instant.now().plusMillis(visibilityTimeoutMs), JobStatus.RUNNING);
+        } catch (Exception e) {
+            log.warn("Could not extend analysis job leases of {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Finished jobs are kept analysis.jobs.retention-hours for status polls; dead letters stay until removed by hand
+     */
+    private void purgeFinished() {
+        try {
+            Instant before = Instant.now().minus(Duration.ofHours(retentionHours));
+            int purged = analysisJobRepository.deleteFinishedBefore(EnumSet.of(JobStatus.DONE, JobStatus.FAILED), before);
+            if (purged > 0) {
+                log.info("Purged {} finished analysis jobs", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Could not purge finished analysis jobs: {}", e.getMessage());
+        }
+    }
+
+    private byte[] writePayload(ProjectUploadRequest request) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, request);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize analysis job", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ProjectUploadRequest readPayload(AnalysisJob job) throws IOException {
+        if (job.getPayload() == null) {
+            throw new IllegalStateException("Analysis job " + job.getId() + " has no payload");
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(job.getPayload()))) {
+            return objectMapper.readValue(in, ProjectUploadRequest.class);
+        }
+    }
+
+    private JobStatusResponse toResponse(AnalysisJobRepository.StatusView job) {
+        Instant started = job.getStartedAt();
+        Instant finished = job.getFinishedAt();
+        return JobStatusResponse.builder()
+                .jobId(job.getId())
+                .projectId(job.getProjectId())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .queuedAt(job.getQueuedAt())
+                .startedAt(started)
+                .finishedAt(finished)
+                .queueWaitMs(started != null ? Duration.between(job.getQueuedAt(), started).toMillis() : null)
+                .runMs(started != null && finished != null ? Duration.between(started, finished).toMillis() : null)
+                .skillsExtracted(job.getSkillsExtracted())
+                .error(job.getError())
+                .build();
+    }
+
+    private static OpenAIRateLimitException rateLimitCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OpenAIRateLimitException rateLimit) {
+                return rateLimit;
+            }
+        }
+        return null;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.skillextractor.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies short-lived HMAC-SHA256 signed bearer tokens.
+ * Token format: base64url(userId|expiresAtEpochSeconds|username) + "." + base64url(signature).
+ * Verification is pure CPU work - no database lookup and no BCrypt.
+ */
+@Service
+@Slf4j
+public class AuthTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final ThreadLocal<Mac> mac;
+
+    public AuthTokenService(@Value("${auth.token.secret:}") String secret,
+                            @Value("${auth.token.ttl-minutes:60}") long ttlMinutes) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public record TokenClaims(Long userId, String username, Instant expiresAt) {
+    }
+
+    public String issue(Long userId, String username, Instant expiresAt) {
+        String payload = userId + "|" + expiresAt.getEpochSecond() + "|" + username;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Instant nextExpiry() {
+        return Instant.now().plus(ttl);
+    }
+
+    /**
+     * Returns the claims of a well-formed, correctly signed and unexpired token
+     */
+    public Optional<TokenClaims> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payloadBytes))) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+            if (Instant.now().isAfter(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(Long.parseLong(parts[0]), parts[2], expiresAt));
+        } catch (IllegalArgumentException e) {
+            // Malformed base64 or number
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return mac.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("auth.token.secret not set - using a random key, tokens will not survive restarts "
+                    + "and will not be accepted by other instances");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillextractor.service;
 
+import com.skillextractor.config.AuthenticatedUser;
 import com.skillextractor.model.User;
 import com.skillextractor.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,8 +9,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
@@ -21,10 +20,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword()) // Already BCrypt encoded
-                .authorities(new ArrayList<>()) // No roles for MVP
-                .build();
+        // Password already BCrypt encoded; the id rides along so later lookups need no query
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword());
     }
 }
\ No newline at end of file
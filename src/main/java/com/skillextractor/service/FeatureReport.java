@@ -0,0 +1,113 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.skillextractor.enums.JavaFeature;
+import com.skillextractor.enums.SkillCategory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of {@link JavaFeatureDetector#scan}: occurrences of each detected feature with the first few locations.
+ */
+public final class FeatureReport {
+
+    public record Evidence(String file, int line, String snippet) {
+    }
+
+    public record FeatureEvidence(JavaFeature feature, int occurrences, List<Evidence> evidence) {
+    }
+
+    private final Map<JavaFeature, FeatureEvidence> features;
+    private final long scannedChars;
+    private final long scanNanos;
+
+    FeatureReport(Map<JavaFeature, FeatureEvidence> features, long scannedChars, long scanNanos) {
+        this.features = Collections.unmodifiableMap(new EnumMap<>(features));
+        this.scannedChars = scannedChars;
+        this.scanNanos = scanNanos;
+    }
+
+    public Map<JavaFeature, FeatureEvidence> getFeatures() {
+        return features;
+    }
+
+    public boolean isEmpty() {
+        return features.isEmpty();
+    }
+
+    public Set<SkillCategory> getCategories() {
+        Set<SkillCategory> categories = EnumSet.noneOf(SkillCategory.class);
+        features.keySet().forEach(feature -> categories.add(feature.getCategory()));
+        return categories;
+    }
+
+    /**
+     * Detected features grouped by skill category, in enum order
+     */
+    public Map<SkillCategory, List<FeatureEvidence>> byCategory() {
+        Map<SkillCategory, List<FeatureEvidence>> grouped = new EnumMap<>(SkillCategory.class);
+        features.values().forEach(evidence -> grouped
+                .computeIfAbsent(evidence.feature().getCategory(), category -> new ArrayList<>())
+                .add(evidence));
+        return grouped;
+    }
+
+    public long getScannedChars() {
+        return scannedChars;
+    }
+
+    public long getScanNanos() {
+        return scanNanos;
+    }
+
+    /**
+     * Scan throughput, treating one source char as one byte
+     */
+    public double getMegabytesPerSecond() {
+        return scanNanos == 0 ? 0 : (scannedChars / 1_000_000.0) / (scanNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Skills derived from the detected features alone, in the same JSON format the LLM returns:
+     * one specific skill per feature plus one general skill per category.
+     */
+    public String toSkillsJson(ObjectMapper objectMapper) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode skills = root.putArray("skills");
+
+        byCategory().forEach((category, categoryFeatures) -> {
+            for (FeatureEvidence evidence : categoryFeatures) {
+                JavaFeature feature = evidence.feature();
+                addSkill(skills, feature.getDisplayName(), category, feature.getDescription(),
+                        evidence.evidence().isEmpty() ? "" : evidence.evidence().get(0).snippet(), false);
+            }
+            addSkill(skills, category.getDisplayName() + " - General Knowledge", category,
+                    category.getDescription() + ".", "", true);
+        });
+
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize feature skills", e);
+        }
+    }
+
+    private static void addSkill(ArrayNode skills, String name, SkillCategory category, String description,
+                                 String exampleUsage, boolean general) {
+        ObjectNode skill = skills.addObject();
+        skill.put("name", name);
+        skill.put("category", category.name());
+        skill.put("description", description);
+        skill.put("exampleUsage", exampleUsage);
+        skill.put("isGeneral", general);
+    }
+}
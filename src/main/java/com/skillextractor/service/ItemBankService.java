@@ -0,0 +1,313 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillextractor.config.ClusterCacheBus;
+import com.skillextractor.dto.QuizResponse;
+import com.skillextractor.model.QuizItem;
+import com.skillextractor.model.QuizPoolEntry;
+import com.skillextractor.repository.QuizItemRepository;
+import com.skillextractor.repository.QuizPoolRepository;
+import com.skillextractor.util.ContentDigest;
+import com.skillextractor.util.ItemResponseModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared item bank per skill fingerprint: every question of every generated quiz, with a difficulty
+ * calibrated online from submitted answers ({@link ItemResponseModel}). Banks are held in memory as
+ * immutable snapshots, so picking the most informative next question is a scan over a few arrays
+ * with no database or LLM call. Other instances drop their snapshot of a bank when it changes here
+ * ({@link ClusterCacheBus}). Metric: quiz.adaptive.selection (selection time).
+ */
+@Service
+@Slf4j
+public class ItemBankService {
+
+    private static final TypeReference<List<String>> OPTIONS = new TypeReference<>() {};
+    private static final TypeReference<List<QuizResponse.Question>> QUESTIONS = new TypeReference<>() {};
+    private static final String BUS_NAME = "itemBank";
+
+    private final QuizItemRepository quizItemRepository;
+    private final QuizPoolRepository quizPoolRepository;
+    private final ObjectMapper objectMapper;
+    private final ClusterCacheBus clusterCacheBus;
+    private final Timer selectionTimer;
+    private final double calibrationRate;
+
+    private final Cache<String, Bank> banks;
+
+    public record Item(Long id, String digest, String text, List<String> options, String correctAnswer,
+                       double difficulty, double guessing, int responses) {
+
+        public QuizResponse.Question toQuestion(int number) {
+            return QuizResponse.Question.builder()
+                    .number(number)
+                    .text(text)
+                    .options(options)
+                    .build();
+        }
+
+        private Item withResponse(double newDifficulty) {
+            return new Item(id, digest, text, options, correctAnswer, newDifficulty, guessing, responses + 1);
+        }
+    }
+
+    public record Response(Long itemId, boolean correct) {
+    }
+
+    /**
+     * Items of one fingerprint. The array is replaced, never modified, so readers need no lock.
+     */
+    private static final class Bank {
+        private volatile Item[] items;
+
+        Bank(Item[] items) {
+            this.items = items;
+        }
+
+        Item get(Long id) {
+            for (Item item : items) {
+                if (item.id().equals(id)) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        synchronized Item replace(Item updated) {
+            Item[] copy = items.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i].id().equals(updated.id())) {
+                    copy[i] = updated;
+                }
+            }
+            items = copy;
+            return updated;
+        }
+    }
+
+    public ItemBankService(QuizItemRepository quizItemRepository,
+                           QuizPoolRepository quizPoolRepository,
+                           ObjectMapper objectMapper,
+                           ClusterCacheBus clusterCacheBus,
+                           MeterRegistry meterRegistry,
+                           @Value("${quiz.adaptive.calibration-rate:0.5}") double calibrationRate) {
+        this.quizItemRepository = quizItemRepository;
+        this.quizPoolRepository = quizPoolRepository;
+        this.objectMapper = objectMapper;
+        this.clusterCacheBus = clusterCacheBus;
+        this.calibrationRate = calibrationRate;
+        this.selectionTimer = Timer.builder("quiz.adaptive.selection")
+                .description("Time to pick the next adaptive quiz question")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.banks = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .maximumSize(10_000)
+                .build();
+        clusterCacheBus.subscribe(BUS_NAME, (operation, key) -> {
+            if (key == null) {
+                banks.invalidateAll();
+            } else {
+                banks.invalidate(key);
+            }
+        });
+    }
+
+    public int size(String bankKey) {
+        return bank(bankKey).items.length;
+    }
+
+    /**
+     * Add the questions of a generated quiz to the bank; already known questions are skipped
+     */
+    public void add(String bankKey, List<QuizResponse.Question> questions) {
+        if (save(bankKey, questions) > 0) {
+            banks.invalidate(bankKey);
+            clusterCacheBus.publish(BUS_NAME, ClusterCacheBus.Operation.EVICT, bankKey);
+        }
+    }
+
+    private int save(String bankKey, List<QuizResponse.Question> questions) {
+        int added = 0;
+        for (QuizResponse.Question question : questions) {
+            String digest = digest(question);
+            if (quizItemRepository.existsByBankKeyAndContentDigest(bankKey, digest)) {
+                continue;
+            }
+            try {
+                quizItemRepository.save(QuizItem.builder()
+                        .bankKey(bankKey)
+                        .contentDigest(digest)
+                        .text(question.getText())
+                        .optionsJson(toJson(question.getOptions()))
+                        .correctAnswer(question.getCorrectAnswer())
+                        .build());
+                added++;
+            } catch (DataIntegrityViolationException e) {
+                // Added concurrently
+            }
+        }
+        return added;
+    }
+
+    public Optional<Item> find(String bankKey, Long itemId) {
+        return Optional.ofNullable(bank(bankKey).get(itemId));
+    }
+
+    /**
+     * The unasked item with the most information at theta; among equally informative items the
+     * least answered one, so fresh questions get calibrated
+     */
+    public Optional<Item> selectNext(String bankKey, double theta, Set<Long> asked) {
+        Item[] items = bank(bankKey).items;
+        long start = System.nanoTime();
+        Item best = null;
+        double bestInformation = 0;
+        for (Item item : items) {
+            if (asked.contains(item.id())) {
+                continue;
+            }
+            double information = ItemResponseModel.information(theta, item.difficulty(), item.guessing());
+            boolean tie = best != null && Math.abs(information - bestInformation) < 1e-9;
+            if (best == null || (!tie && information > bestInformation) || (tie && item.responses() < best.responses())) {
+                best = item;
+                bestInformation = information;
+            }
+        }
+        selectionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.ofNullable(best);
+    }
+
+    public ItemResponseModel.Estimate estimate(String bankKey, List<Response> responses) {
+        Bank bank = bank(bankKey);
+        int n = responses.size();
+        double[] difficulties = new double[n];
+        double[] guessing = new double[n];
+        boolean[] correct = new boolean[n];
+        int count = 0;
+        for (Response response : responses) {
+            Item item = bank.get(response.itemId());
+            if (item != null) {
+                difficulties[count] = item.difficulty();
+                guessing[count] = item.guessing();
+                correct[count] = response.correct();
+                count++;
+            }
+        }
+        return ItemResponseModel.estimate(difficulties, guessing, correct, count);
+    }
+
+    /**
+     * Move the difficulty of every answered item towards what the answers at ability theta imply.
+     * The step shrinks with the number of answers an item already has. The database gets the step,
+     * not the new value, so a calibration computed from a stale snapshot still adds to the others.
+     */
+    public void calibrate(String bankKey, List<Response> responses, double theta) {
+        Bank bank = bank(bankKey);
+        for (Response response : responses) {
+            Item item = bank.get(response.itemId());
+            if (item == null) {
+                continue;
+            }
+            double rate = calibrationRate / Math.sqrt(1 + item.responses());
+            double difficulty = ItemResponseModel.updateDifficulty(
+                    item.difficulty(), item.guessing(), theta, response.correct(), rate);
+            bank.replace(item.withResponse(difficulty));
+            quizItemRepository.recordResponse(item.id(), difficulty - item.difficulty(),
+                    ItemResponseModel.MIN_LOGIT, ItemResponseModel.MAX_LOGIT, response.correct() ? 1 : 0);
+        }
+        clusterCacheBus.publish(BUS_NAME, ClusterCacheBus.Operation.PUT, bankKey);
+    }
+
+    /**
+     * Calibration data from a graded fixed quiz: its questions are matched to bank items by content
+     *
+     * @param answers selected answer letter by question number
+     */
+    public void recordQuiz(String bankKey, List<QuizResponse.Question> questions, Map<Integer, String> answers) {
+        Bank bank = bank(bankKey);
+        List<Response> responses = new ArrayList<>();
+        for (QuizResponse.Question question : questions) {
+            String digest = digest(question);
+            Arrays.stream(bank.items)
+                    .filter(item -> item.digest().equals(digest))
+                    .findFirst()
+                    .ifPresent(item -> responses.add(new Response(item.id(),
+                            item.correctAnswer().equals(answers.get(question.getNumber())))));
+        }
+        if (!responses.isEmpty()) {
+            calibrate(bankKey, responses, estimate(bankKey, responses).theta());
+        }
+    }
+
+    private Bank bank(String bankKey) {
+        return banks.get(bankKey, this::load);
+    }
+
+    /**
+     * Items from the database; a bank that has none yet is seeded from the quizzes already pooled for the fingerprint
+     */
+    private Bank load(String bankKey) {
+        List<QuizItem> items = quizItemRepository.findByBankKey(bankKey);
+        if (items.isEmpty()) {
+            for (QuizPoolEntry entry : quizPoolRepository.findByFingerprint(bankKey)) {
+                seed(bankKey, entry);
+            }
+            items = quizItemRepository.findByBankKey(bankKey);
+        }
+        return new Bank(items.stream().map(this::toItem).toArray(Item[]::new));
+    }
+
+    private void seed(String bankKey, QuizPoolEntry entry) {
+        try {
+            save(bankKey, objectMapper.readValue(entry.getQuestionsJson(), QUESTIONS));
+        } catch (Exception e) {
+            log.warn("Skipping unreadable quiz pool entry {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    private Item toItem(QuizItem item) {
+        List<String> options;
+        try {
+            options = objectMapper.readValue(item.getOptionsJson(), OPTIONS);
+        } catch (Exception e) {
+            throw new RuntimeException("Corrupt quiz item " + item.getId(), e);
+        }
+        return new Item(item.getId(), item.getContentDigest(), item.getText(), List.copyOf(options),
+                item.getCorrectAnswer(), item.getDifficulty(), ItemResponseModel.guessing(options.size()),
+                item.getResponses());
+    }
+
+    private static String digest(QuizResponse.Question question) {
+        ContentDigest digest = ContentDigest.sha256().updateNormalized(question.getText());
+        if (question.getOptions() != null) {
+            question.getOptions().forEach(digest::updateNormalized);
+        }
+        return digest.hex();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize quiz item", e);
+        }
+    }
+}
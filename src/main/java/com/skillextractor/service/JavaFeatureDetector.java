@@ -0,0 +1,348 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.JavaFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass lexical scanner that finds {@link JavaFeature}s in uploaded sources without the LLM.
+ * Comments, string/char literals, text blocks and import/package declarations are skipped; identifiers,
+ * annotations and the -> / :: operators are matched against fixed lookup tables.
+ * Throughput is published as analysis.features.throughput (MB/s, one char counted as one byte).
+ */
+@Service
+@Slf4j
+public class JavaFeatureDetector {
+
+    private static final int MAX_EVIDENCE_PER_FEATURE = 3;
+    private static final int MAX_SNIPPET_LENGTH = 160;
+    // Smaller scans finish within timer resolution and would skew the throughput distribution
+    private static final int MIN_CHARS_FOR_THROUGHPUT = 4096;
+
+    private static final Map<String, JavaFeature> IDENTIFIERS = new HashMap<>();
+    private static final Map<String, JavaFeature> MEMBERS = new HashMap<>();
+    private static final Map<String, JavaFeature> ANNOTATIONS = new HashMap<>();
+
+    static {
+        register(IDENTIFIERS, JavaFeature.LOOPS, "for", "while", "do");
+        register(IDENTIFIERS, JavaFeature.SWITCH, "switch");
+        register(IDENTIFIERS, JavaFeature.STREAM_API, "Stream", "IntStream", "LongStream", "Collectors");
+        register(IDENTIFIERS, JavaFeature.OPTIONAL, "Optional");
+        register(IDENTIFIERS, JavaFeature.INHERITANCE, "extends", "implements");
+        register(IDENTIFIERS, JavaFeature.ABSTRACTION, "interface", "abstract");
+        register(IDENTIFIERS, JavaFeature.RECORDS_ENUMS, "record", "enum");
+        register(IDENTIFIERS, JavaFeature.LISTS, "List", "ArrayList", "LinkedList");
+        register(IDENTIFIERS, JavaFeature.MAPS, "Map", "HashMap", "TreeMap", "LinkedHashMap", "EnumMap");
+        register(IDENTIFIERS, JavaFeature.SETS_QUEUES,
+                "Set", "HashSet", "TreeSet", "LinkedHashSet", "EnumSet", "Queue", "Deque", "ArrayDeque", "PriorityQueue");
+        register(IDENTIFIERS, JavaFeature.TRY_CATCH, "catch", "finally");
+        register(IDENTIFIERS, JavaFeature.THROWING, "throw", "throws");
+        register(IDENTIFIERS, JavaFeature.FILE_IO, "Files", "Paths", "BufferedReader", "BufferedWriter",
+                "FileReader", "FileWriter", "FileInputStream", "FileOutputStream", "PrintWriter");
+        register(IDENTIFIERS, JavaFeature.SPRING_DATA, "JpaRepository", "CrudRepository", "PagingAndSortingRepository");
+        register(IDENTIFIERS, JavaFeature.JPA_MAPPING, "EntityManager");
+        register(IDENTIFIERS, JavaFeature.JDBC, "DriverManager", "PreparedStatement", "ResultSet", "JdbcTemplate");
+        register(IDENTIFIERS, JavaFeature.REST_CONTROLLER, "ResponseEntity");
+        register(IDENTIFIERS, JavaFeature.HTTP_CLIENT, "RestTemplate", "WebClient", "HttpClient");
+        register(IDENTIFIERS, JavaFeature.JSON, "ObjectMapper", "JsonNode", "Gson");
+        register(IDENTIFIERS, JavaFeature.UNIT_TESTS, "assertEquals", "assertTrue", "assertFalse", "assertNotNull",
+                "assertThrows", "assertThat");
+        register(IDENTIFIERS, JavaFeature.MOCKING, "Mockito");
+        register(IDENTIFIERS, JavaFeature.EXECUTORS, "ExecutorService", "Executors", "CompletableFuture", "Future",
+                "Thread", "Runnable", "Callable");
+        register(IDENTIFIERS, JavaFeature.SYNCHRONIZATION, "synchronized", "volatile", "ReentrantLock",
+                "ReadWriteLock", "Semaphore", "CountDownLatch");
+        register(IDENTIFIERS, JavaFeature.CONCURRENT_TYPES, "AtomicInteger", "AtomicLong", "AtomicBoolean",
+                "AtomicReference", "ConcurrentHashMap", "CopyOnWriteArrayList", "BlockingQueue");
+        register(IDENTIFIERS, JavaFeature.SORTING_SEARCHING, "Comparator", "Comparable");
+
+        register(MEMBERS, JavaFeature.STREAM_API, "stream", "parallelStream");
+        register(MEMBERS, JavaFeature.SINGLETON, "getInstance");
+        register(MEMBERS, JavaFeature.BUILDER, "builder");
+        register(MEMBERS, JavaFeature.SORTING_SEARCHING, "sort", "binarySearch");
+
+        register(ANNOTATIONS, JavaFeature.JPA_MAPPING, "Entity", "Table", "Id", "Column", "GeneratedValue",
+                "OneToMany", "ManyToOne", "ManyToMany", "OneToOne", "JoinColumn");
+        register(ANNOTATIONS, JavaFeature.SPRING_DATA, "Query", "Repository");
+        register(ANNOTATIONS, JavaFeature.TRANSACTIONS, "Transactional");
+        register(ANNOTATIONS, JavaFeature.SPRING_DI, "SpringBootApplication", "Service", "Component",
+                "Configuration", "Bean", "Autowired", "Value");
+        register(ANNOTATIONS, JavaFeature.LOMBOK, "Data", "Getter", "Setter", "RequiredArgsConstructor",
+                "AllArgsConstructor", "NoArgsConstructor", "Slf4j");
+        register(ANNOTATIONS, JavaFeature.BUILDER, "Builder");
+        register(ANNOTATIONS, JavaFeature.REST_CONTROLLER, "RestController", "Controller", "RequestMapping",
+                "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping", "RequestBody", "PathVariable");
+        register(ANNOTATIONS, JavaFeature.JSON, "JsonProperty", "JsonIgnore");
+        register(ANNOTATIONS, JavaFeature.UNIT_TESTS, "Test", "ParameterizedTest", "BeforeEach", "AfterEach",
+                "BeforeAll", "AfterAll");
+        register(ANNOTATIONS, JavaFeature.MOCKING, "Mock", "InjectMocks", "MockBean", "Spy");
+        register(ANNOTATIONS, JavaFeature.POLYMORPHISM, "Override");
+    }
+
+    private final Timer scanTimer;
+    private final Counter scannedBytes;
+    private final DistributionSummary throughput;
+
+    public JavaFeatureDetector(MeterRegistry meterRegistry) {
+        this.scanTimer = Timer.builder("analysis.features.scan")
+                .description("Time spent in the static feature pre-scan")
+                .register(meterRegistry);
+        this.scannedBytes = Counter.builder("analysis.features.scanned")
+                .description("Source scanned by the static feature pre-scan")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("analysis.features.throughput")
+                .description("Static feature pre-scan throughput")
+                .baseUnit("MB/s")
+                .register(meterRegistry);
+    }
+
+    public FeatureReport scan(List<ProjectUploadRequest.FileData> files) {
+        long start = System.nanoTime();
+        Collector collector = new Collector();
+        long chars = 0;
+
+        for (ProjectUploadRequest.FileData file : files) {
+            String content = file.getContent() == null ? "" : file.getContent();
+            chars += content.length();
+            if (isBuildFile(file.getFilename())) {
+                collector.record(JavaFeature.BUILD_FILE, file.getFilename(), 1, content, 0);
+            } else {
+                new Lexer(file.getFilename(), content, collector).run();
+            }
+        }
+
+        long nanos = System.nanoTime() - start;
+        FeatureReport report = collector.toReport(chars, nanos);
+
+        scanTimer.record(nanos, TimeUnit.NANOSECONDS);
+        scannedBytes.increment(chars);
+        if (chars >= MIN_CHARS_FOR_THROUGHPUT) {
+            throughput.record(report.getMegabytesPerSecond());
+        }
+        log.debug("Scanned {} chars in {} us ({} MB/s), {} features",
+                chars, nanos / 1000, String.format(Locale.ROOT, "%.1f", report.getMegabytesPerSecond()),
+                report.getFeatures().size());
+        return report;
+    }
+
+    private static boolean isBuildFile(String filename) {
+        if (filename == null) {
+            return false;
+        }
+        String name = filename.toLowerCase(Locale.ROOT);
+        return name.endsWith("pom.xml") || name.endsWith(".gradle") || name.endsWith(".gradle.kts");
+    }
+
+    private static void register(Map<String, JavaFeature> table, JavaFeature feature, String... words) {
+        for (String word : words) {
+            table.put(word, feature);
+        }
+    }
+
+    private static JavaFeature classify(String word, String previousWord, boolean annotation, boolean member) {
+        if (annotation) {
+            return ANNOTATIONS.get(word);
+        }
+        if (member) {
+            JavaFeature feature = MEMBERS.get(word);
+            if (feature != null) {
+                return feature;
+            }
+        }
+        if ("extends".equals(previousWord) && word.endsWith("Exception")) {
+            return JavaFeature.CUSTOM_EXCEPTION;
+        }
+        JavaFeature feature = IDENTIFIERS.get(word);
+        if (feature != null) {
+            return feature;
+        }
+        if (word.length() > 8 && word.endsWith("Listener")) {
+            return JavaFeature.OBSERVER;
+        }
+        if (word.length() > 7 && word.endsWith("Factory")) {
+            return JavaFeature.FACTORY;
+        }
+        return null;
+    }
+
+    /**
+     * Tokenizes one file, tracking line numbers, and reports matches to the collector
+     */
+    private static final class Lexer {
+        private final String file;
+        private final String src;
+        private final int length;
+        private final Collector out;
+
+        private int pos;
+        private int line = 1;
+        private int lineStart;
+        // Last non-whitespace char outside comments and literals, 'a' after a word
+        private char lastSignificant;
+        private String previousWord;
+
+        Lexer(String file, String src, Collector out) {
+            this.file = file;
+            this.src = src;
+            this.length = src.length();
+            this.out = out;
+        }
+
+        void run() {
+            while (pos < length) {
+                char c = src.charAt(pos);
+                char next = pos + 1 < length ? src.charAt(pos + 1) : 0;
+
+                if (c == '\n') {
+                    newLine(pos);
+                    pos++;
+                } else if (c == '/' && next == '/') {
+                    int end = src.indexOf('\n', pos);
+                    pos = end < 0 ? length : end;
+                } else if (c == '/' && next == '*') {
+                    int end = src.indexOf("*/", pos + 2);
+                    skipTo(end < 0 ? length : end + 2);
+                } else if (c == '"') {
+                    skipTo(src.startsWith("\"\"\"", pos) ? textBlockEnd() : quotedEnd('"'));
+                    lastSignificant = '"';
+                } else if (c == '\'') {
+                    skipTo(quotedEnd('\''));
+                    lastSignificant = '\'';
+                } else if (Character.isJavaIdentifierStart(c)) {
+                    word();
+                } else if (c == '-' && next == '>') {
+                    out.record(JavaFeature.LAMBDA, file, line, src, lineStart);
+                    lastSignificant = '>';
+                    pos += 2;
+                } else if (c == ':' && next == ':') {
+                    out.record(JavaFeature.METHOD_REFERENCE, file, line, src, lineStart);
+                    lastSignificant = ':';
+                    pos += 2;
+                } else {
+                    if (!Character.isWhitespace(c)) {
+                        lastSignificant = c;
+                    }
+                    pos++;
+                }
+            }
+        }
+
+        private void word() {
+            int end = pos + 1;
+            while (end < length && Character.isJavaIdentifierPart(src.charAt(end))) {
+                end++;
+            }
+            String word = src.substring(pos, end);
+            boolean annotation = lastSignificant == '@';
+
+            if (!annotation && (word.equals("import") || word.equals("package"))) {
+                // Declarations name types without using them - skip to the end of the statement
+                int semicolon = src.indexOf(';', end);
+                skipTo(semicolon < 0 ? length : semicolon + 1);
+                lastSignificant = ';';
+                return;
+            }
+
+            JavaFeature feature = classify(word, previousWord, annotation, lastSignificant == '.');
+            if (feature != null) {
+                out.record(feature, file, line, src, lineStart);
+            }
+            previousWord = annotation ? null : word;
+            lastSignificant = 'a';
+            pos = end;
+        }
+
+        private int quotedEnd(char quote) {
+            int i = pos + 1;
+            while (i < length) {
+                char c = src.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                } else if (c == quote) {
+                    return i + 1;
+                } else if (c == '\n') {
+                    // Unterminated literal: resume at the line break
+                    return i;
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        private int textBlockEnd() {
+            int i = pos + 3;
+            while (i < length) {
+                if (src.charAt(i) == '\\') {
+                    i += 2;
+                } else if (src.startsWith("\"\"\"", i)) {
+                    return i + 3;
+                } else {
+                    i++;
+                }
+            }
+            return length;
+        }
+
+        /**
+         * Advance to {@code end}, counting the line breaks skipped over
+         */
+        private void skipTo(int end) {
+            int limit = Math.min(end, length);
+            for (int i = pos; i < limit; i++) {
+                if (src.charAt(i) == '\n') {
+                    newLine(i);
+                }
+            }
+            pos = limit;
+        }
+
+        private void newLine(int index) {
+            line++;
+            lineStart = index + 1;
+        }
+    }
+
+    /**
+     * Per-scan accumulator: occurrence counts plus the first few locations of each feature
+     */
+    private static final class Collector {
+        private final Map<JavaFeature, int[]> counts = new EnumMap<>(JavaFeature.class);
+        private final Map<JavaFeature, List<FeatureReport.Evidence>> evidence = new EnumMap<>(JavaFeature.class);
+
+        void record(JavaFeature feature, String file, int line, String src, int lineStart) {
+            counts.computeIfAbsent(feature, f -> new int[1])[0]++;
+            List<FeatureReport.Evidence> locations = evidence.computeIfAbsent(feature, f -> new ArrayList<>());
+            if (locations.size() < MAX_EVIDENCE_PER_FEATURE) {
+                locations.add(new FeatureReport.Evidence(file, line, snippet(src, lineStart)));
+            }
+        }
+
+        FeatureReport toReport(long chars, long nanos) {
+            Map<JavaFeature, FeatureReport.FeatureEvidence> features = new EnumMap<>(JavaFeature.class);
+            counts.forEach((feature, count) -> features.put(feature,
+                    new FeatureReport.FeatureEvidence(feature, count[0], List.copyOf(evidence.get(feature)))));
+            return new FeatureReport(features, chars, nanos);
+        }
+
+        private static String snippet(String src, int lineStart) {
+            int end = src.indexOf('\n', lineStart);
+            String line = src.substring(lineStart, end < 0 ? src.length() : end).trim();
+            return line.length() > MAX_SNIPPET_LENGTH ? line.substring(0, MAX_SNIPPET_LENGTH) : line;
+        }
+    }
+}
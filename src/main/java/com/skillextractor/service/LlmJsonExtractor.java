@@ -0,0 +1,291 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Tolerant reader for the JSON the LLM returns: {"<field>": [item, ...]}.
+ * Finds the payload inside markdown fences or prose, closes a truncated completion, streams the
+ * items with a lenient parser and lets the caller validate or repair each item, keeping the good
+ * ones. Only when nothing usable is left is the LLM asked to correct its output.
+ * Metrics: llm.json.parse{kind, outcome=clean|repaired|corrected|failed} and
+ * llm.json.retries.avoided{kind} (responses a strict parse would have rejected).
+ */
+@Service
+@Slf4j
+public class LlmJsonExtractor {
+
+    private final ObjectReader strictReader;
+    private final ObjectReader lenientReader;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Validates one item; returns null to drop it and calls {@link Repairs#note()} for every fix applied
+     */
+    @FunctionalInterface
+    public interface ItemReader<T> {
+        T read(JsonNode item, Repairs repairs);
+    }
+
+    public static final class Repairs {
+        private int count;
+
+        public void note() {
+            count++;
+        }
+    }
+
+    /**
+     * @param json the response the items were read from (the corrected one when {@code corrected})
+     */
+    public record Extraction<T>(List<T> items, String json, boolean corrected) {
+    }
+
+    public LlmJsonExtractor(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.strictReader = objectMapper.reader();
+        this.lenientReader = objectMapper.reader()
+                .withFeatures(JsonReadFeature.ALLOW_TRAILING_COMMA,
+                        JsonReadFeature.ALLOW_SINGLE_QUOTES,
+                        JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES,
+                        JsonReadFeature.ALLOW_JAVA_COMMENTS,
+                        JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Extract the items of {@code field}.
+     *
+     * @param kind       metric tag and error message noun, e.g. "skills"
+     * @param correction asks the LLM to fix an unusable response; null to fail instead
+     */
+    public <T> Extraction<T> extract(String kind, String raw, String field, ItemReader<T> reader,
+                                     UnaryOperator<String> correction) {
+        Attempt<T> attempt = parse(raw, field, reader);
+        if (attempt.usable()) {
+            meterRegistry.counter("llm.json.parse", "kind", kind, "outcome", attempt.repaired ? "repaired" : "clean")
+                    .increment();
+            if (attempt.repaired) {
+                meterRegistry.counter("llm.json.retries.avoided", "kind", kind).increment();
+                log.info("Repaired LLM {} response locally: {} items kept, {} dropped",
+                        kind, attempt.items.size(), attempt.dropped);
+            }
+            return new Extraction<>(attempt.items, raw, false);
+        }
+
+        if (correction != null) {
+            log.warn("Unusable LLM {} response ({}), asking for a correction", kind, attempt.problem);
+            String corrected = correction.apply(raw);
+            Attempt<T> retry = parse(corrected, field, reader);
+            if (retry.usable()) {
+                meterRegistry.counter("llm.json.parse", "kind", kind, "outcome", "corrected").increment();
+                return new Extraction<>(retry.items, corrected, true);
+            }
+            attempt = retry;
+        }
+
+        meterRegistry.counter("llm.json.parse", "kind", kind, "outcome", "failed").increment();
+        log.error("Could not extract {} from LLM response: {}", kind, attempt.problem);
+        throw new RuntimeException("Failed to parse " + kind + " from AI response");
+    }
+
+    /**
+     * Parse the first bracket run that yields usable items. Runs that don't, such as "see [1]" in prose
+     * before the payload, are skipped; when none does, the failure of the most promising run is reported.
+     */
+    private <T> Attempt<T> parse(String raw, String field, ItemReader<T> reader) {
+        Attempt<T> failed = null;
+        if (raw != null && !raw.isBlank()) {
+            for (Located located = locate(raw, 0); located != null; located = locate(raw, located.end())) {
+                Attempt<T> attempt = parse(raw, located, field, reader);
+                if (attempt.usable()) {
+                    return attempt;
+                }
+                if (failed == null || attempt.arrayFound && !failed.arrayFound) {
+                    failed = attempt;
+                }
+            }
+        }
+        if (failed == null) {
+            failed = new Attempt<>();
+            failed.problem = raw == null || raw.isBlank() ? "empty response" : "no JSON object found";
+        }
+        return failed;
+    }
+
+    private <T> Attempt<T> parse(String raw, Located located, String field, ItemReader<T> reader) {
+        Attempt<T> attempt = new Attempt<>();
+        String payload = located.json();
+        attempt.repaired = !payload.equals(raw.strip());
+
+        try (JsonParser parser = lenientReader.createParser(payload)) {
+            if (!seekArray(parser, field)) {
+                attempt.problem = "no \"" + field + "\" array";
+                return attempt;
+            }
+            attempt.arrayFound = true;
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = lenientReader.readTree(parser);
+                Repairs repairs = new Repairs();
+                T item = node != null && node.isObject() ? readItem(reader, node, repairs) : null;
+                if (item == null) {
+                    attempt.dropped++;
+                    attempt.repaired = true;
+                } else {
+                    attempt.items.add(item);
+                    attempt.repaired |= repairs.count > 0;
+                }
+            }
+        } catch (IOException e) {
+            // Keep what was read before the syntax error
+            attempt.repaired = true;
+            attempt.truncated = true;
+            attempt.problem = e.getMessage();
+        }
+
+        // Closing a completion cut inside an item can still yield valid JSON with a clipped value
+        if (located.cutInsideItem() && !attempt.truncated && !attempt.items.isEmpty()) {
+            attempt.items.remove(attempt.items.size() - 1);
+            attempt.dropped++;
+        }
+
+        if (!attempt.repaired && !isStrictJson(payload)) {
+            attempt.repaired = true;
+        }
+        return attempt;
+    }
+
+    private static <T> T readItem(ItemReader<T> reader, JsonNode node, Repairs repairs) {
+        try {
+            return reader.read(node, repairs);
+        } catch (RuntimeException e) {
+            log.debug("Dropping invalid LLM item {}: {}", node, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Position the parser on the START_ARRAY of {@code field} in the top-level object,
+     * or on a top-level array when the model returned the items alone
+     */
+    private static boolean seekArray(JsonParser parser, String field) throws IOException {
+        JsonToken first = parser.nextToken();
+        if (first == JsonToken.START_ARRAY) {
+            return true;
+        }
+        if (first != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean isStrictJson(String payload) {
+        try {
+            strictReader.readTree(payload);
+            return true;
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The first balanced JSON object or array in the text at or after {@code from}, skipping fences and
+     * surrounding prose. A truncated payload (completion cut off at max_tokens) is closed: an open string
+     * is terminated and open arrays/objects are closed in order, so the complete items before the cut survive.
+     */
+    static Located locate(String raw, int from) {
+        int start = -1;
+        for (int i = from; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '{' || c == '[') {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            return null;
+        }
+
+        Deque<Character> open = new ArrayDeque<>();
+        boolean inString = false;
+        for (int i = start; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                open.push('}');
+            } else if (c == '[') {
+                open.push(']');
+            } else if ((c == '}' || c == ']') && !open.isEmpty()) {
+                open.pop();
+                if (open.isEmpty()) {
+                    return new Located(raw.substring(start, i + 1), false, i + 1);
+                }
+            }
+        }
+
+        // Deeper than the items array (root object + array, or a bare array) means an item was cut
+        boolean cutInsideItem = open.size() > (raw.charAt(start) == '{' ? 2 : 1);
+        StringBuilder closed = new StringBuilder(raw.length() - start + open.size() + 1)
+                .append(raw, start, raw.length());
+        if (inString) {
+            closed.append('"');
+        }
+        while (!open.isEmpty()) {
+            closed.append(open.pop());
+        }
+        return new Located(closed.toString(), cutInsideItem, raw.length());
+    }
+
+    /**
+     * @param end index in the raw text right after the run
+     */
+    record Located(String json, boolean cutInsideItem, int end) {
+    }
+
+    private static final class Attempt<T> {
+        private final List<T> items = new ArrayList<>();
+        private boolean arrayFound;
+        private boolean repaired;
+        private boolean truncated;
+        private int dropped;
+        private String problem;
+
+        /**
+         * An empty array is a valid answer; an array whose every item was invalid or unreadable is not
+         */
+        boolean usable() {
+            return arrayFound && (!items.isEmpty() || (dropped == 0 && !truncated));
+        }
+    }
+}
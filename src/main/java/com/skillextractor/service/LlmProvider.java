@@ -0,0 +1,58 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.SkillCategory;
+
+import java.util.List;
+
+/**
+ * Backend that produces skill analyses and quizzes. Selected with the llm.provider property:
+ * "openai" (default) or "local" for offline load testing.
+ * Both methods return raw JSON in the formats requested by the OpenAI prompts.
+ */
+public interface LlmProvider {
+
+    /**
+     * Identifies the provider and every setting that changes its output - part of persistent cache keys
+     */
+    String cacheDiscriminator();
+
+    /**
+     * Same for quizzes: part of the skill fingerprint that keys cached quizzes, quiz pools and item banks.
+     * Kept apart from {@link #cacheDiscriminator()} so a new analysis prompt does not orphan calibrated quizzes.
+     */
+    default String quizCacheDiscriminator() {
+        return cacheDiscriminator();
+    }
+
+    /**
+     * @param files    the (compacted) files to analyze, in prompt order
+     * @param features static pre-scan of the same files, used to focus the analysis
+     * @return {"skills": [{"name", "category", "description", "exampleUsage", "isGeneral"}, ...]}
+     */
+    String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features);
+
+    /**
+     * @return {"questions": [{"number", "text", "options": ["A) ...", ...], "correctAnswer"}, ...]}
+     */
+    String generateQuiz(String skillName, SkillCategory category, String exampleUsage);
+
+    /**
+     * One completion for several quizzes
+     *
+     * @return {"quizzes": [{"skill": 1-based index into skills, "questions": [...as generateQuiz...]}, ...]}
+     */
+    String generateQuizzes(List<QuizSpec> skills);
+
+    /**
+     * Last-resort repair of an unusable completion
+     *
+     * @param invalidOutput  the completion that could not be parsed
+     * @param expectedFormat the JSON shape and constraints the output must follow
+     * @return the output rewritten as JSON in the expected format
+     */
+    String correctJson(String invalidOutput, String expectedFormat);
+
+    record QuizSpec(String skillName, SkillCategory category, String exampleUsage) {
+    }
+}
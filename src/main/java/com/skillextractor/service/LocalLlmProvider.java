@@ -0,0 +1,156 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.SkillCategory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Offline provider for load testing and benchmarks (llm.provider=local).
+ * Derives skills from the static feature pre-scan and builds quizzes from the skill name, so the
+ * output is schema-valid and deterministic for a given input. Artificial latency (llm.local.latency-ms
+ * plus up to llm.local.jitter-ms) and random failures (llm.local.error-rate, 0..1) simulate a real backend.
+ */
+@Service
+@ConditionalOnProperty(name = "llm.provider", havingValue = "local")
+@Slf4j
+public class LocalLlmProvider implements LlmProvider {
+
+    private final ObjectMapper objectMapper;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+
+    public LocalLlmProvider(ObjectMapper objectMapper,
+                            @Value("${llm.local.latency-ms:0}") long latencyMs,
+                            @Value("${llm.local.jitter-ms:0}") long jitterMs,
+                            @Value("${llm.local.error-rate:0}") double errorRate) {
+        this.objectMapper = objectMapper;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        log.warn("Using local LLM provider (latency {} ms + up to {} ms jitter, error rate {})",
+                latencyMs, jitterMs, errorRate);
+    }
+
+    @Override
+    public String cacheDiscriminator() {
+        return "local|2";
+    }
+
+    @Override
+    public String quizCacheDiscriminator() {
+        return "local|quiz1";
+    }
+
+    @Override
+    public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+        simulateCall();
+        return features.toSkillsJson(objectMapper);
+    }
+
+    /**
+     * Local output is generated by Jackson and always well-formed, so there is nothing to correct
+     */
+    @Override
+    public String correctJson(String invalidOutput, String expectedFormat) {
+        simulateCall();
+        return invalidOutput;
+    }
+
+    @Override
+    public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+        simulateCall();
+        return write(buildQuiz(skillName, category, exampleUsage));
+    }
+
+    /**
+     * One simulated round trip for the whole batch, like a single combined completion
+     */
+    @Override
+    public String generateQuizzes(List<QuizSpec> skills) {
+        simulateCall();
+
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode quizzes = root.putArray("quizzes");
+        for (int i = 0; i < skills.size(); i++) {
+            QuizSpec skill = skills.get(i);
+            ObjectNode quiz = quizzes.addObject();
+            quiz.put("skill", i + 1);
+            quiz.set("questions", buildQuiz(skill.skillName(), skill.category(), skill.exampleUsage()).get("questions"));
+        }
+        return write(root);
+    }
+
+    private ObjectNode buildQuiz(String skillName, SkillCategory category, String exampleUsage) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode questions = root.putArray("questions");
+        String[] distractors = {
+                "It is unrelated to " + category.getDisplayName(),
+                "It only works in Java 1.4 and earlier",
+                "It always causes a compilation error"
+        };
+
+        for (int number = 1; number <= 4; number++) {
+            // Correct option position depends only on the input so repeated runs grade identically
+            int correct = Math.floorMod((skillName + number).hashCode(), 4);
+            ObjectNode question = questions.addObject();
+            question.put("number", number);
+            question.put("text", questionText(number, skillName, category, exampleUsage));
+
+            ArrayNode options = question.putArray("options");
+            for (int option = 0, distractor = 0; option < 4; option++) {
+                String text = option == correct
+                        ? "It applies " + skillName + " as intended"
+                        : distractors[distractor++];
+                options.add((char) ('A' + option) + ") " + text);
+            }
+            question.put("correctAnswer", String.valueOf((char) ('A' + correct)));
+        }
+        return root;
+    }
+
+    private String questionText(int number, String skillName, SkillCategory category, String exampleUsage) {
+        return switch (number) {
+            case 1 -> "What best describes " + skillName + "?";
+            case 2 -> exampleUsage == null || exampleUsage.isBlank()
+                    ? "When would you use " + skillName + " in a project?"
+                    : "What does this code demonstrate?\n```java\n" + exampleUsage + "\n```";
+            case 3 -> "Which statement about " + skillName + " in " + category.getDisplayName() + " is true?";
+            default -> "Which is a correct edge-case consideration for " + skillName + "?";
+        };
+    }
+
+    private String write(ObjectNode root) {
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize local LLM response", e);
+        }
+    }
+
+    private void simulateCall() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted during simulated LLM call", e);
+            }
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw new RuntimeException("Simulated LLM failure (llm.local.error-rate=" + errorRate + ")");
+        }
+    }
+}
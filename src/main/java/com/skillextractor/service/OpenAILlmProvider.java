@@ -0,0 +1,385 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.util.SegmentedText;
+import com.skillextractor.util.TokenEstimator;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * OpenAI chat completions provider (default, llm.provider=openai)
+ */
+@Service
+@ConditionalOnProperty(name = "llm.provider", havingValue = "openai", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OpenAILlmProvider implements LlmProvider {
+
+    /**
+     * Bump whenever the skill analysis prompt changes so persisted cache entries are not reused
+     */
+    static final String ANALYSIS_PROMPT_VERSION = "3";
+
+    /**
+     * Bump whenever the quiz prompts change: cached quizzes, quiz pools and item banks start over
+     */
+    static final String QUIZ_PROMPT_VERSION = "1";
+
+    private static final int BATCH_TOKENS_PER_QUIZ = 1000;
+
+    /**
+     * Analysis prompt with %s placeholders for: file names, static scan evidence, project code, categories.
+     * Split once into literal segments, the variable parts are streamed in between.
+     */
+    private static final String ANALYSIS_TEMPLATE = """
+            Analyze the following Java project and extract specific programming skills used.
+            
+            FILES ANALYZED: %s
+            %s
+            %s
+            
+            TASK:
+            1. Identify distinct programming skills demonstrated in this code
+            2. Classify each skill into ONE of these categories:
+            %s
+            
+            3. For each skill, provide:
+               - Skill name (concise, e.g., "Stream API filtering", "JPA Entity Mapping")
+               - Category (from the list above)
+               - Description (ONE sentence maximum)
+               - Example from code (short snippet showing usage)
+            
+            IMPORTANT:
+            - Only use the predefined categories above
+            - Focus on skills actually demonstrated in the code
+            - Avoid generic skills like "Java syntax" - be specific
+            - Create ONE general skill per category used (e.g., "OOP - General Knowledge")
+            
+            OUTPUT FORMAT (JSON):
+            {
+              "skills": [
+                {
+                  "name": "Stream API with map and filter",
+                  "category": "STREAMS_LAMBDAS",
+                  "description": "Uses Stream API for data transformation and filtering.",
+                  "exampleUsage": "list.stream().filter(x -> x > 0).map(x -> x * 2).collect(Collectors.toList())",
+                  "isGeneral": false
+                },
+                ...
+              ]
+            }
+            """;
+
+    private static final String CORRECTION_TEMPLATE = """
+            Rewrite the output below as valid JSON in this format. Keep all information that fits the \
+            format, drop anything that does not, and do not invent new items.
+
+            FORMAT:
+            %s
+
+            OUTPUT:
+            %s
+            """;
+
+    private static final String QUIZ_SYSTEM_MESSAGE =
+            "You are a Java programming instructor creating quiz questions to assess skill proficiency.";
+
+    private static final String QUIZ_REQUIREMENTS = """
+            Generate 4 multiple-choice questions that test:
+            1. Basic understanding (1 question)
+            2. Practical application (2 questions)
+            3. Advanced/edge cases (1 question)
+
+            REQUIREMENTS:
+            - 4 answer options (A, B, C, D) per question
+            - Only ONE correct answer per question
+            - Questions should be specific and practical
+            - Avoid trivial or overly theoretical questions
+            - When including code snippets in questions, wrap them in markdown code blocks using triple backticks
+            - Use ```java for Java code blocks
+            - Example: "What does this code do?\\n```java\\nSystem.out.println(\\"Hello\\");\\n```"
+
+            """;
+
+    private static final String QUIZ_OUTPUT_FORMAT = """
+            OUTPUT FORMAT (JSON):
+            {
+              "questions": [
+                {
+                  "number": 1,
+                  "text": "What is the primary purpose of Stream API?",
+                  "options": [
+                    "A) To handle file I/O operations",
+                    "B) To process collections functionally",
+                    "C) To manage threads",
+                    "D) To connect to databases"
+                  ],
+                  "correctAnswer": "B"
+                },
+                {
+                  "number": 2,
+                  "text": "What will this code output?\\n```java\\nList<String> names = Arrays.asList(\\"Alice\\", \\"Bob\\");\\nnames.stream().map(String::toUpperCase).forEach(System.out::println);\\n```",
+                  "options": [
+                    "A) alice bob",
+                    "B) ALICE BOB",
+                    "C) AliceBob",
+                    "D) Compilation error"
+                  ],
+                  "correctAnswer": "B"
+                }
+              ]
+            }
+
+            IMPORTANT: Return ONLY valid JSON. Do not include any text before or after the JSON.
+            """;
+
+    private static final String QUIZ_BATCH_OUTPUT_FORMAT = """
+            OUTPUT FORMAT (JSON), one entry per skill, "skill" is the skill number above:
+            {
+              "quizzes": [
+                {
+                  "skill": 1,
+                  "questions": [
+                    {
+                      "number": 1,
+                      "text": "What is the primary purpose of Stream API?",
+                      "options": [
+                        "A) To handle file I/O operations",
+                        "B) To process collections functionally",
+                        "C) To manage threads",
+                        "D) To connect to databases"
+                      ],
+                      "correctAnswer": "B"
+                    }
+                  ]
+                }
+              ]
+            }
+
+            IMPORTANT: Return ONLY valid JSON. Do not include any text before or after the JSON.
+            """;
+
+    private static final String[] ANALYSIS_SEGMENTS = ANALYSIS_TEMPLATE.split("%s", -1);
+    private static final String ALL_CATEGORIES = SkillCategory.getAllCategoriesForPrompt();
+    private static final String ANALYSIS_SYSTEM_MESSAGE =
+            "You are a Java programming expert analyzing code to extract specific skills.";
+
+    private final OpenAiService openAiService;
+    private final OpenAIStreamingClient streamingClient;
+    private final OpenAIRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.model:gpt-4-mini}")
+    private String model;
+
+    @Value("${openai.temperature:0.7}")
+    private double temperature;
+
+    @Value("${openai.max.tokens:2000}")
+    private int maxTokens;
+
+    /**
+     * Send only the pre-scan evidence snippets instead of the full source - far fewer prompt tokens, less detail
+     */
+    @Value("${analysis.features.evidence-only:false}")
+    private boolean evidenceOnly;
+
+    @Value("${quiz.batch.max-tokens:4000}")
+    private int batchMaxTokens;
+
+    @Override
+    public String cacheDiscriminator() {
+        return "openai|" + model + "|" + temperature + "|" + maxTokens + "|" + ANALYSIS_PROMPT_VERSION
+                + (evidenceOnly ? "|evidence" : "");
+    }
+
+    @Override
+    public String quizCacheDiscriminator() {
+        return "openai|" + model + "|" + temperature + "|" + maxTokens + "|quiz" + QUIZ_PROMPT_VERSION;
+    }
+
+    @Override
+    public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+        SegmentedText prompt = buildSkillAnalysisPrompt(files, features);
+
+        // Streamed straight into the request body: the source is read once, never copied into a prompt String
+        int estimatedTokens = TokenEstimator.estimate(ANALYSIS_SYSTEM_MESSAGE) + prompt.estimateTokens() + maxTokens;
+        return rateLimiter.execute(estimatedTokens, () -> streamingClient.complete(
+                model, temperature, maxTokens, ANALYSIS_SYSTEM_MESSAGE, prompt));
+    }
+
+    @Override
+    public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+        String prompt = buildQuizPrompt(skillName, category, exampleUsage);
+
+        ChatMessage systemMessage = new ChatMessage("system", QUIZ_SYSTEM_MESSAGE);
+        ChatMessage userMessage = new ChatMessage("user", prompt);
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(systemMessage, userMessage))
+                .temperature(0.8) // Higher temperature for varied questions
+                .maxTokens(1500)
+                .build();
+
+        ChatCompletionResult result = completion(request);
+        recordQuizTokens("single", result, 1);
+        return content(result);
+    }
+
+    @Override
+    public String generateQuizzes(List<QuizSpec> skills) {
+        ChatMessage systemMessage = new ChatMessage("system", QUIZ_SYSTEM_MESSAGE);
+        ChatMessage userMessage = new ChatMessage("user", buildQuizBatchPrompt(skills));
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(systemMessage, userMessage))
+                .temperature(0.8)
+                .maxTokens(Math.min(BATCH_TOKENS_PER_QUIZ * skills.size(), batchMaxTokens))
+                .build();
+
+        ChatCompletionResult result = completion(request);
+        recordQuizTokens("batch", result, skills.size());
+        return content(result);
+    }
+
+    /**
+     * Actual prompt + completion tokens per generated quiz, to compare batch and single mode
+     */
+    private void recordQuizTokens(String mode, ChatCompletionResult result, int quizzes) {
+        if (result.getUsage() == null) {
+            return;
+        }
+        DistributionSummary.builder("quiz.generation.tokens")
+                .description("Prompt plus completion tokens per generated quiz")
+                .baseUnit("tokens")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record((double) result.getUsage().getTotalTokens() / quizzes);
+    }
+
+    @Override
+    public String correctJson(String invalidOutput, String expectedFormat) {
+        ChatMessage systemMessage = new ChatMessage("system",
+                "You repair malformed JSON. Respond with valid JSON only, no markdown and no explanations.");
+        ChatMessage userMessage = new ChatMessage("user", String.format(CORRECTION_TEMPLATE, expectedFormat, invalidOutput));
+
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(systemMessage, userMessage))
+                .temperature(0.0)
+                .maxTokens(maxTokens)
+                .build();
+
+        return complete(request);
+    }
+
+    /**
+     * Every completion goes through the rate limiter, budgeted by estimated prompt tokens plus the completion limit
+     */
+    private String complete(ChatCompletionRequest request) {
+        return content(completion(request));
+    }
+
+    private ChatCompletionResult completion(ChatCompletionRequest request) {
+        int promptTokens = request.getMessages().stream()
+                .mapToInt(message -> TokenEstimator.estimate(message.getContent()))
+                .sum();
+        return rateLimiter.execute(promptTokens + request.getMaxTokens(), () ->
+                openAiService.createChatCompletion(request));
+    }
+
+    private static String content(ChatCompletionResult result) {
+        return result.getChoices().get(0).getMessage().getContent();
+    }
+
+    private SegmentedText buildSkillAnalysisPrompt(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+        boolean scanned = features != null && !features.isEmpty();
+        boolean sendEvidenceOnly = evidenceOnly && scanned;
+
+        SegmentedText prompt = new SegmentedText()
+                .append(ANALYSIS_SEGMENTS[0])
+                .append(String.join(", ", files.stream().map(ProjectUploadRequest.FileData::getFilename).toList()))
+                .append(ANALYSIS_SEGMENTS[1])
+                .append(scanned ? "\nFEATURES FOUND BY STATIC SCAN (file:line):\n" + formatEvidence(features) : "")
+                .append(ANALYSIS_SEGMENTS[2]);
+        if (!sendEvidenceOnly) {
+            prompt.append("PROJECT CODE:\n");
+            for (ProjectUploadRequest.FileData file : files) {
+                prompt.append("// ========== ").append(file.getFilename()).append(" ==========\n")
+                        .append(file.getContent())
+                        .append("\n\n");
+            }
+        }
+        return prompt
+                .append(ANALYSIS_SEGMENTS[3])
+                .append(scanned ? SkillCategory.getCategoriesForPrompt(features.getCategories()) : ALL_CATEGORIES)
+                .append(ANALYSIS_SEGMENTS[4]);
+    }
+
+    private static String formatEvidence(FeatureReport features) {
+        StringBuilder sb = new StringBuilder();
+        features.byCategory().forEach((category, categoryFeatures) -> {
+            sb.append(category.name()).append(":\n");
+            for (FeatureReport.FeatureEvidence feature : categoryFeatures) {
+                sb.append("  - ").append(feature.feature().getDisplayName())
+                        .append(" (").append(feature.occurrences()).append("x)\n");
+                for (FeatureReport.Evidence evidence : feature.evidence()) {
+                    sb.append("    ").append(evidence.file()).append(':').append(evidence.line())
+                            .append("  ").append(evidence.snippet()).append('\n');
+                }
+            }
+        });
+        return sb.toString();
+    }
+
+    private String buildQuizPrompt(String skillName, SkillCategory category, String exampleUsage) {
+        return String.format("""
+        Create a quiz to assess knowledge of the following Java programming skill:
+        
+        SKILL: %s
+        CATEGORY: %s (%s)
+        EXAMPLE USAGE:
+        %s
+        
+        """,
+                skillName,
+                category.getDisplayName(),
+                category.getDescription(),
+                exampleUsage
+        ) + QUIZ_REQUIREMENTS + QUIZ_OUTPUT_FORMAT;
+    }
+
+    /**
+     * One prompt for several skills: the requirements block is sent once instead of once per skill
+     */
+    private String buildQuizBatchPrompt(List<QuizSpec> skills) {
+        StringBuilder prompt = new StringBuilder()
+                .append("Create a separate quiz for each of the following ").append(skills.size())
+                .append(" Java programming skills:\n\n");
+        for (int i = 0; i < skills.size(); i++) {
+            QuizSpec skill = skills.get(i);
+            prompt.append("SKILL ").append(i + 1).append(": ").append(skill.skillName()).append('\n')
+                    .append("CATEGORY: ").append(skill.category().getDisplayName())
+                    .append(" (").append(skill.category().getDescription()).append(")\n")
+                    .append("EXAMPLE USAGE:\n").append(skill.exampleUsage()).append("\n\n");
+        }
+        return prompt.append("For EACH skill:\n")
+                .append(QUIZ_REQUIREMENTS)
+                .append(QUIZ_BATCH_OUTPUT_FORMAT)
+                .toString();
+    }
+}
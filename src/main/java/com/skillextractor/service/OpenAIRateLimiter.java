@@ -0,0 +1,221 @@
+package com.skillextractor.service;
+
+import com.skillextractor.exception.OpenAIRateLimitException;
+import com.theokanning.openai.OpenAiHttpException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import retrofit2.HttpException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Client-side governor in front of every OpenAI completion.
+ * Enforces requests-per-minute and tokens-per-minute token buckets, queues excess callers in
+ * FIFO order (fair lock) for at most openai.rate.max-wait-ms, and retries 429 responses with
+ * jittered exponential backoff that honors Retry-After.
+ */
+@Service
+@Slf4j
+public class OpenAIRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final ReentrantLock queue = new ReentrantLock(true);
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final long maxWaitNanos;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    // Set from a provider Retry-After so queued callers back off too
+    private volatile long pausedUntilNanos = System.nanoTime();
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final Counter retries;
+
+    public OpenAIRateLimiter(@Value("${openai.rate.requests-per-minute:60}") int requestsPerMinute,
+                             @Value("${openai.rate.tokens-per-minute:40000}") int tokensPerMinute,
+                             @Value("${openai.rate.max-wait-ms:30000}") long maxWaitMillis,
+                             @Value("${openai.retry.max-attempts:4}") int maxAttempts,
+                             @Value("${openai.retry.base-delay-ms:1000}") long baseDelayMillis,
+                             @Value("${openai.retry.max-delay-ms:30000}") long maxDelayMillis,
+                             MeterRegistry meterRegistry) {
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = new TokenBucket(tokensPerMinute);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+
+        Gauge.builder("openai.ratelimit.queue.depth", waiting, AtomicInteger::get)
+                .description("Callers waiting for OpenAI rate budget")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("openai.ratelimit.wait")
+                .description("Time spent waiting for OpenAI rate budget")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("openai.ratelimit.rejected")
+                .description("Calls rejected after exceeding the maximum queue wait")
+                .register(meterRegistry);
+        this.retries = Counter.builder("openai.ratelimit.retries")
+                .description("Completions retried after HTTP 429")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a completion call within the rate budget.
+     *
+     * @param estimatedTokens prompt tokens plus the completion token limit
+     */
+    public <T> T execute(int estimatedTokens, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            acquire(estimatedTokens);
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (!isRateLimited(e)) {
+                    throw e;
+                }
+
+                long retryAfterMillis = retryAfterMillis(e);
+                if (attempt >= maxAttempts) {
+                    log.warn("OpenAI still rate limited after {} attempts", attempt);
+                    throw new OpenAIRateLimitException("provider returned 429 after " + attempt + " attempts",
+                            Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis)));
+                }
+
+                long delayMillis = Math.max(retryAfterMillis, backoffMillis(attempt));
+                log.info("OpenAI returned 429, retrying in {} ms (attempt {}/{})", delayMillis, attempt, maxAttempts);
+                retries.increment();
+                pausedUntilNanos = Math.max(pausedUntilNanos,
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+                sleep(delayMillis);
+            }
+        }
+    }
+
+    private void acquire(int estimatedTokens) {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        int cost = Math.min(Math.max(estimatedTokens, 1), tokenBucket.capacity);
+
+        waiting.incrementAndGet();
+        try {
+            if (!queue.tryLock(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject(maxWaitNanos);
+            }
+            try {
+                // Head of the queue: wait here until both buckets can pay, later callers queue on the fair lock
+                while (true) {
+                    long now = System.nanoTime();
+                    long waitNanos = Math.max(pausedUntilNanos - now,
+                            Math.max(requestBucket.nanosUntil(1, now), tokenBucket.nanosUntil(cost, now)));
+                    if (waitNanos <= 0) {
+                        requestBucket.take(1);
+                        tokenBucket.take(cost);
+                        return;
+                    }
+                    if (now + waitNanos > deadline) {
+                        throw reject(waitNanos);
+                    }
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            } finally {
+                queue.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAIRateLimitException("interrupted while waiting for rate budget", 1);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private OpenAIRateLimitException reject(long waitNanos) {
+        rejected.increment();
+        return new OpenAIRateLimitException("request budget exhausted",
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)));
+    }
+
+    private long backoffMillis(int attempt) {
+        long exponential = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        // Equal jitter: half fixed, half random, so retries from many callers spread out
+        return exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+    }
+
+    private static boolean isRateLimited(RuntimeException e) {
+        if (e instanceof OpenAiHttpException httpException) {
+            return httpException.statusCode == 429;
+        }
+        return e instanceof HttpException httpException && httpException.code() == 429;
+    }
+
+    private static long retryAfterMillis(RuntimeException e) {
+        HttpException httpException = e instanceof HttpException direct ? direct
+                : e.getCause() instanceof HttpException cause ? cause : null;
+        if (httpException == null || httpException.response() == null) {
+            return 0;
+        }
+        try {
+            String millis = httpException.response().headers().get("retry-after-ms");
+            if (millis != null) {
+                return Long.parseLong(millis.trim());
+            }
+            String seconds = httpException.response().headers().get("Retry-After");
+            if (seconds != null) {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(seconds.trim()));
+            }
+        } catch (NumberFormatException ignored) {
+            // HTTP-date form of Retry-After - fall back to our own backoff
+        }
+        return 0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAIRateLimitException("interrupted during backoff", 1);
+        }
+    }
+
+    /**
+     * Continuously refilling bucket holding at most one minute of budget. Guarded by the queue lock.
+     */
+    private static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double available;
+        private long lastRefillNanos = System.nanoTime();
+
+        TokenBucket(int perMinute) {
+            this.capacity = Math.max(perMinute, 1);
+            this.refillPerNano = (double) capacity / NANOS_PER_MINUTE;
+            this.available = capacity;
+        }
+
+        long nanosUntil(int amount, long now) {
+            available = Math.min(capacity, available + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            return available >= amount ? 0 : (long) Math.ceil((amount - available) / refillPerNano);
+        }
+
+        void take(int amount) {
+            available -= amount;
+        }
+    }
+}
@@ -1,184 +1,141 @@
 package com.skillextractor.service;
 
+import com.skillextractor.dto.ProjectUploadRequest;
 import com.skillextractor.enums.SkillCategory;
-import com.theokanning.openai.completion.chat.ChatCompletionRequest;
-import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
+import com.skillextractor.util.ContentDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
+/**
+ * Entry point for all LLM work: caching and request coalescing in front of the configured {@link LlmProvider}
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OpenAIService {
 
-    private final OpenAiService openAiService;
+    private final LlmProvider llmProvider;
+    private final CacheManager cacheManager;
 
-    @Value("${openai.model:gpt-4-mini}")
-    private String model;
-
-    @Value("${openai.temperature:0.7}")
-    private double temperature;
-
-    @Value("${openai.max.tokens:2000}")
-    private int maxTokens;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     /**
-     * Analyze project code and extract skills
+     * Analyze project code and extract skills.
+     * sync = true: concurrent identical requests share one in-flight completion (see CoalescingCache).
+     * The feature report is derived from the files themselves, so it is not part of the key.
      */
-    @Cacheable(value = "projectAnalysis", key = "#projectCode.hashCode()")
-    public String analyzeProjectForSkills(String projectCode, List<String> fileNames) {
-        log.info("Analyzing project with {} files", fileNames.size());
+    @Cacheable(value = "projectAnalysis", key = "#root.target.analysisCacheKey(#files)", sync = true)
+    public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+        log.info("Analyzing project with {} files", files.size());
+        return llmProvider.analyzeProjectForSkills(files, features);
+    }
 
-        String prompt = buildSkillAnalysisPrompt(projectCode, fileNames);
+    /**
+     * Content-addressed cache key for a project analysis: SHA-256 over the sorted file names,
+     * each file (name and source with normalized line endings) in prompt order and every provider
+     * setting that influences the result. Digested file by file, the files are never concatenated.
+     */
+    public String analysisCacheKey(List<ProjectUploadRequest.FileData> files) {
+        ContentDigest digest = ContentDigest.sha256()
+                .update(llmProvider.cacheDiscriminator());
+        files.stream().map(ProjectUploadRequest.FileData::getFilename).sorted().forEach(digest::update);
+        for (ProjectUploadRequest.FileData file : files) {
+            digest.update(file.getFilename()).updateNormalized(file.getContent());
+        }
+        return digest.hex();
+    }
 
-        ChatMessage systemMessage = new ChatMessage("system",
-                "You are a Java programming expert analyzing code to extract specific skills.");
-        ChatMessage userMessage = new ChatMessage("user", prompt);
+    /**
+     * Ask the provider to fix an unusable analysis response. Not cached here: the caller stores the
+     * correction with {@link #cacheAnalysis} once it has parsed, or evicts the bad entry.
+     */
+    public String correctAnalysis(String invalidOutput, String expectedFormat) {
+        log.info("Requesting a corrected analysis response");
+        return llmProvider.correctJson(invalidOutput, expectedFormat);
+    }
 
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(systemMessage, userMessage))
-                .temperature(temperature)
-                .maxTokens(maxTokens)
-                .build();
+    public void cacheAnalysis(List<ProjectUploadRequest.FileData> files, String json) {
+        Cache cache = cacheManager.getCache("projectAnalysis");
+        if (cache != null) {
+            cache.put(analysisCacheKey(files), json);
+        }
+    }
 
-        return openAiService.createChatCompletion(request)
-                .getChoices().get(0).getMessage().getContent();
+    /**
+     * Drop an analysis that could not be parsed so the next attempt calls the provider again
+     */
+    public void evictAnalysis(List<ProjectUploadRequest.FileData> files) {
+        Cache cache = cacheManager.getCache("projectAnalysis");
+        if (cache != null) {
+            cache.evict(analysisCacheKey(files));
+        }
     }
 
     /**
-     * Generate quiz for a specific skill
+     * Generate quiz for a specific skill. Cached per skill fingerprint so concurrent first requests share one call.
      */
-    @Cacheable(value = "quizGeneration", key = "#skillName + '-' + #category")
+    @Cacheable(value = "quizGeneration", key = "#root.target.quizCacheKey(#skillName, #category, #exampleUsage)",
+            sync = true)
     public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
         log.info("Generating quiz for skill: {}", skillName);
+        return llmProvider.generateQuiz(skillName, category, exampleUsage);
+    }
 
-        String prompt = buildQuizPrompt(skillName, category, exampleUsage);
-
-        ChatMessage systemMessage = new ChatMessage("system",
-                "You are a Java programming instructor creating quiz questions to assess skill proficiency.");
-        ChatMessage userMessage = new ChatMessage("user", prompt);
+    /**
+     * Always calls the provider - used to add variants to a skill's quiz pool
+     */
+    public String generateQuizVariant(String skillName, SkillCategory category, String exampleUsage) {
+        log.info("Generating quiz variant for skill: {}", skillName);
+        return llmProvider.generateQuiz(skillName, category, exampleUsage);
+    }
 
-        ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(systemMessage, userMessage))
-                .temperature(0.8) // Higher temperature for varied questions
-                .maxTokens(1500)
-                .build();
+    /**
+     * Quizzes for several skills in one completion; not cached, results go to the quiz pool
+     */
+    public String generateQuizBatch(List<LlmProvider.QuizSpec> skills) {
+        log.info("Generating quizzes for {} skills in one request", skills.size());
+        return llmProvider.generateQuizzes(skills);
+    }
 
-        return openAiService.createChatCompletion(request)
-                .getChoices().get(0).getMessage().getContent();
+    public String correctQuiz(String invalidOutput, String expectedFormat) {
+        log.info("Requesting a corrected quiz response");
+        return llmProvider.correctJson(invalidOutput, expectedFormat);
     }
 
-    private String buildSkillAnalysisPrompt(String projectCode, List<String> fileNames) {
-        return String.format("""
-            Analyze the following Java project and extract specific programming skills used.
-            
-            FILES ANALYZED: %s
-            
-            PROJECT CODE:
-            %s
-            
-            TASK:
-            1. Identify distinct programming skills demonstrated in this code
-            2. Classify each skill into ONE of these categories:
-            %s
-            
-            3. For each skill, provide:
-               - Skill name (concise, e.g., "Stream API filtering", "JPA Entity Mapping")
-               - Category (from the list above)
-               - Description (ONE sentence maximum)
-               - Example from code (short snippet showing usage)
-            
-            IMPORTANT:
-            - Only use the predefined categories above
-            - Focus on skills actually demonstrated in the code
-            - Avoid generic skills like "Java syntax" - be specific
-            - Create ONE general skill per category used (e.g., "OOP - General Knowledge")
-            
-            OUTPUT FORMAT (JSON):
-            {
-              "skills": [
-                {
-                  "name": "Stream API with map and filter",
-                  "category": "STREAMS_LAMBDAS",
-                  "description": "Uses Stream API for data transformation and filtering.",
-                  "exampleUsage": "list.stream().filter(x -> x > 0).map(x -> x * 2).collect(Collectors.toList())",
-                  "isGeneral": false
-                },
-                ...
-              ]
-            }
-            """,
-                String.join(", ", fileNames),
-                projectCode,
-                SkillCategory.getAllCategoriesForPrompt()
-        );
+    public void cacheQuiz(String skillName, SkillCategory category, String exampleUsage, String json) {
+        Cache cache = cacheManager.getCache("quizGeneration");
+        if (cache != null) {
+            cache.put(quizCacheKey(skillName, category, exampleUsage), json);
+        }
     }
 
-    private String buildQuizPrompt(String skillName, SkillCategory category, String exampleUsage) {
-        return String.format("""
-        Create a quiz to assess knowledge of the following Java programming skill:
-        
-        SKILL: %s
-        CATEGORY: %s (%s)
-        EXAMPLE USAGE:
-        %s
-        
-        Generate 4 multiple-choice questions that test:
-        1. Basic understanding (1 question)
-        2. Practical application (2 questions)
-        3. Advanced/edge cases (1 question)
-        
-        REQUIREMENTS:
-        - 4 answer options (A, B, C, D) per question
-        - Only ONE correct answer per question
-        - Questions should be specific and practical
-        - Avoid trivial or overly theoretical questions
-        - When including code snippets in questions, wrap them in markdown code blocks using triple backticks
-        - Use ```java for Java code blocks
-        - Example: "What does this code do?\\n```java\\nSystem.out.println(\\"Hello\\");\\n```"
-        
-        OUTPUT FORMAT (JSON):
-        {
-          "questions": [
-            {
-              "number": 1,
-              "text": "What is the primary purpose of Stream API?",
-              "options": [
-                "A) To handle file I/O operations",
-                "B) To process collections functionally",
-                "C) To manage threads",
-                "D) To connect to databases"
-              ],
-              "correctAnswer": "B"
-            },
-            {
-              "number": 2,
-              "text": "What will this code output?\\n```java\\nList<String> names = Arrays.asList(\\"Alice\\", \\"Bob\\");\\nnames.stream().map(String::toUpperCase).forEach(System.out::println);\\n```",
-              "options": [
-                "A) alice bob",
-                "B) ALICE BOB",
-                "C) AliceBob",
-                "D) Compilation error"
-              ],
-              "correctAnswer": "B"
-            }
-          ]
+    public void evictQuiz(String skillName, SkillCategory category, String exampleUsage) {
+        Cache cache = cacheManager.getCache("quizGeneration");
+        if (cache != null) {
+            cache.evict(quizCacheKey(skillName, category, exampleUsage));
         }
-        
-        IMPORTANT: Return ONLY valid JSON. Do not include any text before or after the JSON.
-        """,
-                skillName,
-                category.getDisplayName(),
-                category.getDescription(),
-                exampleUsage
-        );
     }
-}
\ No newline at end of file
+
+    /**
+     * Skill fingerprint: SHA-256 over the provider's quiz settings, the case-insensitive name, the category
+     * and the example with whitespace collapsed. Also the key of the skill's quiz pool, so quizzes of another
+     * provider or quiz prompt sharing the database are never served.
+     */
+    public String quizCacheKey(String skillName, SkillCategory category, String exampleUsage) {
+        String example = exampleUsage == null ? "" : WHITESPACE.matcher(exampleUsage).replaceAll(" ").strip();
+        return ContentDigest.sha256()
+                .update(llmProvider.quizCacheDiscriminator())
+                .update(skillName == null ? "" : skillName.strip().toLowerCase(Locale.ROOT))
+                .update(category == null ? "" : category.name())
+                .updateNormalized(example)
+                .hex();
+    }
+}
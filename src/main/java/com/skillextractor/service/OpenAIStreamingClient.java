@@ -0,0 +1,128 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillextractor.util.SegmentedText;
+import lombok.RequiredArgsConstructor;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import retrofit2.HttpException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Chat completion call whose request JSON is generated straight into the HTTP body.
+ * Message contents are {@link SegmentedText}s streamed through the JSON generator's buffer,
+ * so a large prompt is never materialized as a String or a serialized request.
+ * Error responses are raised as retrofit {@link HttpException}s, like the OpenAI client does,
+ * so {@link OpenAIRateLimiter} recognizes 429s and Retry-After headers.
+ */
+@Service
+@ConditionalOnProperty(name = "llm.provider", havingValue = "openai", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OpenAIStreamingClient {
+
+    // Absolute path, resolved against the base URL the same way the SDK's retrofit endpoints are
+    private static final String COMPLETIONS_PATH = "/v1/chat/completions";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient openAiHttpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${openai.base-url:https://api.openai.com/}")
+    private String baseUrl;
+
+    public String complete(String model, double temperature, int maxTokens,
+                           String systemMessage, SegmentedText userMessage) {
+        Request request = new Request.Builder()
+                .url(HttpUrl.get(baseUrl).resolve(COMPLETIONS_PATH))
+                .post(new StreamingBody(model, temperature, maxTokens, systemMessage, userMessage))
+                .build();
+
+        try (Response response = openAiHttpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful()) {
+                byte[] error = body == null ? new byte[0] : body.bytes();
+                throw new HttpException(retrofit2.Response.error(
+                        ResponseBody.create(error, body == null ? JSON : body.contentType()), response));
+            }
+            if (body == null) {
+                throw new RuntimeException("Empty response from OpenAI");
+            }
+            try (InputStream in = body.byteStream()) {
+                JsonNode content = objectMapper.readTree(in).path("choices").path(0).path("message").path("content");
+                // A 2xx without content (e.g. a filtered completion) is a failure, not an empty answer to correct
+                if (!content.isTextual()) {
+                    throw new RuntimeException("OpenAI response has no message content");
+                }
+                return content.asText();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("OpenAI request failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Repeatable body: OkHttp may write it again when it retries a failed connection
+     */
+    private final class StreamingBody extends RequestBody {
+        private final String model;
+        private final double temperature;
+        private final int maxTokens;
+        private final String systemMessage;
+        private final SegmentedText userMessage;
+
+        StreamingBody(String model, double temperature, int maxTokens, String systemMessage, SegmentedText userMessage) {
+            this.model = model;
+            this.temperature = temperature;
+            this.maxTokens = maxTokens;
+            this.systemMessage = systemMessage;
+            this.userMessage = userMessage;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(sink.outputStream())) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartObject();
+                json.writeStringField("model", model);
+                json.writeArrayFieldStart("messages");
+
+                json.writeStartObject();
+                json.writeStringField("role", "system");
+                json.writeStringField("content", systemMessage);
+                json.writeEndObject();
+
+                json.writeStartObject();
+                json.writeStringField("role", "user");
+                json.writeFieldName("content");
+                try (Reader content = userMessage.openReader()) {
+                    json.writeString(content, -1);
+                }
+                json.writeEndObject();
+
+                json.writeEndArray();
+                json.writeNumberField("temperature", temperature);
+                json.writeNumberField("max_tokens", maxTokens);
+                json.writeEndObject();
+            }
+        }
+    }
+}
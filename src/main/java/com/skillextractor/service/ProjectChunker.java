@@ -0,0 +1,86 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.util.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packs project files into chunks that each fit a token budget (first-fit decreasing).
+ * Files larger than the budget are split on line boundaries into numbered parts.
+ */
+final class ProjectChunker {
+
+    // Per-file header added by combineFileContents
+    private static final int FILE_HEADER_TOKENS = 16;
+
+    private ProjectChunker() {
+    }
+
+    static List<List<ProjectUploadRequest.FileData>> pack(List<ProjectUploadRequest.FileData> files, int tokenBudget) {
+        List<ProjectUploadRequest.FileData> pieces = new ArrayList<>();
+        for (ProjectUploadRequest.FileData file : files) {
+            pieces.addAll(split(file, tokenBudget));
+        }
+        pieces.sort(Comparator.comparingInt(ProjectChunker::cost).reversed());
+
+        List<List<ProjectUploadRequest.FileData>> chunks = new ArrayList<>();
+        List<Integer> used = new ArrayList<>();
+        for (ProjectUploadRequest.FileData piece : pieces) {
+            int cost = cost(piece);
+            int target = -1;
+            for (int i = 0; i < chunks.size(); i++) {
+                if (used.get(i) + cost <= tokenBudget) {
+                    target = i;
+                    break;
+                }
+            }
+            if (target < 0) {
+                chunks.add(new ArrayList<>());
+                used.add(0);
+                target = chunks.size() - 1;
+            }
+            chunks.get(target).add(piece);
+            used.set(target, used.get(target) + cost);
+        }
+        return chunks;
+    }
+
+    private static int cost(ProjectUploadRequest.FileData file) {
+        return TokenEstimator.estimate(file.getContent()) + FILE_HEADER_TOKENS;
+    }
+
+    private static List<ProjectUploadRequest.FileData> split(ProjectUploadRequest.FileData file, int tokenBudget) {
+        String content = file.getContent() != null ? file.getContent() : "";
+        int maxChars = Math.max(1, TokenEstimator.charsFor(tokenBudget - FILE_HEADER_TOKENS));
+        if (content.length() <= maxChars) {
+            return List.of(file);
+        }
+
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start < content.length()) {
+            int end = Math.min(content.length(), start + maxChars);
+            if (end < content.length()) {
+                int newline = content.lastIndexOf('\n', end - 1);
+                if (newline > start) {
+                    end = newline + 1;
+                }
+            }
+            parts.add(content.substring(start, end));
+            start = end;
+        }
+
+        List<ProjectUploadRequest.FileData> pieces = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            ProjectUploadRequest.FileData piece = new ProjectUploadRequest.FileData();
+            piece.setFilename(file.getFilename() + " (part " + (i + 1) + "/" + parts.size() + ")");
+            piece.setExtension(file.getExtension());
+            piece.setContent(parts.get(i));
+            pieces.add(piece);
+        }
+        return pieces;
+    }
+}
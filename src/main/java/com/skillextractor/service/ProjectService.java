@@ -1,17 +1,24 @@
 // ProjectService.java - DEBUG VERSION
 package com.skillextractor.service;
 
+import com.skillextractor.dto.PageResponse;
+import com.skillextractor.dto.ProjectSummaryResponse;
 import com.skillextractor.dto.ProjectUploadRequest;
 import com.skillextractor.model.Project;
+import com.skillextractor.model.ProjectFile;
 import com.skillextractor.model.User;
 import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.util.ContentDigest;
+import com.skillextractor.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +28,9 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final SimilarityIndex similarityIndex;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Value("${project.max.files:20}")
     private int maxFiles;
@@ -29,19 +39,18 @@ public class ProjectService {
     private long maxSizeMb;
 
     @Transactional
-    public Project createProject(ProjectUploadRequest request, String username) {
+    public Project createProject(ProjectUploadRequest request, Long userId) {
         log.info(">>> createProject() START");
         log.info("Project Name: {}", request.getProjectName());
         log.info("Description: {}", request.getDescription());
-        log.info("Username: {}", username);
+        log.info("User ID: {}", userId);
 
         // Validate
         validateProjectUpload(request);
         log.info("Validation passed");
 
-        // Get user
-        User user = userService.getUserByUsername(username);
-        log.info("User found - ID: {}, Username: {}", user.getId(), user.getUsername());
+        // Owner reference, no user query
+        User user = userService.getUserReference(userId);
 
         // Extract file info
         List<String> fileNames = request.getFiles().stream()
@@ -61,6 +70,9 @@ public class ProjectService {
                 .totalSizeKb(totalSize / 1024)
                 .user(user)
                 .build();
+        for (ProjectUploadRequest.FileData file : request.getFiles()) {
+            project.addFile(toProjectFile(file));
+        }
 
         log.info("Project object created (before save)");
         log.info("  - Name: {}", project.getName());
@@ -83,33 +95,22 @@ public class ProjectService {
     }
 
     @Transactional(readOnly = true)
-    public List<Project> getUserProjects(String username) {
+    public List<ProjectSummaryResponse> getUserProjects(Long userId) {
         log.info(">>> getUserProjects() START");
-        log.info("Username: {}", username);
-
-        User user = userService.getUserByUsername(username);
-        log.info("User found - ID: {}", user.getId());
+        log.info("User ID: {}", userId);
 
-        log.info("Calling projectRepository.findByUserIdOrderByUploadedAtDesc()...");
-        List<Project> projects = projectRepository.findByUserIdOrderByUploadedAtDesc(user.getId());
+        log.info("Calling projectRepository.findSummariesByUserId()...");
+        List<ProjectSummaryResponse> projects = projectRepository.findSummariesByUserId(userId);
 
         log.info(">>> PROJECTS FOUND: {} <<<", projects.size());
 
         if (projects.isEmpty()) {
-            log.warn("!!! NO PROJECTS FOUND FOR USER ID: {} !!!", user.getId());
-
-            // Additional check - count all projects in DB
-            long totalProjects = projectRepository.count();
-            log.info("Total projects in database: {}", totalProjects);
-
-            // Check if there are any projects for this user (different query)
-            List<Project> allUserProjects = projectRepository.findByUserId(user.getId());
-            log.info("Projects with findByUserId: {}", allUserProjects.size());
+            log.warn("!!! NO PROJECTS FOUND FOR USER ID: {} !!!", userId);
         } else {
             log.info("Projects list:");
             projects.forEach(p -> {
                 log.info("  - ID: {}, Name: {}, User ID: {}, Date: {}",
-                        p.getId(), p.getName(), p.getUser().getId(), p.getUploadedAt());
+                        p.getId(), p.getName(), p.getUserId(), p.getUploadedAt());
             });
         }
 
@@ -117,6 +118,35 @@ public class ProjectService {
         return projects;
     }
 
+    /**
+     * Keyset-paginated project listing. {@code fields} (null = all) decides whether
+     * description / analyzedFiles are selected.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ProjectSummaryResponse> getUserProjectsPage(Long userId, String cursor, int limit,
+                                                                    Set<String> fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<ProjectSummaryResponse> rows = projectRepository.findPage(userId,
+                KeysetCursor.decode(cursor), pageSize + 1,
+                fields == null || fields.contains("description"),
+                fields == null || fields.contains("analyzedFiles"));
+
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null);
+        }
+        List<ProjectSummaryResponse> page = rows.subList(0, pageSize);
+        ProjectSummaryResponse last = page.get(pageSize - 1);
+        return new PageResponse<>(page, new KeysetCursor(last.getUploadedAt(), last.getId()).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectSummaryResponse getProjectSummary(Long projectId) {
+        log.info(">>> getProjectSummary() - ID: {}", projectId);
+        return projectRepository.findSummaryById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found: " + projectId));
+    }
+
     @Transactional(readOnly = true)
     public Project getProjectById(Long projectId) {
         log.info(">>> getProjectById() - ID: {}", projectId);
@@ -127,27 +157,39 @@ public class ProjectService {
     }
 
     @Transactional
-    public void deleteProject(Long projectId, String username) {
+    public void deleteProject(Long projectId, Long userId) {
         log.info(">>> deleteProject() START - ID: {}", projectId);
 
         Project project = getProjectById(projectId);
-        User user = userService.getUserByUsername(username);
 
         log.info("Project User ID: {}, Request User ID: {}",
-                project.getUser().getId(), user.getId());
+                project.getUser().getId(), userId);
 
-        if (!project.getUser().getId().equals(user.getId())) {
+        if (!project.getUser().getId().equals(userId)) {
             log.error("UNAUTHORIZED: User {} tried to delete project owned by user {}",
-                    user.getId(), project.getUser().getId());
+                    userId, project.getUser().getId());
             throw new RuntimeException("Unauthorized to delete this project");
         }
 
         log.info("Deleting project: {}", projectId);
         projectRepository.delete(project);
+        similarityIndex.remove(projectId);
         log.info(">>> deleteProject() END - Project deleted");
     }
 
-    private void validateProjectUpload(ProjectUploadRequest request) {
+    /**
+     * Digest record of an uploaded file, compared by the next version upload
+     */
+    static ProjectFile toProjectFile(ProjectUploadRequest.FileData file) {
+        String content = file.getContent() == null ? "" : file.getContent();
+        return ProjectFile.builder()
+                .filename(file.getFilename())
+                .digest(ContentDigest.sha256().updateNormalized(content).hex())
+                .sizeBytes((long) content.length())
+                .build();
+    }
+
+    void validateProjectUpload(ProjectUploadRequest request) {
         log.info("Validating project upload...");
 
         if (request.getFiles() == null || request.getFiles().isEmpty()) {
@@ -160,6 +202,15 @@ public class ProjectService {
             throw new RuntimeException("Maximum " + maxFiles + " files allowed");
         }
 
+        // Files are tracked by name (digests, skill attribution), so names must be unique
+        Set<String> filenames = new HashSet<>();
+        for (ProjectUploadRequest.FileData file : request.getFiles()) {
+            if (!filenames.add(file.getFilename())) {
+                log.error("Validation failed: Duplicate file {}", file.getFilename());
+                throw new RuntimeException("Duplicate file in upload: " + file.getFilename());
+            }
+        }
+
         long totalSize = calculateTotalSize(request.getFiles());
         long maxSizeBytes = maxSizeMb * 1024 * 1024;
 
@@ -0,0 +1,247 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.dto.ProjectVersionResponse;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.ProjectFile;
+import com.skillextractor.model.Skill;
+import com.skillextractor.repository.ProjectFileRepository;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.SkillRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * "New version of project X" uploads. Files are compared with the previous version by content digest;
+ * only added and changed files are sent to the LLM. Skills found in unchanged files are carried over,
+ * skills from changed or deleted files are retired (kept for quiz history, hidden from listings).
+ * Same phases as a first upload: short read, LLM with no connection held, one short write.
+ */
+@Service
+@Slf4j
+public class ProjectVersionService {
+
+    private final ProjectService projectService;
+    private final SkillAnalysisService skillAnalysisService;
+    private final ProjectRepository projectRepository;
+    private final ProjectFileRepository projectFileRepository;
+    private final SkillRepository skillRepository;
+    private final QuizWarmupService quizWarmupService;
+    private final MeterRegistry meterRegistry;
+    private final SimilarityIndex similarityIndex;
+    private final TransactionTemplate writeTransaction;
+
+    public ProjectVersionService(ProjectService projectService,
+                                 SkillAnalysisService skillAnalysisService,
+                                 ProjectRepository projectRepository,
+                                 ProjectFileRepository projectFileRepository,
+                                 SkillRepository skillRepository,
+                                 QuizWarmupService quizWarmupService,
+                                 MeterRegistry meterRegistry,
+                                 SimilarityIndex similarityIndex,
+                                 PlatformTransactionManager transactionManager) {
+        this.projectService = projectService;
+        this.skillAnalysisService = skillAnalysisService;
+        this.projectRepository = projectRepository;
+        this.projectFileRepository = projectFileRepository;
+        this.skillRepository = skillRepository;
+        this.quizWarmupService = quizWarmupService;
+        this.meterRegistry = meterRegistry;
+        this.similarityIndex = similarityIndex;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Ownership and upload limits, checked on the request thread before a version is queued
+     */
+    public Project checkVersionUpload(Long projectId, ProjectUploadRequest request, Long userId) {
+        Project project = projectService.getProjectById(projectId);
+        if (!project.getUser().getId().equals(userId)) {
+            log.error("UNAUTHORIZED: User {} tried to upload a version of project owned by user {}",
+                    userId, project.getUser().getId());
+            throw new RuntimeException("Unauthorized to update this project");
+        }
+        projectService.validateProjectUpload(request);
+        return project;
+    }
+
+    public ProjectVersionResponse uploadNewVersion(Long projectId, ProjectUploadRequest request, Long userId) {
+        // Phase 1: read
+        Project project = checkVersionUpload(projectId, request, userId);
+
+        Map<String, String> previous = projectFileRepository.findByProjectId(projectId).stream()
+                .collect(Collectors.toMap(ProjectFile::getFilename, ProjectFile::getDigest, (a, b) -> b, HashMap::new));
+
+        // Uploaded before per-file digests: no file rows and skills without a source file. Every old file
+        // counts as changed or deleted, and all of its specific skills are retired.
+        boolean legacy = previous.isEmpty() && project.getAnalyzedFiles() != null;
+        if (legacy) {
+            for (String filename : project.getAnalyzedFiles().split(",")) {
+                if (!filename.isBlank()) {
+                    previous.put(filename, "");
+                }
+            }
+        }
+
+        Map<String, ProjectUploadRequest.FileData> uploaded = new LinkedHashMap<>();
+        Map<String, ProjectFile> digests = new LinkedHashMap<>();
+        for (ProjectUploadRequest.FileData file : request.getFiles()) {
+            uploaded.put(file.getFilename(), file);
+            digests.put(file.getFilename(), ProjectService.toProjectFile(file));
+        }
+
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        digests.forEach((filename, file) -> {
+            String digest = previous.get(filename);
+            if (digest == null) {
+                added.add(filename);
+            } else if (digest.equals(file.getDigest())) {
+                unchanged.add(filename);
+            } else {
+                changed.add(filename);
+            }
+        });
+        List<String> deleted = previous.keySet().stream()
+                .filter(filename -> !uploaded.containsKey(filename))
+                .sorted()
+                .collect(Collectors.toList());
+
+        log.info("Project {} version {}: {} added, {} changed, {} unchanged, {} deleted files",
+                projectId, currentVersion(project) + 1, added.size(), changed.size(), unchanged.size(), deleted.size());
+
+        // Phase 2: LLM on the diff only, no transaction
+        List<ProjectUploadRequest.FileData> toAnalyze = new ArrayList<>();
+        added.forEach(filename -> toAnalyze.add(uploaded.get(filename)));
+        changed.forEach(filename -> toAnalyze.add(uploaded.get(filename)));
+        List<Skill> extracted = toAnalyze.isEmpty()
+                ? List.of()
+                : skillAnalysisService.extractVersionSkills(toAnalyze, project, project.getUser());
+
+        meterRegistry.counter("analysis.version.files", "state", "analyzed").increment(toAnalyze.size());
+        meterRegistry.counter("analysis.version.files", "state", "reused").increment(unchanged.size());
+
+        // Phase 3: write
+        Set<String> stale = new HashSet<>(changed);
+        stale.addAll(deleted);
+        long totalSize = request.getFiles().stream().mapToLong(f -> f.getContent().length()).sum();
+
+        int baseVersion = currentVersion(project);
+        VersionResult result = writeTransaction.execute(status ->
+                applyVersion(projectId, baseVersion, extracted, stale, legacy, digests.values(), totalSize));
+
+        similarityIndex.index(projectId, similarityIndex.signature(request.getFiles()));
+        quizWarmupService.scheduleFor(result.added());
+
+        return ProjectVersionResponse.builder()
+                .projectId(projectId)
+                .version(result.version())
+                .addedFiles(added)
+                .changedFiles(changed)
+                .unchangedFiles(unchanged)
+                .deletedFiles(deleted)
+                .skillsAdded(result.added().size())
+                .skillsCarriedOver(result.carriedOver())
+                .skillsRetired(result.retired())
+                .skills(result.added().stream()
+                        .map(skillAnalysisService::convertToResponse)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private record VersionResult(int version, List<Skill> added, int carriedOver, int retired) {
+    }
+
+    /**
+     * Runs under a row lock on the project. The diff was computed against {@code baseVersion}; if another
+     * upload committed a version in the meantime the diff is stale and this upload is rejected.
+     */
+    private VersionResult applyVersion(Long projectId, int baseVersion, List<Skill> extracted, Set<String> staleFiles,
+                                       boolean legacy, Iterable<ProjectFile> files, long totalSize) {
+        Project project = projectRepository.findByIdForUpdate(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found: " + projectId));
+        if (currentVersion(project) != baseVersion) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Project " + projectId + " was updated to version " + currentVersion(project)
+                            + " during this upload; upload again");
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // Retire specific skills whose file changed or disappeared
+        List<Skill> active = skillRepository.findByProjectIdAndRetiredAtIsNull(projectId);
+        List<Skill> kept = new ArrayList<>();
+        int retired = 0;
+        for (Skill skill : active) {
+            boolean stale = skill.getSourceFile() == null ? legacy : staleFiles.contains(skill.getSourceFile());
+            if (!Boolean.TRUE.equals(skill.getIsGeneral()) && stale) {
+                skill.setRetiredAt(now);
+                retired++;
+            } else {
+                kept.add(skill);
+            }
+        }
+
+        // A skill still present elsewhere in the project keeps its existing row (and quiz history)
+        Set<String> keptKeys = kept.stream().map(SkillAnalysisService::skillKey).collect(Collectors.toSet());
+        List<Skill> added = new ArrayList<>();
+        for (Skill skill : extracted) {
+            if (keptKeys.add(SkillAnalysisService.skillKey(skill))) {
+                skill.setProject(project);
+                added.add(skill);
+            }
+        }
+
+        // General skills only make sense while their category has specific skills left
+        Set<SkillCategory> covered = EnumSet.noneOf(SkillCategory.class);
+        kept.stream().filter(skill -> !Boolean.TRUE.equals(skill.getIsGeneral()))
+                .forEach(skill -> covered.add(skill.getCategory()));
+        added.stream().filter(skill -> !Boolean.TRUE.equals(skill.getIsGeneral()))
+                .forEach(skill -> covered.add(skill.getCategory()));
+        int carriedOver = 0;
+        for (Skill skill : kept) {
+            if (Boolean.TRUE.equals(skill.getIsGeneral()) && !covered.contains(skill.getCategory())) {
+                skill.setRetiredAt(now);
+                retired++;
+            } else {
+                carriedOver++;
+            }
+        }
+
+        List<Skill> saved = skillRepository.saveAll(added);
+
+        project.getFiles().clear();
+        files.forEach(project::addFile);
+        project.setAnalyzedFiles(project.getFiles().stream()
+                .map(ProjectFile::getFilename)
+                .collect(Collectors.joining(",")));
+        project.setTotalFiles(project.getFiles().size());
+        project.setTotalSizeKb(totalSize / 1024);
+        project.setVersion(currentVersion(project) + 1);
+
+        log.info("Project {} is now version {}: {} skills added, {} carried over, {} retired",
+                projectId, project.getVersion(), saved.size(), carriedOver, retired);
+        return new VersionResult(project.getVersion(), saved, carriedOver, retired);
+    }
+
+    private static int currentVersion(Project project) {
+        return project.getVersion() == null ? 1 : project.getVersion();
+    }
+}
@@ -0,0 +1,418 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillextractor.dto.QuizResponse;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.QuizPoolEntry;
+import com.skillextractor.model.Skill;
+import com.skillextractor.repository.QuizPoolRepository;
+import com.skillextractor.util.ContentDigest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Persisted pool of generated quizzes per skill fingerprint (see {@link OpenAIService#quizCacheKey}).
+ * Requests draw the least-served quiz of the pool; the LLM is only called for an empty pool (inline)
+ * or, in the background, when the pool is below quiz.pool.low-water, topping it up to quiz.pool.size.
+ * Popular skills are therefore served from the database at no LLM cost.
+ */
+@Service
+@Slf4j
+public class QuizPoolService {
+
+    private static final String OPTION_LETTERS = "ABCDEF";
+    private static final Pattern OPTION_PREFIX = Pattern.compile("([A-Fa-f])(?:\\)|\\.|:)\\s*");
+    private static final String QUIZ_FORMAT = """
+            {"questions": [{"number": 1, "text": "question", "options": ["A) ...", "B) ...", "C) ...", "D) ..."],
+              "correctAnswer": "B"}]}
+            correctAnswer is the letter of the single correct option""";
+    private static final TypeReference<List<QuizResponse.Question>> QUESTIONS = new TypeReference<>() {};
+
+    private final QuizPoolRepository quizPoolRepository;
+    private final OpenAIService openAIService;
+    private final LlmJsonExtractor llmJsonExtractor;
+    private final ItemBankService itemBankService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor quizWarmupExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int poolSize;
+    private final int lowWater;
+    private final int batchSize;
+
+    // Fingerprints refilled recently (or right now): one refill per fingerprint per cooldown
+    private final Cache<String, Boolean> recentRefills;
+
+    public QuizPoolService(QuizPoolRepository quizPoolRepository,
+                           OpenAIService openAIService,
+                           LlmJsonExtractor llmJsonExtractor,
+                           ItemBankService itemBankService,
+                           ObjectMapper objectMapper,
+                           @Qualifier("quizWarmupExecutor") ThreadPoolTaskExecutor quizWarmupExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${quiz.pool.size:5}") int poolSize,
+                           @Value("${quiz.pool.low-water:3}") int lowWater,
+                           @Value("${quiz.pool.refill-cooldown-ms:600000}") long refillCooldownMs,
+                           @Value("${quiz.batch.size:4}") int batchSize) {
+        this.quizPoolRepository = quizPoolRepository;
+        this.openAIService = openAIService;
+        this.llmJsonExtractor = llmJsonExtractor;
+        this.itemBankService = itemBankService;
+        this.objectMapper = objectMapper;
+        this.quizWarmupExecutor = quizWarmupExecutor;
+        this.meterRegistry = meterRegistry;
+        this.poolSize = poolSize;
+        this.lowWater = Math.min(lowWater, poolSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.recentRefills = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(refillCooldownMs))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * Next quiz for the skill, with correct answers. Served from the pool when it has one,
+     * generated inline (and added to the pool) otherwise.
+     */
+    public QuizResponse draw(Skill skill) {
+        String fingerprint = fingerprint(skill);
+        Optional<QuizPoolEntry> entry = quizPoolRepository.findFirstByFingerprintOrderByTimesServedAscLastServedAtAsc(fingerprint);
+
+        List<QuizResponse.Question> questions;
+        if (entry.isPresent()) {
+            quizPoolRepository.markServed(entry.get().getId(), LocalDateTime.now());
+            questions = readQuestions(entry.get());
+            meterRegistry.counter("quiz.requests", "served", "warm").increment();
+        } else {
+            // First request for this fingerprint: concurrent callers share one completion via the cache
+            questions = generate(skill.getName(), skill.getCategory(), skill.getExampleUsage(), false);
+            store(fingerprint, questions, true);
+            meterRegistry.counter("quiz.requests", "served", "cold").increment();
+        }
+
+        refillIfLow(fingerprint, skill);
+        return QuizResponse.builder()
+                .skillId(skill.getId())
+                .skillName(skill.getName())
+                .questions(questions)
+                .build();
+    }
+
+    /**
+     * Background warm-up: make sure the pool has at least one quiz
+     */
+    public void stock(Skill skill) {
+        String fingerprint = fingerprint(skill);
+        if (quizPoolRepository.countByFingerprint(fingerprint) == 0) {
+            store(fingerprint, generate(skill.getName(), skill.getCategory(), skill.getExampleUsage(), false), false);
+        }
+    }
+
+    /**
+     * Stock every skill whose pool is empty, {@code quiz.batch.size} skills per completion.
+     * Skills a batch did not deliver a usable quiz for are retried one by one.
+     */
+    public void stockAll(List<Skill> skills) {
+        Map<String, Skill> empty = new LinkedHashMap<>();
+        for (Skill skill : skills) {
+            String fingerprint = fingerprint(skill);
+            if (!empty.containsKey(fingerprint) && quizPoolRepository.countByFingerprint(fingerprint) == 0) {
+                empty.put(fingerprint, skill);
+            }
+        }
+
+        List<Skill> pending = new ArrayList<>(empty.values());
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Skill> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            if (batch.size() == 1) {
+                stock(batch.get(0));
+            } else {
+                stockBatch(batch);
+            }
+        }
+    }
+
+    private void stockBatch(List<Skill> batch) {
+        Set<Integer> delivered = new HashSet<>();
+        try {
+            List<LlmProvider.QuizSpec> specs = batch.stream()
+                    .map(skill -> new LlmProvider.QuizSpec(skill.getName(), skill.getCategory(), skill.getExampleUsage()))
+                    .toList();
+
+            long start = System.nanoTime();
+            String json = openAIService.generateQuizBatch(specs);
+            recordLatency("batch", System.nanoTime() - start, batch.size());
+
+            List<BatchQuiz> quizzes = llmJsonExtractor.extract("quiz-batch", json, "quizzes",
+                    (node, repairs) -> readBatchQuiz(node, repairs, batch.size()), null).items();
+            for (BatchQuiz quiz : quizzes) {
+                if (delivered.add(quiz.index())) {
+                    Skill skill = batch.get(quiz.index());
+                    store(fingerprint(skill), renumber(quiz.questions()), false);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Quiz batch of {} skills failed: {}", batch.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (delivered.contains(i)) {
+                continue;
+            }
+            meterRegistry.counter("quiz.batch.retried").increment();
+            try {
+                stock(batch.get(i));
+            } catch (RuntimeException e) {
+                log.warn("Quiz generation failed for skill {}: {}", batch.get(i).getName(), e.getMessage());
+            }
+        }
+    }
+
+    private record BatchQuiz(int index, List<QuizResponse.Question> questions) {
+    }
+
+    /**
+     * One quiz of a batch: a valid skill number and at least one valid question
+     */
+    private static BatchQuiz readBatchQuiz(JsonNode node, LlmJsonExtractor.Repairs repairs, int batchSize) {
+        int index = node.path("skill").asInt(0) - 1;
+        JsonNode questionsNode = node.path("questions");
+        if (index < 0 || index >= batchSize || !questionsNode.isArray()) {
+            return null;
+        }
+        List<QuizResponse.Question> questions = new ArrayList<>();
+        for (JsonNode questionNode : questionsNode) {
+            QuizResponse.Question question = readQuestion(questionNode, repairs);
+            if (question == null) {
+                repairs.note();
+            } else {
+                questions.add(question);
+            }
+        }
+        return questions.isEmpty() ? null : new BatchQuiz(index, questions);
+    }
+
+    private void recordLatency(String mode, long nanos, int quizzes) {
+        Timer timer = meterRegistry.timer("quiz.generation.latency", "mode", mode);
+        for (int i = 0; i < quizzes; i++) {
+            timer.record(nanos / quizzes, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Key of the skill's quiz pool and item bank
+     */
+    public String fingerprint(Skill skill) {
+        return openAIService.quizCacheKey(skill.getName(), skill.getCategory(), skill.getExampleUsage());
+    }
+
+    private void refillIfLow(String fingerprint, Skill skill) {
+        if (quizPoolRepository.countByFingerprint(fingerprint) >= lowWater
+                || recentRefills.asMap().putIfAbsent(fingerprint, Boolean.TRUE) != null) {
+            return;
+        }
+        String name = skill.getName();
+        SkillCategory category = skill.getCategory();
+        String example = skill.getExampleUsage();
+        try {
+            quizWarmupExecutor.execute(() -> refill(fingerprint, name, category, example));
+        } catch (TaskRejectedException e) {
+            // Warm-up queue full: best effort, a later request may try again
+            recentRefills.invalidate(fingerprint);
+        }
+    }
+
+    /**
+     * Top the pool up to quiz.pool.size with fresh variants; one attempt per missing quiz so a
+     * provider that keeps returning the same quiz cannot loop
+     */
+    private void refill(String fingerprint, String name, SkillCategory category, String example) {
+        long missing = poolSize - quizPoolRepository.countByFingerprint(fingerprint);
+        for (long i = 0; i < missing; i++) {
+            try {
+                boolean added = store(fingerprint, generate(name, category, example, true), false);
+                meterRegistry.counter("quiz.pool.refill", "outcome", added ? "added" : "duplicate").increment();
+            } catch (Exception e) {
+                meterRegistry.counter("quiz.pool.refill", "outcome", "failed").increment();
+                log.warn("Quiz pool refill failed for skill {}: {}", name, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param variant true to bypass the generation cache (pool top-ups need a new quiz, not the cached one)
+     */
+    private List<QuizResponse.Question> generate(String name, SkillCategory category, String example, boolean variant) {
+        long start = System.nanoTime();
+        String quizJson = variant
+                ? openAIService.generateQuizVariant(name, category, example)
+                : openAIService.generateQuiz(name, category, example);
+        recordLatency("single", System.nanoTime() - start, 1);
+
+        LlmJsonExtractor.Extraction<QuizResponse.Question> extraction;
+        try {
+            extraction = llmJsonExtractor.extract("quiz", quizJson, "questions", QuizPoolService::readQuestion,
+                    invalid -> openAIService.correctQuiz(invalid, QUIZ_FORMAT));
+        } catch (RuntimeException e) {
+            if (!variant) {
+                openAIService.evictQuiz(name, category, example);
+            }
+            throw e;
+        }
+        if (extraction.corrected() && !variant) {
+            openAIService.cacheQuiz(name, category, example, extraction.json());
+        }
+        if (extraction.items().isEmpty()) {
+            throw new RuntimeException("Failed to parse quiz from AI response");
+        }
+        return renumber(extraction.items());
+    }
+
+    /**
+     * The answer key is keyed by number: make them unique and sequential whatever the model sent
+     */
+    private static List<QuizResponse.Question> renumber(List<QuizResponse.Question> questions) {
+        for (int i = 0; i < questions.size(); i++) {
+            questions.get(i).setNumber(i + 1);
+        }
+        return questions;
+    }
+
+    /**
+     * Add the quiz to the pool unless an identical one is already there
+     *
+     * @return whether a new entry was stored
+     */
+    private boolean store(String fingerprint, List<QuizResponse.Question> questions, boolean served) {
+        String json = toJson(questions);
+        String digest = ContentDigest.sha256().updateNormalized(json).hex();
+        if (quizPoolRepository.existsByFingerprintAndContentDigest(fingerprint, digest)) {
+            return false;
+        }
+        try {
+            quizPoolRepository.save(QuizPoolEntry.builder()
+                    .fingerprint(fingerprint)
+                    .contentDigest(digest)
+                    .questionsJson(json)
+                    .totalQuestions(questions.size())
+                    .timesServed(served ? 1 : 0)
+                    .lastServedAt(served ? LocalDateTime.now() : null)
+                    .build());
+            itemBankService.add(fingerprint, questions);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently by another request
+            return false;
+        }
+    }
+
+    private List<QuizResponse.Question> readQuestions(QuizPoolEntry entry) {
+        try {
+            return new ArrayList<>(objectMapper.readValue(entry.getQuestionsJson(), QUESTIONS));
+        } catch (Exception e) {
+            log.error("Corrupt quiz pool entry {}", entry.getId(), e);
+            throw new RuntimeException("Failed to read pooled quiz");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize quiz", e);
+        }
+    }
+
+    /**
+     * Schema check for one question: text, 2-6 options and an answer naming one of them are required.
+     * Options get their "A) " prefix when missing (the UI submits the first character), the answer
+     * is normalized to its letter.
+     */
+    private static QuizResponse.Question readQuestion(JsonNode node, LlmJsonExtractor.Repairs repairs) {
+        String text = node.path("text").asText("").strip();
+        JsonNode optionsNode = node.path("options");
+        if (text.isEmpty() || !optionsNode.isArray() || optionsNode.size() < 2 || optionsNode.size() > OPTION_LETTERS.length()) {
+            return null;
+        }
+
+        List<String> options = new ArrayList<>();
+        List<String> bareOptions = new ArrayList<>();
+        for (int i = 0; i < optionsNode.size(); i++) {
+            String option = optionsNode.get(i).asText("").strip();
+            char letter = OPTION_LETTERS.charAt(i);
+            Matcher prefix = OPTION_PREFIX.matcher(option);
+            if (prefix.lookingAt() && Character.toUpperCase(prefix.group(1).charAt(0)) == letter) {
+                bareOptions.add(option.substring(prefix.end()).strip());
+                options.add(option);
+            } else {
+                repairs.note();
+                bareOptions.add(option);
+                options.add(letter + ") " + option);
+            }
+        }
+
+        String answer = node.path("correctAnswer").asText("").strip();
+        String letter = answerLetter(answer, bareOptions);
+        if (letter == null) {
+            return null;
+        }
+        if (!letter.equals(answer)) {
+            repairs.note();
+        }
+        if (!node.path("number").canConvertToInt()) {
+            repairs.note();
+        }
+
+        return QuizResponse.Question.builder()
+                .number(node.path("number").asInt())
+                .text(text)
+                .options(options)
+                .correctAnswer(letter)
+                .build();
+    }
+
+    /**
+     * "B", "b", "B)", "B) ALICE BOB" or the option text itself; null when it names no option
+     */
+    private static String answerLetter(String answer, List<String> bareOptions) {
+        if (answer.isEmpty()) {
+            return null;
+        }
+        Matcher prefix = OPTION_PREFIX.matcher(answer);
+        if (answer.length() == 1 || prefix.lookingAt()) {
+            int index = OPTION_LETTERS.indexOf(Character.toUpperCase(answer.charAt(0)));
+            return index >= 0 && index < bareOptions.size() ? String.valueOf(OPTION_LETTERS.charAt(index)) : null;
+        }
+        for (int i = 0; i < bareOptions.size(); i++) {
+            if (bareOptions.get(i).equalsIgnoreCase(answer)) {
+                return String.valueOf(OPTION_LETTERS.charAt(i));
+            }
+        }
+        return null;
+    }
+
+}
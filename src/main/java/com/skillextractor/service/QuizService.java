@@ -1,21 +1,27 @@
 package com.skillextractor.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.skillextractor.dto.QuizRequest;
 import com.skillextractor.dto.QuizResponse;
 import com.skillextractor.dto.QuizResultResponse;
 import com.skillextractor.model.QuizResult;
+import com.skillextractor.model.QuizSession;
 import com.skillextractor.model.Skill;
 import com.skillextractor.repository.QuizResultRepository;
+import com.skillextractor.repository.QuizSessionRepository;
 import com.skillextractor.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,11 +30,13 @@ public class QuizService {
 
     private final SkillRepository skillRepository;
     private final QuizResultRepository quizResultRepository;
-    private final OpenAIService openAIService;
+    private final QuizSessionRepository quizSessionRepository;
+    private final QuizPoolService quizPoolService;
+    private final ItemBankService itemBankService;
     private final ObjectMapper objectMapper;
 
     /**
-     * Generate quiz questions for a skill
+     * Generate quiz questions for a skill and store them with the answer key as a quiz session
      */
     public QuizResponse generateQuiz(Long skillId) {
         log.info("Generating quiz for skill ID: {}", skillId);
@@ -36,51 +44,64 @@ public class QuizService {
         Skill skill = skillRepository.findById(skillId)
                 .orElseThrow(() -> new RuntimeException("Skill not found: " + skillId));
 
-        // Call OpenAI to generate quiz
-        String quizJson = openAIService.generateQuiz(
-                skill.getName(),
-                skill.getCategory(),
-                skill.getExampleUsage()
-        );
+        // Drawn from the skill's quiz pool; OpenAI is only called when the pool is empty
+        QuizResponse quiz = quizPoolService.draw(skill);
 
-        // Parse response
-        return parseQuizFromResponse(quizJson, skillId, skill.getName());
+        QuizSession session = quizSessionRepository.save(QuizSession.builder()
+                .skill(skill)
+                .questionsJson(toJson(quiz.getQuestions()))
+                .answerKeyJson(toJson(answerKey(quiz)))
+                .totalQuestions(quiz.getQuestions().size())
+                .build());
+        log.info("Created quiz session {} for skill ID: {}", session.getId(), skillId);
+
+        // The answer key stays on the server
+        quiz.setSessionId(session.getId());
+        quiz.getQuestions().forEach(q -> q.setCorrectAnswer(null));
+        return quiz;
     }
 
     /**
-     * Submit quiz answers and calculate score
+     * Submit quiz answers and calculate score against the stored answer key - no LLM call
      */
     @Transactional
     public QuizResultResponse submitQuiz(QuizRequest request) {
-        log.info("Submitting quiz for skill ID: {}", request.getSkillId());
-
-        Skill skill = skillRepository.findById(request.getSkillId())
-                .orElseThrow(() -> new RuntimeException("Skill not found: " + request.getSkillId()));
-
-        // Generate quiz again to get correct answers (cached)
-        QuizResponse quiz = generateQuiz(request.getSkillId());
+        log.info("Submitting quiz session {} for skill ID: {}", request.getSessionId(), request.getSkillId());
+
+        QuizSession session = findSession(request);
+        // A session is graded once: re-submissions would rewrite the level and skew item calibration
+        LocalDateTime submittedAt = LocalDateTime.now();
+        if (session.getSubmittedAt() != null || quizSessionRepository.markSubmitted(session.getId(), submittedAt) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Quiz session " + session.getId() + " was already submitted");
+        }
+        Skill skill = session.getSkill();
+        Map<Integer, String> answerKey = readAnswerKey(session);
 
         // Calculate score
         int correctAnswers = 0;
-        int totalQuestions = quiz.getQuestions().size();
+        int totalQuestions = session.getTotalQuestions();
 
         for (QuizRequest.Answer userAnswer : request.getAnswers()) {
-            QuizResponse.Question question = quiz.getQuestions().stream()
-                    .filter(q -> q.getNumber() == userAnswer.getQuestionNumber())
-                    .findFirst()
-                    .orElse(null);
-
-            if (question != null && question.getCorrectAnswer().equals(userAnswer.getSelectedAnswer())) {
+            String correct = answerKey.get(userAnswer.getQuestionNumber());
+            if (correct != null && correct.equals(userAnswer.getSelectedAnswer())) {
                 correctAnswers++;
             }
         }
 
         int scorePercentage = QuizResult.calculateScore(correctAnswers, totalQuestions);
 
+        // Every graded answer also calibrates the item bank used by adaptive quizzes
+        Map<Integer, String> selected = new HashMap<>();
+        request.getAnswers().forEach(a -> selected.put(a.getQuestionNumber(), a.getSelectedAnswer()));
+        itemBankService.recordQuiz(quizPoolService.fingerprint(skill), readQuestions(session), selected);
+
         // Update skill level
         skill.updateLevel(scorePercentage);
         skillRepository.save(skill);
 
+        session.setSubmittedAt(submittedAt);
+
         // Save quiz result
         QuizResult result = QuizResult.builder()
                 .skill(skill)
@@ -107,6 +128,7 @@ public class QuizService {
     /**
      * Get latest quiz result for a skill
      */
+    @Transactional(readOnly = true)
     public QuizResultResponse getLatestResult(Long skillId) {
         QuizResult result = quizResultRepository
                 .findFirstBySkillIdOrderByCompletedAtDesc(skillId)
@@ -124,44 +146,51 @@ public class QuizService {
                 .build();
     }
 
-    private QuizResponse parseQuizFromResponse(String jsonResponse, Long skillId, String skillName) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            JsonNode questionsNode = root.get("questions");
-
-            List<QuizResponse.Question> questions = new ArrayList<>();
-
-            if (questionsNode != null && questionsNode.isArray()) {
-                for (JsonNode qNode : questionsNode) {
-                    List<String> options = new ArrayList<>();
-                    JsonNode optionsNode = qNode.get("options");
-
-                    if (optionsNode.isArray()) {
-                        for (JsonNode option : optionsNode) {
-                            options.add(option.asText());
-                        }
-                    }
-
-                    QuizResponse.Question question = QuizResponse.Question.builder()
-                            .number(qNode.get("number").asInt())
-                            .text(qNode.get("text").asText())
-                            .options(options)
-                            .correctAnswer(qNode.get("correctAnswer").asText())
-                            .build();
-
-                    questions.add(question);
-                }
+    /**
+     * Session by id (checked against the skill), or the latest session of the skill for clients without a session id
+     */
+    private QuizSession findSession(QuizRequest request) {
+        if (request.getSessionId() != null) {
+            QuizSession session = quizSessionRepository.findById(request.getSessionId())
+                    .orElseThrow(() -> new RuntimeException("Quiz session not found: " + request.getSessionId()));
+            if (request.getSkillId() != null && !session.getSkill().getId().equals(request.getSkillId())) {
+                throw new RuntimeException("Quiz session " + session.getId() + " does not belong to skill " + request.getSkillId());
             }
+            return session;
+        }
+        return quizSessionRepository.findFirstBySkillIdOrderByCreatedAtDesc(request.getSkillId())
+                .orElseThrow(() -> new RuntimeException("No quiz generated for skill: " + request.getSkillId()));
+    }
 
-            return QuizResponse.builder()
-                    .skillId(skillId)
-                    .skillName(skillName)
-                    .questions(questions)
-                    .build();
+    private Map<Integer, String> answerKey(QuizResponse quiz) {
+        Map<Integer, String> key = new HashMap<>();
+        quiz.getQuestions().forEach(q -> key.put(q.getNumber(), q.getCorrectAnswer()));
+        return key;
+    }
+
+    private Map<Integer, String> readAnswerKey(QuizSession session) {
+        try {
+            return objectMapper.readValue(session.getAnswerKeyJson(), new TypeReference<Map<Integer, String>>() {});
+        } catch (Exception e) {
+            log.error("Corrupt answer key for quiz session {}", session.getId(), e);
+            throw new RuntimeException("Failed to read quiz answer key");
+        }
+    }
 
+    private List<QuizResponse.Question> readQuestions(QuizSession session) {
+        try {
+            return objectMapper.readValue(session.getQuestionsJson(), new TypeReference<List<QuizResponse.Question>>() {});
+        } catch (Exception e) {
+            log.error("Corrupt questions for quiz session {}", session.getId(), e);
+            throw new RuntimeException("Failed to read quiz questions");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
         } catch (Exception e) {
-            log.error("Error parsing quiz from OpenAI response", e);
-            throw new RuntimeException("Failed to parse quiz from AI response");
+            throw new RuntimeException("Failed to serialize quiz", e);
         }
     }
 
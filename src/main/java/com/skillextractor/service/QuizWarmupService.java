@@ -0,0 +1,148 @@
+package com.skillextractor.service;
+
+import com.skillextractor.model.Skill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pre-generates quizzes for freshly extracted skills so the first "Take quiz" click is served warm.
+ * Runs on a low-priority pool with a minimum spacing between generations and a per-upload ceiling.
+ */
+@Service
+@Slf4j
+public class QuizWarmupService {
+
+    private final QuizPoolService quizPoolService;
+    private final ThreadPoolTaskExecutor quizWarmupExecutor;
+
+    private final Counter scheduled;
+    private final Counter generated;
+    private final Counter failed;
+    private final Counter dropped;
+
+    @Value("${quiz.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${quiz.warmup.max-per-upload:10}")
+    private int maxPerUpload;
+
+    @Value("${quiz.warmup.min-interval-ms:2000}")
+    private long minIntervalMs;
+
+    @Value("${quiz.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${quiz.batch.size:4}")
+    private int batchSize;
+
+    private long nextSlotMillis;
+
+    public QuizWarmupService(QuizPoolService quizPoolService,
+                             @Qualifier("quizWarmupExecutor") ThreadPoolTaskExecutor quizWarmupExecutor,
+                             MeterRegistry meterRegistry) {
+        this.quizPoolService = quizPoolService;
+        this.quizWarmupExecutor = quizWarmupExecutor;
+        this.scheduled = warmupCounter(meterRegistry, "scheduled");
+        this.generated = warmupCounter(meterRegistry, "generated");
+        this.failed = warmupCounter(meterRegistry, "failed");
+        this.dropped = warmupCounter(meterRegistry, "dropped");
+    }
+
+    /**
+     * Queue quiz generation for up to quiz.warmup.max-per-upload of the given skills, specific skills first
+     */
+    public void scheduleFor(List<Skill> skills) {
+        if (!enabled || skills.isEmpty()) {
+            return;
+        }
+
+        List<Skill> selected = skills.stream()
+                .sorted(Comparator.comparing(skill -> Boolean.TRUE.equals(skill.getIsGeneral())))
+                .limit(maxPerUpload)
+                .toList();
+
+        log.info("Scheduling quiz warm-up for {} of {} skills", selected.size(), skills.size());
+        if (batchEnabled && batchSize > 1) {
+            // One completion per quiz.batch.size skills; the throttle then spaces batches, not quizzes
+            for (int from = 0; from < selected.size(); from += batchSize) {
+                List<Skill> batch = selected.subList(from, Math.min(from + batchSize, selected.size()));
+                submit(() -> warmUpBatch(batch), batch.size());
+            }
+            return;
+        }
+        for (Skill skill : selected) {
+            submit(() -> warmUp(skill), 1);
+        }
+    }
+
+    /**
+     * Counts the skills as scheduled only once the pool accepted the task; a full queue drops it
+     */
+    private void submit(Runnable task, int skills) {
+        try {
+            quizWarmupExecutor.execute(task);
+            scheduled.increment(skills);
+        } catch (TaskRejectedException e) {
+            dropped.increment(skills);
+            log.debug("Quiz warm-up queue full, dropped {} skills", skills);
+        }
+    }
+
+    private void warmUpBatch(List<Skill> batch) {
+        try {
+            throttle();
+            quizPoolService.stockAll(batch);
+            generated.increment(batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Quiz warm-up failed for a batch of {} skills: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void warmUp(Skill skill) {
+        try {
+            throttle();
+            quizPoolService.stock(skill);
+            generated.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Quiz warm-up failed for skill {}: {}", skill.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Spaces warm-up generations at least quiz.warmup.min-interval-ms apart across all workers
+     */
+    private void throttle() throws InterruptedException {
+        long waitMillis;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long slot = Math.max(now, nextSlotMillis);
+            nextSlotMillis = slot + minIntervalMs;
+            waitMillis = slot - now;
+        }
+        if (waitMillis > 0) {
+            Thread.sleep(waitMillis);
+        }
+    }
+
+    private Counter warmupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("quiz.warmup")
+                .description("Background quiz pre-generation tasks")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,235 @@
+package com.skillextractor.service;
+
+import com.skillextractor.config.ClusterCacheBus;
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.util.MinHash;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory near-duplicate index of analyzed projects: MinHash signatures over token shingles with
+ * LSH banding (analysis.similarity.bands bands of hashes/bands rows). Two projects share a band bucket
+ * with high probability only when their estimated Jaccard similarity is high, so a lookup compares
+ * the upload against a handful of candidates instead of every project. Signatures are persisted on
+ * the project row and reloaded on startup; changes made on other instances arrive over the {@link ClusterCacheBus}.
+ */
+@Service
+@Slf4j
+public class SimilarityIndex {
+
+    // Heap estimate: map node + boxed key + array header, per project and per band bucket entry
+    private static final int PROJECT_OVERHEAD_BYTES = 32 + 24 + 16;
+    private static final int BUCKET_ENTRY_BYTES = 32 + 24 + 16 + Long.BYTES;
+    private static final String BUS_NAME = "similarityIndex";
+
+    private final ProjectRepository projectRepository;
+    private final ClusterCacheBus clusterCacheBus;
+    private final MinHash minHash;
+    private final boolean enabled;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+
+    private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+    // Key: band index in the high 32 bits, band hash in the low ones. Most buckets hold a single
+    // project, so members are a copy-on-write long[] rather than a set per bucket
+    private final Map<Long, long[]> buckets = new ConcurrentHashMap<>();
+    private final Timer lookupTimer;
+
+    public record Match(Long projectId, double similarity) {
+    }
+
+    public SimilarityIndex(ProjectRepository projectRepository,
+                           @Value("${analysis.similarity.enabled:true}") boolean enabled,
+                           @Value("${analysis.similarity.threshold:0.8}") double threshold,
+                           @Value("${analysis.similarity.hashes:128}") int hashes,
+                           @Value("${analysis.similarity.bands:32}") int bands,
+                           @Value("${analysis.similarity.shingle-size:5}") int shingleSize,
+                           ClusterCacheBus clusterCacheBus,
+                           MeterRegistry meterRegistry) {
+        if (bands <= 0 || hashes % bands != 0) {
+            throw new IllegalStateException("analysis.similarity.hashes must be a multiple of analysis.similarity.bands");
+        }
+        this.projectRepository = projectRepository;
+        this.clusterCacheBus = clusterCacheBus;
+        this.minHash = new MinHash(hashes, shingleSize);
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.bands = bands;
+        this.rows = hashes / bands;
+
+        this.lookupTimer = Timer.builder("analysis.similarity.lookup")
+                .description("Near-duplicate lookup time: candidate retrieval plus similarity estimates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("analysis.similarity.indexed", signatures, Map::size)
+                .description("Projects in the near-duplicate index")
+                .register(meterRegistry);
+        Gauge.builder("analysis.similarity.bytes.per.project", this, SimilarityIndex::bytesPerProject)
+                .description("Estimated heap used by the index per indexed project")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        clusterCacheBus.subscribe(BUS_NAME, this::onRemoteChange);
+    }
+
+    /**
+     * Signature of the uploaded sources, or null when the index is disabled
+     */
+    public int[] signature(List<ProjectUploadRequest.FileData> files) {
+        if (!enabled) {
+            return null;
+        }
+        return minHash.signature(files.stream()
+                .map(ProjectUploadRequest.FileData::getContent)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Most similar indexed project at or above analysis.similarity.threshold
+     */
+    public Optional<Match> findMostSimilar(int[] signature, Long excludeProjectId) {
+        if (signature == null || signatures.isEmpty()) {
+            return Optional.empty();
+        }
+        return lookupTimer.record(() -> {
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                long[] bucket = buckets.get(bucketKey(signature, band));
+                if (bucket != null) {
+                    for (long projectId : bucket) {
+                        candidates.add(projectId);
+                    }
+                }
+            }
+            candidates.remove(excludeProjectId);
+
+            Match best = null;
+            for (Long candidate : candidates) {
+                int[] other = signatures.get(candidate);
+                if (other == null) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(signature, other);
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(candidate, similarity);
+                }
+            }
+            log.debug("Similarity lookup: {} candidates, best {}", candidates.size(), best);
+            return Optional.ofNullable(best);
+        });
+    }
+
+    /**
+     * Add or replace a project's signature, in memory and on the project row
+     */
+    public void index(Long projectId, int[] signature) {
+        if (signature == null) {
+            return;
+        }
+        projectRepository.updateSignature(projectId, MinHash.toBytes(signature));
+        put(projectId, signature);
+        clusterCacheBus.publish(BUS_NAME, ClusterCacheBus.Operation.PUT, projectId);
+    }
+
+    public void remove(Long projectId) {
+        unindex(projectId);
+        clusterCacheBus.publish(BUS_NAME, ClusterCacheBus.Operation.EVICT, projectId);
+    }
+
+    private void unindex(Long projectId) {
+        int[] signature = signatures.remove(projectId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfPresent(bucketKey(signature, band), (key, bucket) -> {
+                long[] remaining = Arrays.stream(bucket).filter(id -> id != projectId).toArray();
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int skipped = 0;
+        for (Object[] row : projectRepository.findSignatures()) {
+            int[] signature = MinHash.fromBytes((byte[]) row[1]);
+            if (signature.length != minHash.size()) {
+                // Stored with different settings; re-indexed when the project is re-uploaded
+                skipped++;
+                continue;
+            }
+            put((Long) row[0], signature);
+        }
+        log.info("Similarity index loaded {} projects in {} ms ({} skipped), ~{} bytes per project",
+                signatures.size(), (System.nanoTime() - start) / 1_000_000, skipped, bytesPerProject());
+    }
+
+    /**
+     * A project indexed or removed on another instance; CLEAR (missed messages) rebuilds from the database
+     */
+    private void onRemoteChange(ClusterCacheBus.Operation operation, String key) {
+        if (!enabled) {
+            return;
+        }
+        if (operation == ClusterCacheBus.Operation.CLEAR) {
+            signatures.clear();
+            buckets.clear();
+            load();
+            return;
+        }
+        Long projectId = Long.valueOf(key);
+        if (operation == ClusterCacheBus.Operation.EVICT) {
+            unindex(projectId);
+        } else {
+            projectRepository.findSignature(projectId)
+                    .map(MinHash::fromBytes)
+                    .filter(signature -> signature.length == minHash.size())
+                    .ifPresent(signature -> put(projectId, signature));
+        }
+    }
+
+    private void put(Long projectId, int[] signature) {
+        unindex(projectId);
+        signatures.put(projectId, signature);
+        for (int band = 0; band < bands; band++) {
+            buckets.merge(bucketKey(signature, band), new long[]{projectId}, (bucket, added) -> {
+                long[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                grown[bucket.length] = projectId;
+                return grown;
+            });
+        }
+    }
+
+    private long bucketKey(int[] signature, int band) {
+        int h = 1;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            h = 31 * h + signature[i];
+        }
+        return ((long) band << 32) | (h & 0xFFFFFFFFL);
+    }
+
+    private double bytesPerProject() {
+        return PROJECT_OVERHEAD_BYTES + (double) minHash.size() * Integer.BYTES + (double) bands * BUCKET_ENTRY_BYTES;
+    }
+}
@@ -3,20 +3,41 @@ package com.skillextractor.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillextractor.dto.PageResponse;
 import com.skillextractor.dto.ProjectUploadRequest;
 import com.skillextractor.dto.SkillResponse;
 import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.enums.SkillLevel;
+import com.skillextractor.exception.LeaseLostException;
 import com.skillextractor.model.Project;
+import com.skillextractor.model.ProjectFile;
 import com.skillextractor.model.Skill;
 import com.skillextractor.model.User;
+import com.skillextractor.repository.ProjectFileRepository;
+import com.skillextractor.repository.ProjectRepository;
 import com.skillextractor.repository.SkillRepository;
+import com.skillextractor.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,34 +46,84 @@ import java.util.stream.Collectors;
 public class SkillAnalysisService {
 
     private final SkillRepository skillRepository;
+    private final ProjectRepository projectRepository;
     private final OpenAIService openAIService;
     private final UserService userService;
     private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor analysisChunkExecutor;
+    private final QuizWarmupService quizWarmupService;
+    private final JavaFeatureDetector javaFeatureDetector;
+    private final SourceCompactor sourceCompactor;
+    private final MeterRegistry meterRegistry;
+    private final ProjectFileRepository projectFileRepository;
+    private final SimilarityIndex similarityIndex;
+    private final LlmJsonExtractor llmJsonExtractor;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final String SKILLS_FORMAT = """
+            {"skills": [{"name": "...", "category": "<category enum name>", "description": "one sentence",
+              "exampleUsage": "code snippet", "isGeneral": false}]}
+            category must be one of:\s""" + String.join(", ",
+            Arrays.stream(SkillCategory.values()).map(Enum::name).toList());
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PART_SUFFIX = Pattern.compile(" \\(part \\d+/\\d+\\)$");
+
+    @Value("${analysis.chunked.enabled:true}")
+    private boolean chunkedEnabled;
+
+    @Value("${analysis.chunk.token-budget:6000}")
+    private int chunkTokenBudget;
+
+    @Value("${analysis.features.fallback-enabled:true}")
+    private boolean featureFallbackEnabled;
+
+    /**
+     * Analyze a project and persist its skills. Deliberately not transactional: the LLM round trip
+     * can take up to a minute and must not hold a pooled connection. Phases:
+     * 1. owner reference (no query), 2. LLM call with no connection held, 3. short write (saveAll).
+     */
     public List<SkillResponse> analyzeAndSaveSkills(
             ProjectUploadRequest request,
             Project project,
-            String username) {
+            Long userId) {
+        return analyzeAndSaveSkills(request, project, userId, () -> true);
+    }
 
-        log.info("Analyzing project {} for skills", project.getName());
+    /**
+     * As above, with the write fenced: writeGuard runs in the write transaction before any skill is
+     * inserted, and when it returns false nothing is saved and LeaseLostException is thrown
+     */
+    public List<SkillResponse> analyzeAndSaveSkills(
+            ProjectUploadRequest request,
+            Project project,
+            Long userId,
+            BooleanSupplier writeGuard) {
 
-        User user = userService.getUserByUsername(username);
+        log.info("Analyzing project {} for skills", project.getName());
 
-        // Combine all file contents
-        String projectCode = combineFileContents(request.getFiles());
-        List<String> fileNames = request.getFiles().stream()
-                .map(ProjectUploadRequest.FileData::getFilename)
-                .collect(Collectors.toList());
+        // Phase 1: owner reference from the id, no user query
+        User user = userService.getUserReference(userId);
 
-        // Call OpenAI for analysis
-        String analysisResponse = openAIService.analyzeProjectForSkills(projectCode, fileNames);
+        // Phase 2: LLM, no transaction - only the delta when a near-duplicate was analyzed before
+        int[] signature = similarityIndex.signature(request.getFiles());
+        List<Skill> skills = similarityIndex.findMostSimilar(signature, project.getId())
+                .map(match -> reuseAndExtract(match, request.getFiles(), project, user))
+                .orElseGet(() -> extractSkills(request.getFiles(), project, user));
 
-        // Parse JSON response
-        List<Skill> skills = parseSkillsFromResponse(analysisResponse, project, user);
+        // Phase 3: write - guard and saveAll in one short transaction
+        List<Skill> extracted = skills;
+        skills = transactionTemplate.execute(status ->
+                writeGuard.getAsBoolean() ? skillRepository.saveAll(extracted) : null);
+        if (skills == null) {
+            throw new LeaseLostException("Skills of project " + project.getId() + " were not saved: lease lost");
+        }
+        similarityIndex.index(project.getId(), signature);
 
-        // Save all skills
-        skills = skillRepository.saveAll(skills);
+        // Optional: pre-generate quizzes in the background so they're ready when the user opens them
+        quizWarmupService.scheduleFor(skills);
 
         // Convert to response DTOs
         return skills.stream()
@@ -60,66 +131,377 @@ public class SkillAnalysisService {
                 .collect(Collectors.toList());
     }
 
-    public List<SkillResponse> getUserSkills(String username) {
-        User user = userService.getUserByUsername(username);
-        return skillRepository.findByUserId(user.getId()).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Compact, chunk and analyze all of the project's files into unsaved skills, each attributed to the file
+     * it was found in. Holds no connection during the LLM calls; only the compaction stats are written.
+     */
+    List<Skill> extractSkills(List<ProjectUploadRequest.FileData> files, Project project, User user) {
+        // Compact before chunking so the token budget is spent on code that matters
+        SourceCompactor.Result compacted = sourceCompactor.compact(files);
+        List<Skill> skills = analyzeCompacted(compacted.files(), files, project, user);
+        recordCompaction(project, compacted);
+        return skills;
     }
 
-    public List<SkillResponse> getUserSkillsByCategory(String username, SkillCategory category) {
-        User user = userService.getUserByUsername(username);
-        return skillRepository.findByUserIdAndCategory(user.getId(), category).stream()
-                .map(this::convertToResponse)
+    /**
+     * Same as {@link #extractSkills} for the added and changed files of a new version. The project's
+     * compaction stats are left alone: they were measured on a full upload, and the diff would
+     * overwrite them with partial numbers.
+     */
+    List<Skill> extractVersionSkills(List<ProjectUploadRequest.FileData> files, Project project, User user) {
+        return analyzeCompacted(sourceCompactor.compact(files).files(), files, project, user);
+    }
+
+    /**
+     * Analyze the compacted files; {@code originals} are the uploaded files they were compacted from,
+     * which the static scan reads so its evidence points at the user's source lines
+     */
+    private List<Skill> analyzeCompacted(List<ProjectUploadRequest.FileData> compacted,
+                                         List<ProjectUploadRequest.FileData> originals, Project project, User user) {
+        List<List<ProjectUploadRequest.FileData>> chunks = chunkedEnabled
+                ? ProjectChunker.pack(compacted, chunkTokenBudget)
+                : List.of(compacted);
+        Map<String, ProjectUploadRequest.FileData> originalsByName = originals.stream()
+                .collect(Collectors.toMap(ProjectUploadRequest.FileData::getFilename, file -> file, (a, b) -> b));
+
+        List<Skill> skills;
+        if (chunks.size() == 1) {
+            skills = analyzeChunk(chunks.get(0), originalsByName, project, user);
+        } else {
+            skills = mergeSkills(analyzeChunksInParallel(chunks, originalsByName, project, user));
+        }
+        return skills;
+    }
+
+    /**
+     * Near-duplicate upload: copy the matched project's skills found in files that are byte-identical
+     * here (same name and digest) and analyze only the remaining files. Falls back to a full analysis
+     * when the match has skills without a source file (extracted before per-file tracking).
+     * The whole upload is compacted once: its stats are recorded like a first analysis, the delta's
+     * compacted files go to the LLM.
+     */
+    private List<Skill> reuseAndExtract(SimilarityIndex.Match match, List<ProjectUploadRequest.FileData> files,
+                                        Project project, User user) {
+        List<Skill> matchedSkills = skillRepository.findByProjectIdAndRetiredAtIsNull(match.projectId());
+        boolean attributed = matchedSkills.stream()
+                .allMatch(skill -> Boolean.TRUE.equals(skill.getIsGeneral()) || skill.getSourceFile() != null);
+        if (matchedSkills.isEmpty() || !attributed) {
+            return extractSkills(files, project, user);
+        }
+
+        Map<String, String> matchedDigests = projectFileRepository.findByProjectId(match.projectId()).stream()
+                .collect(Collectors.toMap(ProjectFile::getFilename, ProjectFile::getDigest, (a, b) -> b));
+        Set<String> identical = projectFileRepository.findByProjectId(project.getId()).stream()
+                .filter(file -> file.getDigest().equals(matchedDigests.get(file.getFilename())))
+                .map(ProjectFile::getFilename)
+                .collect(Collectors.toSet());
+        List<ProjectUploadRequest.FileData> delta = files.stream()
+                .filter(file -> !identical.contains(file.getFilename()))
+                .collect(Collectors.toList());
+
+        // Specific skills from identical files first, then whatever the delta adds
+        Map<String, Skill> merged = new LinkedHashMap<>();
+        matchedSkills.stream()
+                .filter(skill -> !Boolean.TRUE.equals(skill.getIsGeneral()) && identical.contains(skill.getSourceFile()))
+                .forEach(skill -> merged.putIfAbsent(skillKey(skill), copySkill(skill, project, user)));
+        SourceCompactor.Result compacted = sourceCompactor.compact(files);
+        if (!delta.isEmpty()) {
+            List<ProjectUploadRequest.FileData> compactedDelta = compacted.files().stream()
+                    .filter(file -> !identical.contains(file.getFilename()))
+                    .collect(Collectors.toList());
+            analyzeCompacted(compactedDelta, delta, project, user)
+                    .forEach(skill -> merged.putIfAbsent(skillKey(skill), skill));
+        }
+        recordCompaction(project, compacted);
+
+        // General skills of the match for every category that still has specific skills. The match may be
+        // another user's project: its example is only kept when it also appears in the uploaded files.
+        Set<SkillCategory> covered = merged.values().stream()
+                .filter(skill -> !Boolean.TRUE.equals(skill.getIsGeneral()))
+                .map(Skill::getCategory)
+                .collect(Collectors.toSet());
+        List<String> uploaded = files.stream()
+                .map(file -> stripWhitespace(file.getContent()))
                 .collect(Collectors.toList());
+        matchedSkills.stream()
+                .filter(skill -> Boolean.TRUE.equals(skill.getIsGeneral()) && covered.contains(skill.getCategory()))
+                .forEach(skill -> merged.computeIfAbsent(skillKey(skill), key -> {
+                    Skill copy = copySkill(skill, project, user);
+                    String example = stripWhitespace(copy.getExampleUsage());
+                    if (example.isEmpty() || uploaded.stream().noneMatch(content -> content.contains(example))) {
+                        copy.setExampleUsage(null);
+                    }
+                    return copy;
+                }));
+
+        log.info("Project {} is {}% similar to project {}: reused {} of {} files, analyzed {}",
+                project.getName(), Math.round(match.similarity() * 100), match.projectId(),
+                identical.size(), files.size(), delta.size());
+        meterRegistry.counter("analysis.similarity.files", "state", "reused").increment(identical.size());
+        meterRegistry.counter("analysis.similarity.files", "state", "analyzed").increment(delta.size());
+        return new ArrayList<>(merged.values());
+    }
+
+    private static Skill copySkill(Skill source, Project project, User user) {
+        return Skill.builder()
+                .name(source.getName())
+                .category(source.getCategory())
+                .description(source.getDescription())
+                .exampleUsage(source.getExampleUsage())
+                .isGeneral(source.getIsGeneral())
+                .sourceFile(source.getSourceFile())
+                .project(project)
+                .user(user)
+                .build();
+    }
+
+    private void recordCompaction(Project project, SourceCompactor.Result compacted) {
+        project.setSourceBytes(compacted.bytesBefore());
+        project.setPromptBytes(compacted.bytesAfter());
+        project.setSourceTokens(compacted.tokensBefore());
+        project.setPromptTokens(compacted.tokensAfter());
+        projectRepository.updateCompactionStats(project.getId(), compacted.bytesBefore(), compacted.bytesAfter(),
+                compacted.tokensBefore(), compacted.tokensAfter());
+    }
+
+    public List<SkillResponse> getUserSkills(Long userId) {
+        return skillRepository.findResponsesByUserId(userId);
+    }
+
+    public List<SkillResponse> getUserSkillsByCategory(Long userId, SkillCategory category) {
+        return skillRepository.findResponsesByUserIdAndCategory(userId, category);
+    }
+
+    /**
+     * Keyset-paginated, filtered skill listing. {@code fields} (null = all) decides whether the heavy
+     * description / exampleUsage columns are selected at all.
+     */
+    public PageResponse<SkillResponse> getUserSkillsPage(Long userId, SkillCategory category, SkillLevel level,
+                                                         Long projectId, String cursor, int limit, Set<String> fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<SkillResponse> rows = skillRepository.findPage(userId, category, level, projectId,
+                KeysetCursor.decode(cursor), pageSize + 1,
+                fields == null || fields.contains("description"),
+                fields == null || fields.contains("exampleUsage"));
+
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null);
+        }
+        List<SkillResponse> page = rows.subList(0, pageSize);
+        SkillResponse last = page.get(pageSize - 1);
+        return new PageResponse<>(page, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
     public SkillResponse getSkillById(Long skillId) {
-        Skill skill = skillRepository.findById(skillId)
+        return skillRepository.findResponseById(skillId)
                 .orElseThrow(() -> new RuntimeException("Skill not found: " + skillId));
-        return convertToResponse(skill);
     }
 
-    private String combineFileContents(List<ProjectUploadRequest.FileData> files) {
-        StringBuilder combined = new StringBuilder();
-        for (ProjectUploadRequest.FileData file : files) {
-            combined.append("// ========== ").append(file.getFilename()).append(" ==========\n");
-            combined.append(file.getContent()).append("\n\n");
+    /**
+     * Map stage for a single chunk: static pre-scan, one completion, parsed into unsaved skills.
+     * When the LLM fails (down, rate limited) the pre-scan alone provides the skills.
+     * The pre-scan reads the uploaded files the chunk was cut from: compaction drops comments, blank lines
+     * and imports, so line numbers in the compacted text are not the ones the user sees.
+     */
+    private List<Skill> analyzeChunk(List<ProjectUploadRequest.FileData> files,
+                                     Map<String, ProjectUploadRequest.FileData> originalsByName,
+                                     Project project, User user) {
+        FeatureReport features = javaFeatureDetector.scan(files.stream()
+                .map(file -> originalFilename(file.getFilename()))
+                .distinct()
+                .map(originalsByName::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+
+        // Call OpenAI for analysis; an unusable response gets one correction request before failing
+        List<Skill> skills;
+        try {
+            String analysisResponse = openAIService.analyzeProjectForSkills(files, features);
+            skills = parseSkillsFromResponse(analysisResponse, files, project, user);
+        } catch (RuntimeException e) {
+            if (!featureFallbackEnabled || features.isEmpty()) {
+                throw e;
+            }
+            log.warn("LLM analysis failed for project {} ({}), using static feature scan",
+                    project.getName(), e.getMessage());
+            meterRegistry.counter("analysis.features.fallback").increment();
+            skills = parseSkills(features.toSkillsJson(objectMapper), null, project, user).items();
         }
-        return combined.toString();
+
+        attributeSourceFiles(skills, files);
+        return skills;
     }
 
-    private List<Skill> parseSkillsFromResponse(String jsonResponse, Project project, User user) {
-        List<Skill> skills = new ArrayList<>();
+    /**
+     * Tie each specific skill to the file its example comes from, falling back to the chunk's
+     * first file. Incremental re-analysis retires skills by this file name.
+     */
+    private static void attributeSourceFiles(List<Skill> skills, List<ProjectUploadRequest.FileData> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        List<String> stripped = files.stream()
+                .map(file -> stripWhitespace(file.getContent()))
+                .collect(Collectors.toList());
 
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            JsonNode skillsNode = root.get("skills");
-
-            if (skillsNode != null && skillsNode.isArray()) {
-                for (JsonNode skillNode : skillsNode) {
-                    Skill skill = Skill.builder()
-                            .name(skillNode.get("name").asText())
-                            .category(SkillCategory.valueOf(skillNode.get("category").asText()))
-                            .description(skillNode.get("description").asText())
-                            .exampleUsage(skillNode.get("exampleUsage").asText())
-                            .isGeneral(skillNode.has("isGeneral") && skillNode.get("isGeneral").asBoolean())
-                            .project(project)
-                            .user(user)
-                            .build();
-
-                    skills.add(skill);
+        for (Skill skill : skills) {
+            if (Boolean.TRUE.equals(skill.getIsGeneral())) {
+                continue;
+            }
+            String example = stripWhitespace(skill.getExampleUsage());
+            int match = 0;
+            for (int i = 0; i < files.size() && !example.isEmpty(); i++) {
+                if (stripped.get(i).contains(example)) {
+                    match = i;
+                    break;
                 }
             }
-        } catch (Exception e) {
-            log.error("Error parsing skills from OpenAI response", e);
-            throw new RuntimeException("Failed to parse skills from AI response");
+            skill.setSourceFile(originalFilename(files.get(match).getFilename()));
         }
+    }
 
-        return skills;
+    private static String stripWhitespace(String text) {
+        return text == null ? "" : WHITESPACE.matcher(text).replaceAll("");
+    }
+
+    /**
+     * Name of the uploaded file a chunk piece was cut from
+     */
+    private static String originalFilename(String filename) {
+        return PART_SUFFIX.matcher(filename).replaceFirst("");
+    }
+
+    /**
+     * Analyze chunks concurrently on the chunk pool. Any failed chunk fails the whole analysis rather than
+     * silently dropping its skills; chunk results are cached by content, so a re-run only pays for the failed ones.
+     */
+    private List<List<Skill>> analyzeChunksInParallel(
+            List<List<ProjectUploadRequest.FileData>> chunks, Map<String, ProjectUploadRequest.FileData> originalsByName,
+            Project project, User user) {
+        log.info("Project {} split into {} chunks (budget {} tokens)",
+                project.getName(), chunks.size(), chunkTokenBudget);
+
+        List<CompletableFuture<List<Skill>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(
+                        () -> analyzeChunk(chunk, originalsByName, project, user), analysisChunkExecutor))
+                .collect(Collectors.toList());
+
+        List<List<Skill>> results = new ArrayList<>();
+        RuntimeException lastFailure = null;
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                lastFailure = e.getCause() instanceof RuntimeException re ? re : e;
+                failed++;
+                log.warn("Chunk {}/{} of project {} failed: {}",
+                        i + 1, chunks.size(), project.getName(), lastFailure.getMessage());
+            }
+        }
+
+        if (failed > 0) {
+            throw new RuntimeException("Analysis incomplete: " + failed + " of " + chunks.size()
+                    + " chunks failed (" + lastFailure.getMessage() + ")", lastFailure);
+        }
+        return results;
+    }
+
+    /**
+     * Reduce stage: deduplicate skills by category and normalized name, keeping one general skill per category
+     */
+    private List<Skill> mergeSkills(List<List<Skill>> chunkResults) {
+        Map<String, Skill> merged = new LinkedHashMap<>();
+        for (List<Skill> chunkSkills : chunkResults) {
+            for (Skill skill : chunkSkills) {
+                merged.putIfAbsent(skillKey(skill), skill);
+            }
+        }
+        log.info("Merged {} chunk results into {} distinct skills", chunkResults.size(), merged.size());
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Identity of a skill within a project: one general skill per category, specific skills by normalized name
+     */
+    static String skillKey(Skill skill) {
+        return Boolean.TRUE.equals(skill.getIsGeneral())
+                ? skill.getCategory() + ":general"
+                : skill.getCategory() + ":" + normalizeSkillName(skill.getName());
+    }
+
+    private static String normalizeSkillName(String name) {
+        return name.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", " ")
+                .trim();
+    }
+
+    private List<Skill> parseSkillsFromResponse(String jsonResponse, List<ProjectUploadRequest.FileData> files,
+                                                Project project, User user) {
+        LlmJsonExtractor.Extraction<Skill> extraction;
+        try {
+            extraction = parseSkills(jsonResponse,
+                    invalid -> openAIService.correctAnalysis(invalid, SKILLS_FORMAT), project, user);
+        } catch (RuntimeException e) {
+            openAIService.evictAnalysis(files);
+            throw e;
+        }
+        if (extraction.corrected()) {
+            openAIService.cacheAnalysis(files, extraction.json());
+        }
+        return extraction.items();
+    }
+
+    private LlmJsonExtractor.Extraction<Skill> parseSkills(String json, UnaryOperator<String> correction,
+                                                           Project project, User user) {
+        return llmJsonExtractor.extract("skills", json, "skills",
+                (node, repairs) -> readSkill(node, repairs, project, user), correction);
+    }
+
+    /**
+     * Schema check for one skill: name and a known category are required, the rest is defaulted or trimmed
+     */
+    private static Skill readSkill(JsonNode node, LlmJsonExtractor.Repairs repairs, Project project, User user) {
+        String name = node.path("name").asText("").strip();
+        String categoryText = node.path("category").asText(null);
+        SkillCategory category = SkillCategory.fromText(categoryText);
+        if (name.isEmpty() || category == null) {
+            return null;
+        }
+        if (!category.name().equals(categoryText)) {
+            repairs.note();
+        }
+
+        return Skill.builder()
+                .name(limit(name, MAX_NAME_LENGTH, repairs))
+                .category(category)
+                .description(limit(textField(node, "description", repairs), MAX_DESCRIPTION_LENGTH, repairs))
+                .exampleUsage(textField(node, "exampleUsage", repairs))
+                .isGeneral(node.path("isGeneral").asBoolean(false))
+                .project(project)
+                .user(user)
+                .build();
+    }
+
+    private static String textField(JsonNode node, String field, LlmJsonExtractor.Repairs repairs) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            repairs.note();
+            return "";
+        }
+        return value.asText();
+    }
+
+    private static String limit(String text, int maxLength, LlmJsonExtractor.Repairs repairs) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        repairs.note();
+        return text.substring(0, maxLength);
     }
 
-    private SkillResponse convertToResponse(Skill skill) {
+    SkillResponse convertToResponse(Skill skill) {
         return SkillResponse.builder()
                 .id(skill.getId())
                 .name(skill.getName())
@@ -0,0 +1,245 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.CompactionLevel;
+import com.skillextractor.util.TokenEstimator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks uploaded sources before prompting without removing anything skill extraction relies on.
+ * The level (analysis.compaction.level) decides what goes, see {@link CompactionLevel}.
+ * Java sources get the full treatment; string, char and text block literals are always copied verbatim.
+ * XML files (pom.xml) only lose {@code <!-- -->} comments and blank lines, and every other file type
+ * (properties, Gradle scripts) is passed through unchanged, since the Java comment rules would cut
+ * unquoted text such as URLs.
+ */
+@Service
+@Slf4j
+public class SourceCompactor {
+
+    private static final Pattern TRIVIAL_GETTER = Pattern.compile(
+            "((?:public |protected |private )?(?:static )?(?:final )?[\\w.<>\\[\\]?, ]+ (?:get|is)\\w+\\(\\)) ?"
+                    + "\\{\\n?return (?:this\\.)?\\w+;\\n?}");
+    private static final Pattern XML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final Pattern TRIVIAL_SETTER = Pattern.compile(
+            "((?:public |protected |private )?(?:final )?void set\\w+\\((?:final )?[\\w.<>\\[\\]?, ]+ (\\w+)\\)) ?"
+                    + "\\{\\n?(?:this\\.)?\\w+ = \\2;\\n?}");
+
+    private final CompactionLevel level;
+    private final DistributionSummary sourceBytes;
+    private final DistributionSummary promptBytes;
+    private final DistributionSummary sourceTokens;
+    private final DistributionSummary promptTokens;
+
+    public record Result(List<ProjectUploadRequest.FileData> files,
+                         long bytesBefore, long bytesAfter, int tokensBefore, int tokensAfter) {
+    }
+
+    public SourceCompactor(@Value("${analysis.compaction.level:STANDARD}") CompactionLevel level,
+                           MeterRegistry meterRegistry) {
+        this.level = level;
+        this.sourceBytes = sizeSummary(meterRegistry, "analysis.compaction.bytes", "bytes", "source");
+        this.promptBytes = sizeSummary(meterRegistry, "analysis.compaction.bytes", "bytes", "prompt");
+        this.sourceTokens = sizeSummary(meterRegistry, "analysis.compaction.tokens", "tokens", "source");
+        this.promptTokens = sizeSummary(meterRegistry, "analysis.compaction.tokens", "tokens", "prompt");
+    }
+
+    /**
+     * Compact every file at the configured level; the returned files replace the originals for analysis
+     */
+    public Result compact(List<ProjectUploadRequest.FileData> files) {
+        List<ProjectUploadRequest.FileData> compacted = new ArrayList<>(files.size());
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        int tokensBefore = 0;
+        int tokensAfter = 0;
+
+        for (ProjectUploadRequest.FileData file : files) {
+            String original = file.getContent() == null ? "" : file.getContent();
+            String content = switch (extension(file)) {
+                case "java" -> compactSource(original);
+                case "xml" -> compactXml(original);
+                default -> original;
+            };
+
+            ProjectUploadRequest.FileData copy = new ProjectUploadRequest.FileData();
+            copy.setFilename(file.getFilename());
+            copy.setExtension(file.getExtension());
+            copy.setContent(content);
+            compacted.add(copy);
+
+            bytesBefore += utf8Length(original);
+            bytesAfter += utf8Length(content);
+            tokensBefore += TokenEstimator.estimate(original);
+            tokensAfter += TokenEstimator.estimate(content);
+        }
+
+        sourceBytes.record(bytesBefore);
+        promptBytes.record(bytesAfter);
+        sourceTokens.record(tokensBefore);
+        promptTokens.record(tokensAfter);
+        log.info("Compacted {} files at level {}: {} -> {} bytes, ~{} -> ~{} tokens",
+                files.size(), level, bytesBefore, bytesAfter, tokensBefore, tokensAfter);
+
+        return new Result(compacted, bytesBefore, bytesAfter, tokensBefore, tokensAfter);
+    }
+
+    String compactSource(String src) {
+        if (level == CompactionLevel.NONE) {
+            return src;
+        }
+
+        boolean collapse = level.includes(CompactionLevel.STANDARD);
+        StringBuilder out = new StringBuilder(src.length());
+        StringBuilder line = new StringBuilder();
+        int length = src.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = src.charAt(i);
+            char next = i + 1 < length ? src.charAt(i + 1) : 0;
+
+            if (c == '\n') {
+                flushLine(out, line, collapse);
+                i++;
+            } else if (c == '\r') {
+                i++;
+            } else if (c == '/' && next == '/') {
+                int end = src.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && next == '*') {
+                int end = src.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                // Keep tokens on either side of an inline comment apart
+                appendSpace(line);
+            } else if (c == '"' || c == '\'') {
+                int end = c == '"' && src.startsWith("\"\"\"", i) ? textBlockEnd(src, i) : quotedEnd(src, i, c);
+                line.append(src, i, end);
+                i = end;
+            } else if (collapse && (c == ' ' || c == '\t')) {
+                appendSpace(line);
+                i++;
+            } else {
+                line.append(c);
+                i++;
+            }
+        }
+        flushLine(out, line, collapse);
+
+        if (level.includes(CompactionLevel.AGGRESSIVE)) {
+            String result = TRIVIAL_GETTER.matcher(out).replaceAll("$1;");
+            return TRIVIAL_SETTER.matcher(result).replaceAll("$1;");
+        }
+        return out.toString();
+    }
+
+    String compactXml(String src) {
+        if (level == CompactionLevel.NONE) {
+            return src;
+        }
+
+        boolean collapse = level.includes(CompactionLevel.STANDARD);
+        StringBuilder out = new StringBuilder(src.length());
+        for (String line : XML_COMMENT.matcher(src).replaceAll("").split("\r?\n")) {
+            String text = collapse ? line.strip() : line.stripTrailing();
+            if (!text.isEmpty()) {
+                out.append(text).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static String extension(ProjectUploadRequest.FileData file) {
+        String name = file.getExtension() != null && !file.getExtension().isBlank()
+                ? file.getExtension()
+                : file.getFilename() != null ? file.getFilename() : "";
+        int dot = name.lastIndexOf('.');
+        return name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static void flushLine(StringBuilder out, StringBuilder line, boolean collapse) {
+        String text = collapse ? line.toString().strip() : line.toString().stripTrailing();
+        line.setLength(0);
+        if (text.isEmpty()) {
+            return;
+        }
+        if (collapse && (text.startsWith("import ") || text.startsWith("package "))) {
+            return;
+        }
+        out.append(text).append('\n');
+    }
+
+    private static void appendSpace(StringBuilder line) {
+        if (!line.isEmpty() && line.charAt(line.length() - 1) != ' ') {
+            line.append(' ');
+        }
+    }
+
+    private static int quotedEnd(String src, int start, char quote) {
+        int i = start + 1;
+        while (i < src.length()) {
+            char c = src.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n') {
+                // Unterminated literal: stop before the line break
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return src.length();
+    }
+
+    private static int textBlockEnd(String src, int start) {
+        int i = start + 3;
+        while (i < src.length()) {
+            if (src.charAt(i) == '\\') {
+                i += 2;
+            } else if (src.startsWith("\"\"\"", i)) {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return src.length();
+    }
+
+    private static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                // Surrogate pair encodes to 4 bytes
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static DistributionSummary sizeSummary(MeterRegistry meterRegistry, String name, String unit, String stage) {
+        return DistributionSummary.builder(name)
+                .description("Analyzed source size per upload before (source) and after (prompt) compaction")
+                .baseUnit(unit)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,225 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Turns multipart uploads (individual files and/or ZIP archives) into a {@link ProjectUploadRequest}
+ * with bounded heap use. Parts and archive entries are streamed through a fixed buffer into a temp
+ * spool directory; project.max.files and project.max.size.mb are enforced on the decompressed bytes
+ * while copying, so oversized uploads and ZIP bombs are rejected before anything is read into memory.
+ * Files keep their normalized relative path (src/a/Util.java), so equally named files in different
+ * directories stay apart; paths escaping the upload ({@code ..}) and duplicates are rejected.
+ */
+@Service
+@Slf4j
+public class UploadSpooler {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_PATH_LENGTH = 255;
+
+    @Value("${project.max.files:20}")
+    private int maxFiles;
+
+    @Value("${project.max.size.mb:10}")
+    private long maxSizeMb;
+
+    @Value("${project.upload.spool-dir:${java.io.tmpdir}}")
+    private String spoolDir;
+
+    public ProjectUploadRequest spool(String projectName, String description, List<MultipartFile> parts) {
+        if (parts == null || parts.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No files provided");
+        }
+
+        Path directory = createSpoolDirectory();
+        try {
+            Spool spool = stream(directory, parts);
+
+            if (spool.files.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "No .java or build files found in upload");
+            }
+            log.info("Spooled {} files ({} bytes) for project {}", spool.files.size(), spool.totalBytes, projectName);
+
+            ProjectUploadRequest request = new ProjectUploadRequest();
+            request.setProjectName(projectName);
+            request.setDescription(description);
+            request.setFiles(spool.load());
+            return request;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool upload", e);
+        } finally {
+            deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * Streaming stage only: validate and copy every part into the directory; nothing is read into memory
+     */
+    Spool stream(Path directory, List<MultipartFile> parts) throws IOException {
+        Spool spool = new Spool(directory);
+        for (MultipartFile part : parts) {
+            String name = part.getOriginalFilename() == null ? "" : part.getOriginalFilename();
+            try (InputStream in = part.getInputStream()) {
+                if (name.toLowerCase(Locale.ROOT).endsWith(".zip")) {
+                    spool.addArchive(name, in);
+                } else if (isAnalyzable(name)) {
+                    spool.add(relativePath(name), in);
+                } else {
+                    log.debug("Skipping unsupported upload part {}", name);
+                }
+            }
+        }
+        return spool;
+    }
+
+    static boolean isAnalyzable(String name) {
+        String lower = baseName(name).toLowerCase(Locale.ROOT);
+        return lower.endsWith(".java")
+                || lower.equals("pom.xml")
+                || lower.endsWith(".gradle")
+                || lower.endsWith(".gradle.kts");
+    }
+
+    /**
+     * Entry path relative to the upload root: separators unified, empty and "." segments dropped
+     */
+    static String relativePath(String name) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : name.replace('\\', '/').split("/")) {
+            if (segment.equals("..")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid file path: " + name);
+            }
+            if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.add(segment);
+            }
+        }
+        String path = String.join("/", segments);
+        if (path.isEmpty() || path.length() > MAX_PATH_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid file path: " + name);
+        }
+        return path;
+    }
+
+    private static String baseName(String name) {
+        String normalized = name.replace('\\', '/');
+        return normalized.substring(normalized.lastIndexOf('/') + 1);
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1);
+    }
+
+    private Path createSpoolDirectory() {
+        try {
+            return Files.createTempDirectory(Path.of(spoolDir), "upload-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create upload spool directory in " + spoolDir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Could not delete upload spool {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Spool state for one upload: the files written so far and their running total
+     */
+    final class Spool {
+        private final Path directory;
+        private final List<SpooledFile> files = new ArrayList<>();
+        private final Set<String> filenames = new HashSet<>();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private long totalBytes;
+
+        Spool(Path directory) {
+            this.directory = directory;
+        }
+
+        void addArchive(String archiveName, InputStream in) throws IOException {
+            try (ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8)) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    if (!entry.isDirectory() && !entry.getName().startsWith("__MACOSX/")
+                            && isAnalyzable(entry.getName())) {
+                        add(relativePath(entry.getName()), zip);
+                    }
+                }
+            } catch (ZipException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid ZIP archive: " + archiveName);
+            }
+        }
+
+        void add(String filename, InputStream in) throws IOException {
+            if (files.size() >= maxFiles) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Maximum " + maxFiles + " files allowed");
+            }
+            if (!filenames.add(filename)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate file in upload: " + filename);
+            }
+
+            long maxBytes = maxSizeMb * 1024 * 1024;
+            Path target = directory.resolve(files.size() + ".src");
+            try (OutputStream out = Files.newOutputStream(target)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    totalBytes += read;
+                    if (totalBytes > maxBytes) {
+                        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "Total file size exceeds " + maxSizeMb + "MB");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            files.add(new SpooledFile(filename, target));
+        }
+
+        /**
+         * Read the validated files back, one at a time
+         */
+        List<ProjectUploadRequest.FileData> load() throws IOException {
+            List<ProjectUploadRequest.FileData> loaded = new ArrayList<>(files.size());
+            for (SpooledFile file : files) {
+                ProjectUploadRequest.FileData data = new ProjectUploadRequest.FileData();
+                data.setFilename(file.filename());
+                data.setExtension(extension(file.filename()));
+                // Lenient decoding: invalid UTF-8 is replaced rather than failing the upload
+                data.setContent(new String(Files.readAllBytes(file.path()), StandardCharsets.UTF_8));
+                loaded.add(data);
+            }
+            return loaded;
+        }
+    }
+
+    private record SpooledFile(String filename, Path path) {
+    }
+}
@@ -1,22 +1,56 @@
 package com.skillextractor.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillextractor.config.AuthenticatedUser;
+import com.skillextractor.config.ClusterCacheBus;
 import com.skillextractor.dto.AuthResponse;
 import com.skillextractor.dto.UserRegistrationRequest;
 import com.skillextractor.model.User;
 import com.skillextractor.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Request paths identify the user by id: it comes from the {@link AuthenticatedUser} principal, and
+ * entities get a {@link #getUserReference reference} instead of a loaded row. The few lookups by name
+ * that remain go through a small bounded username→id cache, evicted here and on other instances
+ * ({@link ClusterCacheBus}) whenever a user changes.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    private static final String BUS_NAME = "userIds";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ClusterCacheBus clusterCacheBus;
+
+    private final Cache<String, Long> userIds;
+
+    public UserService(UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       ClusterCacheBus clusterCacheBus,
+                       @Value("${auth.user-id-cache.size:10000}") long userIdCacheSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.clusterCacheBus = clusterCacheBus;
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(userIdCacheSize)
+                .build();
+        clusterCacheBus.subscribe(BUS_NAME, (operation, key) -> {
+            if (key == null) {
+                userIds.invalidateAll();
+            } else {
+                userIds.invalidate(key);
+            }
+        });
+    }
 
     @Transactional
     public AuthResponse registerUser(UserRegistrationRequest request) {
@@ -38,6 +72,7 @@ public class UserService {
                 .build();
 
         user = userRepository.save(user);
+        evictUserId(user.getUsername());
 
         return AuthResponse.builder()
                 .userId(user.getId())
@@ -47,6 +82,40 @@ public class UserService {
                 .build();
     }
 
+    /**
+     * Id of the authenticated user: straight from the principal, or by (cached) name for
+     * authentications that do not carry an {@link AuthenticatedUser}
+     */
+    public Long currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return getUserIdByUsername(authentication.getName());
+    }
+
+    public Long getUserIdByUsername(String username) {
+        Long id = userIds.get(username, name -> userRepository.findIdByUsername(name).orElse(null));
+        if (id == null) {
+            throw new RuntimeException("User not found: " + username);
+        }
+        return id;
+    }
+
+    /**
+     * Stand-in for the user row when only its id is needed (owner of a new project or skill); no query
+     */
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Call after any change to a user's username or existence
+     */
+    public void evictUserId(String username) {
+        userIds.invalidate(username);
+        clusterCacheBus.publish(BUS_NAME, ClusterCacheBus.Operation.EVICT, username);
+    }
+
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
@@ -56,4 +125,4 @@ public class UserService {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
-}
\ No newline at end of file
+}
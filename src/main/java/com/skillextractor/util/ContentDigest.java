@@ -0,0 +1,97 @@
+package com.skillextractor.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Incremental SHA-256 digest over text, used for content-addressed cache keys.
+ * Text is encoded through a small fixed buffer so multi-megabyte sources are never copied whole.
+ */
+public final class ContentDigest {
+
+    private static final int BUFFER_CHARS = 4096;
+    private static final byte SEPARATOR = 0;
+
+    private final MessageDigest digest;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final char[] chars = new char[BUFFER_CHARS + 1];
+    private final ByteBuffer bytes = ByteBuffer.allocate((BUFFER_CHARS + 1) * 4);
+
+    private ContentDigest(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    public static ContentDigest sha256() {
+        try {
+            return new ContentDigest(MessageDigest.getInstance("SHA-256"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Feeds a short value followed by a field separator
+     */
+    public ContentDigest update(String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Feeds text with CRLF/CR line endings normalized to LF, followed by a field separator
+     */
+    public ContentDigest updateNormalized(CharSequence text) {
+        if (text != null) {
+            int length = text.length();
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c == '\r') {
+                    if (i + 1 < length && text.charAt(i + 1) == '\n') {
+                        continue;
+                    }
+                    c = '\n';
+                }
+                chars[n++] = c;
+                // Never split a surrogate pair across two encoder calls
+                if (n >= BUFFER_CHARS && !Character.isHighSurrogate(c)) {
+                    flush(n);
+                    n = 0;
+                }
+            }
+            flush(n);
+        }
+        digest.update(SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Completes the digest and returns it as lowercase hex
+     */
+    public String hex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void flush(int length) {
+        if (length == 0) {
+            return;
+        }
+        bytes.clear();
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(chars, 0, length), bytes, true);
+        encoder.flush(bytes);
+        bytes.flip();
+        digest.update(bytes);
+    }
+}
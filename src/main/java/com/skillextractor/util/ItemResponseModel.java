@@ -0,0 +1,110 @@
+package com.skillextractor.util;
+
+/**
+ * Rasch item response model with a fixed guessing floor (1PL + c): the probability that a person of
+ * ability theta answers an item of difficulty b correctly is c + (1 - c) / (1 + e^-(theta - b)),
+ * where c = 1 / number of options. Abilities and difficulties share one logit scale centred on 0.
+ */
+public final class ItemResponseModel {
+
+    public static final double MIN_LOGIT = -4.0;
+    public static final double MAX_LOGIT = 4.0;
+
+    // Quadrature grid for the ability posterior: standard normal prior over [-4, 4]
+    private static final int GRID_POINTS = 81;
+    private static final double[] GRID = new double[GRID_POINTS];
+    private static final double[] LOG_PRIOR = new double[GRID_POINTS];
+
+    static {
+        for (int i = 0; i < GRID_POINTS; i++) {
+            GRID[i] = MIN_LOGIT + (MAX_LOGIT - MIN_LOGIT) * i / (GRID_POINTS - 1);
+            LOG_PRIOR[i] = -GRID[i] * GRID[i] / 2;
+        }
+    }
+
+    private ItemResponseModel() {
+    }
+
+    public record Estimate(double theta, double standardError) {
+    }
+
+    public static double guessing(int options) {
+        return options > 1 ? 1.0 / options : 0.0;
+    }
+
+    public static double probability(double theta, double difficulty, double guessing) {
+        return guessing + (1 - guessing) / (1 + Math.exp(difficulty - theta));
+    }
+
+    /**
+     * Fisher information of the item at theta: how much one answer narrows the ability estimate there
+     */
+    public static double information(double theta, double difficulty, double guessing) {
+        double p = probability(theta, difficulty, guessing);
+        double q = 1 - p;
+        double above = p - guessing;
+        return (above * above) / ((1 - guessing) * (1 - guessing)) * (q / p);
+    }
+
+    /**
+     * Expected a posteriori ability and its posterior standard deviation after the given answers.
+     * With no answers this is the prior: theta 0, standard error 1.
+     */
+    public static Estimate estimate(double[] difficulties, double[] guessing, boolean[] correct, int count) {
+        double[] logPosterior = new double[GRID_POINTS];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int g = 0; g < GRID_POINTS; g++) {
+            double log = LOG_PRIOR[g];
+            for (int i = 0; i < count; i++) {
+                double p = probability(GRID[g], difficulties[i], guessing[i]);
+                log += Math.log(correct[i] ? p : 1 - p);
+            }
+            logPosterior[g] = log;
+            max = Math.max(max, log);
+        }
+
+        double total = 0;
+        double mean = 0;
+        double square = 0;
+        for (int g = 0; g < GRID_POINTS; g++) {
+            double weight = Math.exp(logPosterior[g] - max);
+            total += weight;
+            mean += weight * GRID[g];
+            square += weight * GRID[g] * GRID[g];
+        }
+        mean /= total;
+        double variance = Math.max(0, square / total - mean * mean);
+        return new Estimate(mean, Math.sqrt(variance));
+    }
+
+    /**
+     * One stochastic gradient step on the item's log-likelihood for a response at the given ability
+     */
+    public static double updateDifficulty(double difficulty, double guessing, double theta, boolean correct,
+                                          double rate) {
+        double logistic = 1 / (1 + Math.exp(difficulty - theta));
+        double p = guessing + (1 - guessing) * logistic;
+        double gradient = -((correct ? 1 : 0) - p) * (1 - guessing) * logistic * (1 - logistic) / (p * (1 - p));
+        return clamp(difficulty + rate * gradient);
+    }
+
+    /**
+     * Ability as a 0-100 percentile of the normal prior, the scale of {@code SkillLevel.fromScore}
+     */
+    public static int percentile(double theta) {
+        return (int) Math.round(100 * normalCdf(theta));
+    }
+
+    public static double clamp(double logit) {
+        return Math.max(MIN_LOGIT, Math.min(MAX_LOGIT, logit));
+    }
+
+    // Abramowitz-Stegun 7.1.26, absolute error below 1.5e-7
+    private static double normalCdf(double x) {
+        double z = Math.abs(x) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * z);
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        double erf = 1 - poly * Math.exp(-z * z);
+        return x >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
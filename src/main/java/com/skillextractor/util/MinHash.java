@@ -0,0 +1,153 @@
+package com.skillextractor.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over token shingles of source code. Whitespace and comments are skipped, so
+ * reformatting or re-commenting a file does not change its shingles. The fraction of equal signature
+ * slots estimates the Jaccard similarity of two shingle sets.
+ */
+public final class MinHash {
+
+    private static final long SEED = 0x5EED_CAFE_F00DL;
+
+    private final int shingleSize;
+    private final int[] seeds;
+
+    public MinHash(int numHashes, int shingleSize) {
+        this.shingleSize = shingleSize;
+        this.seeds = new SplittableRandom(SEED).ints(numHashes).toArray();
+    }
+
+    public int size() {
+        return seeds.length;
+    }
+
+    /**
+     * Signature of all given texts as one shingle set; texts are shingled separately
+     */
+    public int[] signature(Iterable<String> texts) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int[] window = new int[shingleSize];
+
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            int tokens = 0;
+            int length = text.length();
+            int i = 0;
+            while (i < length) {
+                char c = text.charAt(i);
+                char next = i + 1 < length ? text.charAt(i + 1) : 0;
+                int end;
+                if (Character.isWhitespace(c)) {
+                    i++;
+                    continue;
+                } else if (c == '/' && next == '/') {
+                    end = indexOf(text, "\n", i);
+                    i = end;
+                    continue;
+                } else if (c == '/' && next == '*') {
+                    end = indexOf(text, "*/", i + 2);
+                    i = Math.min(length, end + 2);
+                    continue;
+                } else if (Character.isJavaIdentifierPart(c)) {
+                    end = i + 1;
+                    while (end < length && Character.isJavaIdentifierPart(text.charAt(end))) {
+                        end++;
+                    }
+                } else {
+                    end = i + 1;
+                }
+
+                window[tokens++ % shingleSize] = tokenHash(text, i, end);
+                i = end;
+                if (tokens >= shingleSize) {
+                    update(signature, shingleHash(window, tokens));
+                }
+            }
+            // Files shorter than one shingle still contribute
+            if (tokens > 0 && tokens < shingleSize) {
+                update(signature, shingleHash(window, tokens));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity: the fraction of equal slots
+     */
+    public static double similarity(int[] a, int[] b) {
+        if (a.length != b.length || a.length == 0) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private void update(int[] signature, int shingle) {
+        for (int i = 0; i < seeds.length; i++) {
+            int h = mix(shingle ^ seeds[i]);
+            if (h < signature[i]) {
+                signature[i] = h;
+            }
+        }
+    }
+
+    /**
+     * Order-sensitive hash of the last {@code min(tokens, shingleSize)} tokens in the ring buffer
+     */
+    private int shingleHash(int[] window, int tokens) {
+        int count = Math.min(tokens, shingleSize);
+        int h = 1;
+        for (int k = tokens - count; k < tokens; k++) {
+            h = 31 * h + window[k % shingleSize];
+        }
+        return h;
+    }
+
+    private static int tokenHash(String text, int start, int end) {
+        // FNV-1a
+        int h = 0x811C9DC5;
+        for (int i = start; i < end; i++) {
+            h = (h ^ text.charAt(i)) * 0x01000193;
+        }
+        return h;
+    }
+
+    private static int indexOf(String text, String target, int from) {
+        int index = text.indexOf(target, from);
+        return index < 0 ? text.length() : index;
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,79 @@
+package com.skillextractor.util;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text made of segments that are never concatenated: read it through {@link #openReader()} to
+ * stream it (e.g. into a JSON generator) without building one big String.
+ */
+public final class SegmentedText {
+
+    private final List<CharSequence> segments = new ArrayList<>();
+    private long length;
+
+    public SegmentedText append(CharSequence segment) {
+        if (segment != null && !segment.isEmpty()) {
+            segments.add(segment);
+            length += segment.length();
+        }
+        return this;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int estimateTokens() {
+        return segments.stream().mapToInt(TokenEstimator::estimate).sum();
+    }
+
+    /**
+     * A fresh reader over all segments; may be opened any number of times
+     */
+    public Reader openReader() {
+        return new Reader() {
+            private int segment;
+            private int offset;
+
+            @Override
+            public int read(char[] buffer, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                while (segment < segments.size() && offset == segments.get(segment).length()) {
+                    segment++;
+                    offset = 0;
+                }
+                if (segment == segments.size()) {
+                    return -1;
+                }
+
+                CharSequence current = segments.get(segment);
+                int count = Math.min(len, current.length() - offset);
+                if (current instanceof String string) {
+                    string.getChars(offset, offset + count, buffer, off);
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        buffer[off + i] = current.charAt(offset + i);
+                    }
+                }
+                offset += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+                segment = segments.size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder((int) Math.min(length, Integer.MAX_VALUE));
+        segments.forEach(sb::append);
+        return sb.toString();
+    }
+}
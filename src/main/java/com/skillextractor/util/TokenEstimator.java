@@ -0,0 +1,27 @@
+package com.skillextractor.util;
+
+/**
+ * Cheap prompt size estimate. OpenAI models average roughly four characters of source per token,
+ * which is accurate enough for budgeting without shipping a tokenizer.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Approximate number of characters that fit into the given token budget
+     */
+    public static int charsFor(int tokens) {
+        return tokens * CHARS_PER_TOKEN;
+    }
+}
@@ -5,32 +5,31 @@ const API_BASE = '/api';
 
 // Authentication helpers
 function getAuthHeader() {
-    const credentials = localStorage.getItem('credentials');
-    if (!credentials) {
+    const token = localStorage.getItem('token');
+    if (!token) {
         window.location.href = '/login.html';
         return null;
     }
     return {
-        'Authorization': `Basic ${credentials}`,
+        'Authorization': `Bearer ${token}`,
         'Content-Type': 'application/json'
     };
 }
 
-function saveCredentials(username, password) {
-    const credentials = btoa(`${username}:${password}`);
-    localStorage.setItem('credentials', credentials);
+function saveToken(token, username) {
+    localStorage.setItem('token', token);
     localStorage.setItem('username', username);
 }
 
 function logout() {
-    localStorage.removeItem('credentials');
+    localStorage.removeItem('token');
     localStorage.removeItem('username');
     window.location.href = '/index.html';
 }
 
 function checkAuth() {
-    const credentials = localStorage.getItem('credentials');
-    if (!credentials) {
+    const token = localStorage.getItem('token');
+    if (!token) {
         window.location.href = '/login.html';
     }
 }
@@ -69,14 +68,31 @@ async function apiCall(endpoint, method = 'GET', body = null) {
     }
 }
 
-// File reading helper
-function readFileAsText(file) {
-    return new Promise((resolve, reject) => {
-        const reader = new FileReader();
-        reader.onload = (e) => resolve(e.target.result);
-        reader.onerror = (e) => reject(e);
-        reader.readAsText(file);
+// Multipart upload: the browser streams the files, no JSON body or Content-Type header
+async function apiUpload(endpoint, formData) {
+    const token = localStorage.getItem('token');
+    if (!token) {
+        window.location.href = '/login.html';
+        return null;
+    }
+
+    const response = await fetch(`${API_BASE}${endpoint}`, {
+        method: 'POST',
+        headers: { 'Authorization': `Bearer ${token}` },
+        body: formData
     });
+
+    if (response.status === 401) {
+        logout();
+        return null;
+    }
+
+    if (!response.ok) {
+        const error = await response.json();
+        throw new Error(error.message || 'Upload failed');
+    }
+
+    return await response.json();
 }
 
 // Format date
@@ -1,8 +1,16 @@
 // dashboard.js - Dashboard functionality
 
 let currentSkills = [];
+let currentProjects = [];
 let currentQuiz = null;
 let currentSkillId = null;
+let skillsCursor = null;
+let projectsCursor = null;
+
+// List views don't need code snippets - keep pages small
+const SKILL_LIST_FIELDS = 'description';
+const PROJECT_LIST_FIELDS = 'description';
+const PAGE_SIZE = 50;
 
 // Initialize dashboard
 document.addEventListener('DOMContentLoaded', () => {
@@ -45,37 +53,35 @@ async function uploadProject() {
         return;
     }
 
-    // Show progress
+    // Show progress; the form stays disabled until the job settles
     const progressDiv = document.getElementById('uploadProgress');
+    const submitButton = document.querySelector('#uploadForm button[type="submit"]');
     progressDiv.classList.remove('d-none');
+    submitButton.disabled = true;
     console.log('Starting upload...');
 
     try {
-        // Read all files
-        const fileDataPromises = Array.from(files).map(async (file) => {
-            const content = await readFileAsText(file);
-            return {
-                filename: file.name,
-                content: content,
-                extension: file.name.split('.').pop()
-            };
-        });
-
-        const fileData = await Promise.all(fileDataPromises);
-        console.log(`Prepared ${fileData.length} files for upload`);
-
-        // Upload to backend
-        const response = await apiCall('/projects/upload', 'POST', {
-            projectName,
-            description,
-            files: fileData
-        });
+        // Send files (or a ZIP) as multipart - analysis runs in the background, we poll the job
+        const formData = new FormData();
+        formData.append('projectName', projectName);
+        formData.append('description', description);
+        Array.from(files).forEach(file => formData.append('files', file));
 
-        // Hide progress
-        progressDiv.classList.add('d-none');
+        const response = await apiUpload('/projects/upload?async=true', formData);
 
         if (response) {
-            console.log('Upload successful:', response);
+            console.log('Upload accepted:', response);
+            const job = await waitForJob(response.job.jobId);
+
+            // Hide progress
+            progressDiv.classList.add('d-none');
+
+            if (!job) {
+                throw new Error('Could not read the analysis job status');
+            }
+            if (job.status === 'FAILED' || job.status === 'DEAD') {
+                throw new Error(job.error || 'Analysis failed');
+            }
             alert('Project uploaded and analyzed successfully!');
 
             // Reset form
@@ -94,16 +100,33 @@ async function uploadProject() {
         progressDiv.classList.add('d-none');
         console.error('Upload failed:', error);
         alert('Upload failed: ' + error.message);
+    } finally {
+        submitButton.disabled = false;
+    }
+}
+
+// Poll analysis job until it finishes
+async function waitForJob(jobId, intervalMs = 2000) {
+    while (true) {
+        const job = await apiCall(`/jobs/${jobId}`);
+        console.log('Job status:', job);
+        if (!job || job.status === 'DONE' || job.status === 'FAILED' || job.status === 'DEAD') {
+            return job;
+        }
+        await new Promise(resolve => setTimeout(resolve, intervalMs));
     }
 }
 
-// Load projects
-async function loadProjects() {
+// Load projects (first page, or the next one when append is true)
+async function loadProjects(append = false) {
     console.log('Loading projects...');
     try {
-        const projects = await apiCall('/projects');
-        console.log('Received projects:', projects);
-        displayProjects(projects);
+        const cursorParam = append && projectsCursor ? `&cursor=${encodeURIComponent(projectsCursor)}` : '';
+        const page = await apiCall(`/projects/page?limit=${PAGE_SIZE}&fields=${PROJECT_LIST_FIELDS}${cursorParam}`);
+        console.log('Received projects:', page);
+        currentProjects = append ? currentProjects.concat(page.items) : page.items;
+        projectsCursor = page.nextCursor;
+        displayProjects(currentProjects);
     } catch (error) {
         console.error('Failed to load projects:', error);
     }
@@ -138,7 +161,9 @@ function displayProjects(projects) {
                 </div>
             </div>
         </div>
-    `).join('');
+    `).join('') + (projectsCursor
+        ? '<button class="btn btn-outline-primary" onclick="loadProjects(true)">Load more projects</button>'
+        : '');
 }
 
 // Delete project function
@@ -185,14 +210,16 @@ async function deleteProject(projectId) {
     }
 }
 
-// Load skills
-async function loadSkills() {
+// Load skills (first page, or the next one when append is true)
+async function loadSkills(append = false) {
     console.log('Loading skills...');
     try {
-        const skills = await apiCall('/skills');
-        console.log('Received skills:', skills);
-        currentSkills = skills;
-        displaySkills(skills);
+        const cursorParam = append && skillsCursor ? `&cursor=${encodeURIComponent(skillsCursor)}` : '';
+        const page = await apiCall(`/skills/page?limit=${PAGE_SIZE}&fields=${SKILL_LIST_FIELDS}${cursorParam}`);
+        console.log('Received skills:', page);
+        currentSkills = append ? currentSkills.concat(page.items) : page.items;
+        skillsCursor = page.nextCursor;
+        displaySkills(currentSkills);
     } catch (error) {
         console.error('Failed to load skills:', error);
     }
@@ -241,7 +268,9 @@ function displaySkills(skills) {
                 `).join('')}
             </div>
         </div>
-    `).join('');
+    `).join('') + (skillsCursor
+        ? '<button class="btn btn-outline-primary mb-3" onclick="loadSkills(true)">Load more skills</button>'
+        : '');
 }
 
 // Open quiz modal
@@ -357,6 +386,7 @@ async function submitQuiz(e) {
 
     try {
         const result = await apiCall('/quiz/submit', 'POST', {
+            sessionId: currentQuiz.sessionId,
             skillId: currentSkillId,
             answers: answers
         });
@@ -0,0 +1,68 @@
+package com.skillextractor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterCacheBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClusterCacheBus bus;
+
+    @AfterEach
+    void stop() {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void failingListenerDoesNotSkipTheOtherCaches() {
+        bus = new ClusterCacheBus(null, new ObjectMapper(), meterRegistry, false, 500);
+        List<String> cleared = new ArrayList<>();
+        bus.subscribe("similarity", (operation, key) -> {
+            throw new DataAccessResourceFailureException("database unavailable");
+        });
+        bus.subscribe("analysis", (operation, key) -> cleared.add("analysis"));
+        bus.subscribe("quizzes", (operation, key) -> cleared.add("quizzes"));
+
+        bus.clearLocal();
+
+        assertThat(cleared).containsExactlyInAnyOrder("analysis", "quizzes");
+    }
+
+    /**
+     * A runtime failure, not only an SQLException, is retried instead of ending the listener thread
+     */
+    @Test
+    void listenerSurvivesRuntimeFailures() throws InterruptedException {
+        AtomicInteger connects = new AtomicInteger();
+        DataSource failing = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getConnection")) {
+                        connects.incrementAndGet();
+                        throw new DataAccessResourceFailureException("pool exhausted");
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        bus = new ClusterCacheBus(failing, new ObjectMapper(), meterRegistry, true, 500);
+
+        bus.start();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (connects.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(connects.get()).as("connection attempts").isGreaterThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,47 @@
+package com.skillextractor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The cache stack as CacheConfig builds it: a coalescing cache over a cluster cache
+ */
+class ClusterCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCache memory = new ConcurrentMapCache("analysis");
+    private final ClusterCacheBus bus = new ClusterCacheBus(null, new ObjectMapper(), meterRegistry, false, 500);
+    private final Cache cache = new CoalescingCache(new ClusterCache(memory, memory, bus, meterRegistry), meterRegistry);
+
+    @Test
+    void loadedMissIsCountedOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("key", () -> "value-" + loads.incrementAndGet())).isEqualTo("value-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isZero();
+    }
+
+    @Test
+    void hitIsCountedOnce() {
+        cache.get("key", () -> "value");
+
+        assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("cache.cluster.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,72 @@
+package com.skillextractor.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CoalescingCache cache = new CoalescingCache(new LoadingCache(), meterRegistry);
+
+    /**
+     * Loads like TieredCache and ClusterCache: exceptions are wrapped, Errors propagate as thrown
+     */
+    private static class LoadingCache extends ConcurrentMapCache {
+
+        LoadingCache() {
+            super("quizGeneration");
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            try {
+                T value = valueLoader.call();
+                put(key, value);
+                return value;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+    }
+
+    /**
+     * A leader failing with an Error still releases its followers, with the same Error
+     */
+    @Test
+    void followerFailsWhenLeaderThrowsError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch followerJoined = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            loading.countDown();
+            followerJoined.await(10, TimeUnit.SECONDS);
+            throw new StackOverflowError("loader blew up");
+        }));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() ->
+                cache.get("key", () -> "follower must not load"));
+        // The follower is coalesced (joined the leader) before the leader fails
+        while (meterRegistry.get("cache.loads").tag("outcome", "coalesced").counter().count() < 1) {
+            Thread.sleep(5);
+        }
+        followerJoined.countDown();
+
+        assertThatThrownBy(() -> follower.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(StackOverflowError.class);
+    }
+}
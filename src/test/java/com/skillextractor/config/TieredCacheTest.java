@@ -0,0 +1,83 @@
+package com.skillextractor.config;
+
+import com.skillextractor.model.CacheEntry;
+import com.skillextractor.repository.CacheEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TieredCacheTest {
+
+    private static final Duration TTL = Duration.ofDays(30);
+
+    @Autowired
+    private CacheEntryRepository cacheEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TieredCache cache;
+    private PersistentCachePurger purger;
+
+    @BeforeEach
+    void setUp() {
+        cacheEntryRepository.deleteAll();
+        cache = new TieredCache(new ConcurrentMapCache("projectAnalysis"), cacheEntryRepository, TTL,
+                transactionManager, new SimpleMeterRegistry());
+        purger = new PersistentCachePurger(cacheEntryRepository);
+        ReflectionTestUtils.setField(purger, "ttlDays", TTL.toDays());
+    }
+
+    @Test
+    void persistedEntryExpiresAfterTimeToLive() {
+        cache.put("key", "value");
+
+        CacheEntry entry = cacheEntryRepository.findByCacheNameAndCacheKey("projectAnalysis", "key").orElseThrow();
+        assertThat(entry.getExpiresAt()).isAfter(LocalDateTime.now().plus(TTL).minusMinutes(1));
+    }
+
+    @Test
+    void expiredEntryIsAMissAndGetsPurged() {
+        save("expired", LocalDateTime.now().minusMinutes(1));
+        save("fresh", LocalDateTime.now().plusDays(1));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("fresh")).isNotNull();
+
+        assertThat(purger.purgeExpired()).isEqualTo(1);
+        assertThat(cacheEntryRepository.findAll()).extracting(CacheEntry::getCacheKey).containsExactly("fresh");
+    }
+
+    @Test
+    void entryWithoutExpiryIsPurgedByAge() {
+        save("legacy", null);
+        assertThat(purger.purgeExpired()).isZero();
+
+        // A negative age limit puts the cut-off after the row's creation
+        ReflectionTestUtils.setField(purger, "ttlDays", -1L);
+        assertThat(purger.purgeExpired()).isEqualTo(1);
+    }
+
+    private CacheEntry save(String key, LocalDateTime expiresAt) {
+        return cacheEntryRepository.save(CacheEntry.builder()
+                .cacheName("projectAnalysis")
+                .cacheKey(key)
+                .value("value-" + key)
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
@@ -0,0 +1,117 @@
+package com.skillextractor.controller;
+
+import com.skillextractor.model.User;
+import com.skillextractor.repository.UserRepository;
+import com.skillextractor.service.AuthTokenService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A bearer-token request identifies its user from the token claims: listing skills reads no users row.
+ * Basic auth, which loads the user to check the password, is the contrast.
+ */
+@SpringBootTest(properties = {
+        "auth.basic.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.skillextractor.controller.SkillControllerUserQueryTest$CapturingInspector"
+})
+@AutoConfigureMockMvc
+class SkillControllerUserQueryTest {
+
+    private static final String USERNAME = "token-user";
+    private static final String PASSWORD = "secret-password";
+
+    /**
+     * Records every SQL statement Hibernate prepares
+     */
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepository.findByUsername(USERNAME).orElseGet(() -> userRepository.save(User.builder()
+                .username(USERNAME)
+                .email(USERNAME + "@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .build()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void bearerTokenRequestSelectsNoUser() throws Exception {
+        String token = authTokenService.issue(user.getId(), USERNAME, authTokenService.nextExpiry());
+
+        mockMvc.perform(get("/api/skills").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).as("statements of the skill listing").isPositive();
+        assertThat(usersSelects()).isEmpty();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void basicAuthRequestSelectsTheUser() throws Exception {
+        String credentials = Base64.getEncoder()
+                .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/api/skills").header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+                .andExpect(status().isOk());
+
+        assertThat(usersSelects()).hasSize(1);
+    }
+
+    private static List<String> usersSelects() {
+        return CapturingInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("select") && sql.matches("(?s).*\\bfrom users\\b.*"))
+                .toList();
+    }
+}
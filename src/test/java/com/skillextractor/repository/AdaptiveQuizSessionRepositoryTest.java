@@ -0,0 +1,70 @@
+package com.skillextractor.repository;
+
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.AdaptiveQuizSession;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.Skill;
+import com.skillextractor.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AdaptiveQuizSessionRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AdaptiveQuizSessionRepository adaptiveQuizSessionRepository;
+
+    private Skill skill;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().username("adaptive").email("adaptive@example.com").password("x").build();
+        entityManager.persist(user);
+        Project project = Project.builder().name("project").description("d").user(user).build();
+        entityManager.persist(project);
+        skill = Skill.builder()
+                .name("Streams")
+                .category(SkillCategory.STREAMS_LAMBDAS)
+                .user(user)
+                .project(project)
+                .build();
+        entityManager.persist(skill);
+    }
+
+    /**
+     * Two answers to the same question: only the first claims it, the second sees 0 rows
+     */
+    @Test
+    void questionIsClaimedOnce() {
+        AdaptiveQuizSession session = adaptiveQuizSessionRepository.save(session(7L, null));
+
+        assertThat(adaptiveQuizSessionRepository.claimCurrentItem(session.getId(), 7L)).isEqualTo(1);
+        assertThat(adaptiveQuizSessionRepository.claimCurrentItem(session.getId(), 7L)).isZero();
+    }
+
+    @Test
+    void finishedSessionCannotBeClaimed() {
+        AdaptiveQuizSession session = adaptiveQuizSessionRepository.save(session(7L, LocalDateTime.now()));
+
+        assertThat(adaptiveQuizSessionRepository.claimCurrentItem(session.getId(), 7L)).isZero();
+    }
+
+    private AdaptiveQuizSession session(Long currentItemId, LocalDateTime completedAt) {
+        return AdaptiveQuizSession.builder()
+                .skill(skill)
+                .bankKey("bank")
+                .currentItemId(currentItemId)
+                .completedAt(completedAt)
+                .build();
+    }
+}
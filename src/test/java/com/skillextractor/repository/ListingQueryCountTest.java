@@ -0,0 +1,104 @@
+package com.skillextractor.repository;
+
+import com.skillextractor.dto.ProjectSummaryResponse;
+import com.skillextractor.dto.SkillResponse;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.Skill;
+import com.skillextractor.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Skill and project listings are single-statement DTO projections: no lazy load per row,
+ * however many projects and skills the user has.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListingQueryCountTest {
+
+    private static final int PROJECTS = 3;
+    private static final int SKILLS_PER_PROJECT = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Long userId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().username("lister").email("lister@example.com").password("x").build();
+        entityManager.persist(user);
+        for (int p = 0; p < PROJECTS; p++) {
+            Project project = Project.builder().name("project-" + p).description("d").user(user).build();
+            entityManager.persist(project);
+            for (int s = 0; s < SKILLS_PER_PROJECT; s++) {
+                entityManager.persist(Skill.builder()
+                        .name("skill-" + p + "-" + s)
+                        .category(SkillCategory.COLLECTIONS)
+                        .description("d")
+                        .user(user)
+                        .project(project)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        userId = user.getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void skillListingRunsOneStatement() {
+        List<SkillResponse> skills = skillRepository.findResponsesByUserId(userId);
+
+        assertThat(skills).hasSize(PROJECTS * SKILLS_PER_PROJECT);
+        assertThat(skills).allSatisfy(skill -> assertThat(skill.getProjectName()).startsWith("project-"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void skillPageRunsOneStatement() {
+        List<SkillResponse> page = skillRepository.findPage(userId, null, null, null, null, 50, true, true);
+
+        assertThat(page).hasSize(PROJECTS * SKILLS_PER_PROJECT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void projectListingRunsOneStatement() {
+        List<ProjectSummaryResponse> projects = projectRepository.findSummariesByUserId(userId);
+
+        assertThat(projects).hasSize(PROJECTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void projectPageRunsOneStatement() {
+        List<ProjectSummaryResponse> page = projectRepository.findPage(userId, null, 50, true, true);
+
+        assertThat(page).hasSize(PROJECTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.skillextractor.repository;
+
+import com.skillextractor.model.QuizItem;
+import com.skillextractor.util.ItemResponseModel;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DataJpaTest
+class QuizItemRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QuizItemRepository quizItemRepository;
+
+    /**
+     * Two calibrations computed from the same snapshot both land: the row gets the sum of their steps
+     */
+    @Test
+    void responsesFromTheSameSnapshotAddUp() {
+        QuizItem item = quizItemRepository.save(item(1.0));
+
+        quizItemRepository.recordResponse(item.getId(), 0.25, ItemResponseModel.MIN_LOGIT, ItemResponseModel.MAX_LOGIT, 0);
+        quizItemRepository.recordResponse(item.getId(), -0.1, ItemResponseModel.MIN_LOGIT, ItemResponseModel.MAX_LOGIT, 1);
+        entityManager.clear();
+
+        QuizItem updated = quizItemRepository.findById(item.getId()).orElseThrow();
+        assertThat(updated.getDifficulty()).isCloseTo(1.15, within(1e-9));
+        assertThat(updated.getResponses()).isEqualTo(2);
+        assertThat(updated.getCorrectResponses()).isEqualTo(1);
+    }
+
+    @Test
+    void difficultyStaysInTheLogitRange() {
+        QuizItem item = quizItemRepository.save(item(3.9));
+
+        quizItemRepository.recordResponse(item.getId(), 0.5, ItemResponseModel.MIN_LOGIT, ItemResponseModel.MAX_LOGIT, 0);
+        entityManager.clear();
+
+        assertThat(quizItemRepository.findById(item.getId()).orElseThrow().getDifficulty())
+                .isEqualTo(ItemResponseModel.MAX_LOGIT);
+    }
+
+    private static QuizItem item(double difficulty) {
+        return QuizItem.builder()
+                .bankKey("bank")
+                .contentDigest("digest-" + difficulty)
+                .text("Which interface does ArrayList implement?")
+                .optionsJson("[\"A) List\", \"B) Map\"]")
+                .correctAnswer("A")
+                .difficulty(difficulty)
+                .build();
+    }
+}
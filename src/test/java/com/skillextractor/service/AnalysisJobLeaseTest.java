@@ -0,0 +1,166 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.JobStatusResponse;
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.JobStatus;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.User;
+import com.skillextractor.repository.AnalysisJobRepository;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.SkillRepository;
+import com.skillextractor.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An attempt whose job was taken over while it called the LLM saves no skills: only the newer attempt writes
+ */
+@SpringBootTest
+class AnalysisJobLeaseTest {
+
+    // Project whose job is taken over by another node in the middle of its analysis
+    static volatile Long takenOverProjectId;
+
+    /**
+     * Canned analysis; for {@link #takenOverProjectId} it first hands the job to another node, as a
+     * claim after an expired lease does
+     */
+    @TestConfiguration
+    static class TakeoverProviderConfig {
+
+        @Bean
+        @Primary
+        LlmProvider takeoverLlmProvider(JdbcTemplate jdbcTemplate) {
+            return new LlmProvider() {
+                @Override
+                public String cacheDiscriminator() {
+                    return "lease-test";
+                }
+
+                @Override
+                public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                    if (takenOverProjectId != null) {
+                        jdbcTemplate.update("UPDATE analysis_jobs SET locked_by = 'other-node', attempts = attempts + 1 "
+                                + "WHERE project_id = ?", takenOverProjectId);
+                    }
+                    return "{\"skills\": [{\"name\": \"Streams\", \"category\": \"STREAMS_LAMBDAS\", "
+                            + "\"description\": \"Uses streams\", \"exampleUsage\": \"list.stream()\", \"isGeneral\": false}]}";
+                }
+
+                @Override
+                public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String generateQuizzes(List<QuizSpec> skills) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String correctJson(String invalidOutput, String expectedFormat) {
+                    return invalidOutput;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private AnalysisJobRepository analysisJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void reset() {
+        takenOverProjectId = null;
+    }
+
+    @Test
+    void attemptThatLostItsLeaseSavesNoSkills() throws InterruptedException {
+        User user = user("lease-lost");
+        Project project = project(user, "Taken.java");
+        takenOverProjectId = project.getId();
+
+        JobStatusResponse job = submitAndAwaitAttempt(project, user, "Taken.java");
+
+        assertThat(skillRepository.countByProjectId(project.getId())).isZero();
+        AnalysisJobRepository.StatusView status = analysisJobRepository.findStatusById(job.getJobId()).orElseThrow();
+        assertThat(status.getStatus()).as("left to the attempt that took it over").isEqualTo(JobStatus.RUNNING);
+        assertThat(status.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void attemptHoldingItsLeaseSavesTheSkills() throws InterruptedException {
+        User user = user("lease-held");
+        Project project = project(user, "Held.java");
+
+        JobStatusResponse job = submitAndAwaitAttempt(project, user, "Held.java");
+
+        assertThat(skillRepository.countByProjectId(project.getId())).isEqualTo(1);
+        AnalysisJobRepository.StatusView status = analysisJobRepository.findStatusById(job.getJobId()).orElseThrow();
+        assertThat(status.getStatus()).isEqualTo(JobStatus.DONE);
+        assertThat(status.getSkillsExtracted()).isEqualTo(1);
+    }
+
+    /**
+     * Submit an analysis and wait until a worker has finished one attempt of it
+     */
+    private JobStatusResponse submitAndAwaitAttempt(Project project, User user, String filename)
+            throws InterruptedException {
+        long attempts = meterRegistry.timer("analysis.jobs.run").count();
+        ProjectUploadRequest request = ProjectVersionServiceTest.upload(ProjectVersionServiceTest.file(filename,
+                "class " + filename.replace(".java", "") + " { long count(java.util.List<String> list) { "
+                        + "return list.stream().count(); } }"));
+
+        JobStatusResponse job = analysisJobService.submit(request, project, user.getId());
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (meterRegistry.timer("analysis.jobs.run").count() == attempts && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        return job;
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("x")
+                .build());
+    }
+
+    private Project project(User user, String filename) {
+        return projectRepository.save(Project.builder()
+                .name(filename)
+                .analyzedFiles(filename)
+                .totalFiles(1)
+                .totalSizeKb(1L)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,265 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.JobStatus;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.User;
+import com.skillextractor.repository.AnalysisJobRepository;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.SkillRepository;
+import com.skillextractor.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The job queue against a real Postgres, whose row locks FOR UPDATE SKIP LOCKED relies on, with two
+ * worker groups in one JVM standing in for two nodes: the application's own (node-a) and a second
+ * AnalysisJobService on its own executor (node-b). Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "analysis.jobs.node-id=node-a",
+        "analysis.jobs.workers=2",
+        "analysis.jobs.queue-capacity=100",
+        "analysis.jobs.poll-interval-ms=100",
+        "analysis.jobs.max-attempts=3",
+        "analysis.jobs.retry-backoff-ms=100",
+        "analysis.features.fallback-enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AnalysisJobQueueTest {
+
+    private static final int JOBS = 30;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String GROUP_B_THREADS = "node-b-worker-";
+    private static final String FAILING_FILE = "AlwaysFails.java";
+
+    // Analyzed file name -> worker threads that ran an analysis of it
+    static final Map<String, List<String>> ANALYSES = new ConcurrentHashMap<>();
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /**
+     * Records every analysis and takes a moment, like an LLM call; {@link #FAILING_FILE} always fails
+     */
+    @TestConfiguration
+    static class RecordingProviderConfig {
+
+        @Bean
+        @Primary
+        LlmProvider recordingLlmProvider() {
+            return new LlmProvider() {
+                @Override
+                public String cacheDiscriminator() {
+                    return "queue-test";
+                }
+
+                @Override
+                public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                    String filename = files.get(0).getFilename();
+                    ANALYSES.computeIfAbsent(filename, name -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(Thread.currentThread().getName());
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (filename.equals(FAILING_FILE)) {
+                        throw new RuntimeException("LLM unavailable");
+                    }
+                    return "{\"skills\": [{\"name\": \"Streams\", \"category\": \"STREAMS_LAMBDAS\", "
+                            + "\"description\": \"Uses streams\", \"exampleUsage\": \"list.stream()\", \"isGeneral\": false}]}";
+                }
+
+                @Override
+                public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String generateQuizzes(List<QuizSpec> skills) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String correctJson(String invalidOutput, String expectedFormat) {
+                    return invalidOutput;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private AnalysisJobRepository analysisJobRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillAnalysisService skillAnalysisService;
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolTaskExecutor groupBExecutor;
+    private AnalysisJobService groupB;
+
+    @BeforeEach
+    void startSecondWorkerGroup() {
+        groupBExecutor = new ThreadPoolTaskExecutor();
+        groupBExecutor.setCorePoolSize(2);
+        groupBExecutor.setMaxPoolSize(2);
+        groupBExecutor.setThreadNamePrefix(GROUP_B_THREADS);
+        groupBExecutor.initialize();
+
+        groupB = new AnalysisJobService(analysisJobRepository, projectRepository, skillRepository,
+                skillAnalysisService, projectVersionService, groupBExecutor, objectMapper, meterRegistry, transactionManager);
+        ReflectionTestUtils.setField(groupB, "configuredNodeId", "node-b");
+        ReflectionTestUtils.setField(groupB, "workers", 2);
+        ReflectionTestUtils.setField(groupB, "queueCapacity", 100);
+        ReflectionTestUtils.setField(groupB, "visibilityTimeoutMs", 120_000L);
+        ReflectionTestUtils.setField(groupB, "pollIntervalMs", 100L);
+        ReflectionTestUtils.setField(groupB, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(groupB, "retryBackoffMs", 100L);
+        ReflectionTestUtils.setField(groupB, "retentionHours", 24L);
+        groupB.start();
+    }
+
+    @AfterEach
+    void stopSecondWorkerGroup() {
+        groupB.stop();
+        groupBExecutor.shutdown();
+    }
+
+    @Test
+    void everyJobIsClaimedExactlyOnceAcrossWorkerGroups() throws InterruptedException {
+        User user = user("queue-once");
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            jobIds.add(submit(user, "Job" + i + ".java",
+                    "public class Job" + i + " { long run(java.util.List<String> list) { return list.stream().count() + " + i + "; } }"));
+        }
+
+        List<AnalysisJobRepository.StatusView> finished = awaitFinished(jobIds);
+
+        assertThat(finished).allSatisfy(job -> {
+            assertThat(job.getStatus()).isEqualTo(JobStatus.DONE);
+            assertThat(job.getAttempts()).as("claims of job %s", job.getId()).isEqualTo(1);
+        });
+        for (int i = 0; i < JOBS; i++) {
+            assertThat(ANALYSES.get("Job" + i + ".java")).as("analyses of job %d", i).hasSize(1);
+        }
+        Set<Boolean> groups = ANALYSES.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("Job"))
+                .flatMap(entry -> entry.getValue().stream())
+                .map(thread -> thread.startsWith(GROUP_B_THREADS))
+                .collect(Collectors.toSet());
+        assertThat(groups).as("both worker groups ran jobs").containsExactlyInAnyOrder(true, false);
+    }
+
+    @Test
+    void failingJobIsDeadLetteredAfterMaxAttempts() throws InterruptedException {
+        User user = user("queue-dead");
+        String jobId = submit(user, FAILING_FILE, "public class AlwaysFails { }");
+
+        AnalysisJobRepository.StatusView job = awaitFinished(List.of(jobId)).get(0);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.DEAD);
+        assertThat(job.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(job.getError()).contains("LLM unavailable");
+        assertThat(ANALYSES.get(FAILING_FILE)).hasSize(MAX_ATTEMPTS);
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("x")
+                .build());
+    }
+
+    private String submit(User user, String filename, String content) {
+        Project project = projectRepository.save(Project.builder()
+                .name(filename)
+                .analyzedFiles(filename)
+                .totalFiles(1)
+                .totalSizeKb(1L)
+                .user(user)
+                .build());
+        ProjectUploadRequest request = new ProjectUploadRequest();
+        request.setProjectName(filename);
+        ProjectUploadRequest.FileData file = new ProjectUploadRequest.FileData();
+        file.setFilename(filename);
+        file.setExtension("java");
+        file.setContent(content);
+        request.setFiles(List.of(file));
+        return analysisJobService.submit(request, project, user.getId()).getJobId();
+    }
+
+    private List<AnalysisJobRepository.StatusView> awaitFinished(List<String> jobIds) throws InterruptedException {
+        Set<JobStatus> finished = Set.of(JobStatus.DONE, JobStatus.FAILED, JobStatus.DEAD);
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (true) {
+            List<AnalysisJobRepository.StatusView> jobs = jobIds.stream()
+                    .map(id -> analysisJobRepository.findStatusById(id).orElseThrow())
+                    .collect(Collectors.toList());
+            if (jobs.stream().allMatch(job -> finished.contains(job.getStatus()))
+                    || System.currentTimeMillis() > deadline) {
+                return jobs;
+            }
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmJsonExtractorTest {
+
+    private static final String SKILLS = "{\"skills\": [{\"name\": \"Streams\"}, {\"name\": \"Records\"}]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmJsonExtractor extractor = new LlmJsonExtractor(new ObjectMapper(), meterRegistry);
+    private final AtomicInteger corrections = new AtomicInteger();
+
+    /**
+     * Item with a non-blank name; a name with surrounding spaces is trimmed and counted as a repair
+     */
+    private static String readName(JsonNode item, LlmJsonExtractor.Repairs repairs) {
+        String name = item.path("name").asText("");
+        if (name.isBlank()) {
+            return null;
+        }
+        if (!name.equals(name.strip())) {
+            repairs.note();
+        }
+        return name.strip();
+    }
+
+    private final UnaryOperator<String> failingCorrection = raw -> {
+        corrections.incrementAndGet();
+        return "still not JSON";
+    };
+
+    @Test
+    void cleanResponse() {
+        LlmJsonExtractor.Extraction<String> extraction = extract(SKILLS);
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(extraction.corrected()).isFalse();
+        assertThat(outcome("clean")).isEqualTo(1);
+    }
+
+    @Test
+    void fencedPayload() {
+        LlmJsonExtractor.Extraction<String> extraction = extract("```json\n" + SKILLS + "\n```");
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(outcome("repaired")).isEqualTo(1);
+        assertThat(corrections).hasValue(0);
+    }
+
+    @Test
+    void proseWrappedPayload() {
+        LlmJsonExtractor.Extraction<String> extraction = extract(
+                "Here are the skills I found:\n" + SKILLS + "\nLet me know if you need more detail.");
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(corrections).hasValue(0);
+    }
+
+    /**
+     * A bracket run in the prose that yields no items is skipped instead of costing a correction
+     */
+    @Test
+    void bracketsInProseBeforeThePayloadAreSkipped() {
+        LlmJsonExtractor.Extraction<String> extraction = extract(
+                "Based on the code (see [1] and {the service layer}), the skills are:\n" + SKILLS);
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(corrections).hasValue(0);
+    }
+
+    @Test
+    void lenientSyntaxIsRepaired() {
+        LlmJsonExtractor.Extraction<String> extraction = extract(
+                "{skills: [{'name': 'Streams'}, {name: \"Records\"},], // trailing comma\n}");
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(outcome("repaired")).isEqualTo(1);
+        assertThat(meterRegistry.get("llm.json.retries.avoided").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidItemsAreDroppedAndTheRestKept() {
+        LlmJsonExtractor.Extraction<String> extraction = extract(
+                "{\"skills\": [{\"name\": \"Streams\"}, {\"category\": \"OOP\"}, \"text\", {\"name\": \"Records\"}]}");
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(outcome("repaired")).isEqualTo(1);
+    }
+
+    @Test
+    void repairedItemMarksTheResponseRepaired() {
+        LlmJsonExtractor.Extraction<String> extraction = extract("{\"skills\": [{\"name\": \"  Streams \"}]}");
+
+        assertThat(extraction.items()).containsExactly("Streams");
+        assertThat(outcome("repaired")).isEqualTo(1);
+    }
+
+    @Test
+    void emptyArrayIsAValidAnswer() {
+        assertThat(extract("{\"skills\": []}").items()).isEmpty();
+        assertThat(outcome("clean")).isEqualTo(1);
+    }
+
+    @Test
+    void truncatedBetweenItemsKeepsEveryItem() {
+        LlmJsonExtractor.Located located = LlmJsonExtractor.locate("{\"skills\": [{\"name\": \"Streams\"},", 0);
+
+        assertThat(located.cutInsideItem()).isFalse();
+        assertThat(located.json()).isEqualTo("{\"skills\": [{\"name\": \"Streams\"},]}");
+        assertThat(extract("{\"skills\": [{\"name\": \"Streams\"}, {\"name\": \"Records\"},").items())
+                .containsExactly("Streams", "Records");
+    }
+
+    /**
+     * Closing a completion cut inside an item gives valid JSON with a clipped value: that item is dropped
+     */
+    @Test
+    void truncatedInsideAnItemDropsThatItem() {
+        String raw = "{\"skills\": [{\"name\": \"Streams\"}, {\"name\": \"Recor";
+        LlmJsonExtractor.Located located = LlmJsonExtractor.locate(raw, 0);
+
+        assertThat(located.cutInsideItem()).isTrue();
+        assertThat(located.json()).isEqualTo(raw + "\"}]}");
+        assertThat(extract(raw).items()).containsExactly("Streams");
+        assertThat(corrections).hasValue(0);
+    }
+
+    @Test
+    void truncatedBareArray() {
+        LlmJsonExtractor.Located insideItem = LlmJsonExtractor.locate("[{\"name\": \"Streams\"}, {\"name\": \"Re", 0);
+        LlmJsonExtractor.Located betweenItems = LlmJsonExtractor.locate("[{\"name\": \"Streams\"}, ", 0);
+
+        assertThat(insideItem.cutInsideItem()).isTrue();
+        assertThat(betweenItems.cutInsideItem()).isFalse();
+        assertThat(extract("[{\"name\": \"Streams\"}, {\"name\": \"Re").items()).containsExactly("Streams");
+    }
+
+    @Test
+    void escapedQuotesAndBracketsInStringsDoNotEndTheRun() {
+        LlmJsonExtractor.Located located = LlmJsonExtractor.locate(
+                "{\"skills\": [{\"name\": \"Arrays \\\"[]\\\" and }\"}]} trailing", 0);
+
+        assertThat(located.json()).isEqualTo("{\"skills\": [{\"name\": \"Arrays \\\"[]\\\" and }\"}]}");
+        assertThat(located.cutInsideItem()).isFalse();
+    }
+
+    @Test
+    void unusableResponseIsCorrectedOnce() {
+        LlmJsonExtractor.Extraction<String> extraction = extractor.extract("skills", "I could not find any JSON",
+                "skills", LlmJsonExtractorTest::readName, raw -> {
+                    corrections.incrementAndGet();
+                    return SKILLS;
+                });
+
+        assertThat(extraction.items()).containsExactly("Streams", "Records");
+        assertThat(extraction.corrected()).isTrue();
+        assertThat(extraction.json()).isEqualTo(SKILLS);
+        assertThat(corrections).hasValue(1);
+        assertThat(outcome("corrected")).isEqualTo(1);
+    }
+
+    @Test
+    void allItemsInvalidAndCorrectionFailingIsAnError() {
+        assertThatThrownBy(() -> extract("{\"skills\": [{\"category\": \"OOP\"}]}"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("skills");
+        assertThat(corrections).hasValue(1);
+        assertThat(outcome("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void missingFieldWithoutCorrectionIsAnError() {
+        assertThatThrownBy(() -> extractor.extract("skills", "{\"items\": []}", "skills",
+                LlmJsonExtractorTest::readName, null))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(outcome("failed")).isEqualTo(1);
+    }
+
+    private LlmJsonExtractor.Extraction<String> extract(String raw) {
+        return extractor.extract("skills", raw, "skills", LlmJsonExtractorTest::readName, failingCorrection);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.find("llm.json.parse").tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
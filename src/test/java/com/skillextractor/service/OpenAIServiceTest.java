@@ -0,0 +1,62 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.SkillCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAIServiceTest {
+
+    @Test
+    void quizFingerprintDependsOnTheProviderQuizSettings() {
+        OpenAIService openai = service("openai|gpt|0.7|2000|quiz1");
+        OpenAIService local = service("local|quiz1");
+        OpenAIService newPrompt = service("openai|gpt|0.7|2000|quiz2");
+
+        String key = openai.quizCacheKey("Stream API", SkillCategory.STREAMS_LAMBDAS, "list.stream()");
+
+        assertThat(key).isEqualTo(service("openai|gpt|0.7|2000|quiz1")
+                .quizCacheKey(" stream api ", SkillCategory.STREAMS_LAMBDAS, "list.stream()  "));
+        assertThat(local.quizCacheKey("Stream API", SkillCategory.STREAMS_LAMBDAS, "list.stream()")).isNotEqualTo(key);
+        assertThat(newPrompt.quizCacheKey("Stream API", SkillCategory.STREAMS_LAMBDAS, "list.stream()")).isNotEqualTo(key);
+    }
+
+    private static OpenAIService service(String quizDiscriminator) {
+        LlmProvider provider = new LlmProvider() {
+            @Override
+            public String cacheDiscriminator() {
+                return "analysis";
+            }
+
+            @Override
+            public String quizCacheDiscriminator() {
+                return quizDiscriminator;
+            }
+
+            @Override
+            public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String generateQuizzes(List<QuizSpec> skills) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String correctJson(String invalidOutput, String expectedFormat) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        return new OpenAIService(provider, new ConcurrentMapCacheManager());
+    }
+}
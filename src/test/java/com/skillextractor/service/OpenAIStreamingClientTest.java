@@ -0,0 +1,248 @@
+package com.skillextractor.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillextractor.util.SegmentedText;
+import com.sun.management.ThreadMXBean;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.theokanning.openai.service.OpenAiService;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the streaming client against a local stand-in for the completions endpoint,
+ * configured through the same base URL property as in production.
+ */
+class OpenAIStreamingClientTest {
+
+    private static final int FILES = 8;
+    private static final long MAX_REQUEST_ALLOCATION = 512 * 1024;
+    private static final byte[] COMPLETION =
+            "{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": \"{}\"}}]}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> lastPath = new AtomicReference<>();
+    private final AtomicReference<byte[]> lastBody = new AtomicReference<>();
+    private final AtomicLong lastBodySize = new AtomicLong();
+
+    private HttpServer server;
+    private OpenAIStreamingClient client;
+    private boolean keepBody;
+    private byte[] completion = COMPLETION;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::answer);
+        server.start();
+
+        client = new OpenAIStreamingClient(new OkHttpClient(), objectMapper);
+        ReflectionTestUtils.setField(client, "baseUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void requestGoesToTheConfiguredBaseUrl() throws IOException {
+        keepBody = true;
+        SegmentedText prompt = new SegmentedText().append("Analyze ").append("class A { \"quoted\" }");
+
+        String content = client.complete("gpt-test", 0.5, 100, "system", prompt);
+
+        assertThat(content).isEqualTo("{}");
+        assertThat(lastPath.get()).isEqualTo("/v1/chat/completions");
+        JsonNode request = objectMapper.readTree(lastBody.get());
+        assertThat(request.path("model").asText()).isEqualTo("gpt-test");
+        assertThat(request.path("max_tokens").asInt()).isEqualTo(100);
+        assertThat(request.path("messages").path(1).path("content").asText())
+                .isEqualTo("Analyze class A { \"quoted\" }");
+    }
+
+    @Test
+    void responseWithoutContentIsAnError() {
+        completion = ("{\"choices\": [{\"message\": {\"role\": \"assistant\", \"content\": null}, "
+                + "\"finish_reason\": \"content_filter\"}]}").getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> client.complete("gpt-test", 0.5, 100, "system", new SegmentedText().append("Analyze")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("no message content");
+    }
+
+    /**
+     * Heap allocated by the calling thread while writing the request must not grow with the prompt:
+     * the segments go through the JSON generator's buffer, never into one String or byte array.
+     */
+    @Test
+    void requestAllocationStaysFlatAsPromptGrows() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up class loading, the connection pool and the JIT so the first measurement is not inflated
+        SegmentedText warmup = prompt(1);
+        for (int i = 0; i < 5; i++) {
+            client.complete("gpt-test", 0.5, 100, "system", warmup);
+        }
+
+        long smallest = 0;
+        for (int sizeMb : new int[]{1, 2, 4, 8}) {
+            SegmentedText prompt = prompt(sizeMb);
+            long before = threads.getThreadAllocatedBytes(threadId);
+            client.complete("gpt-test", 0.5, 100, "system", prompt);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+            assertThat(lastBodySize.get()).isGreaterThan(prompt.length());
+            if (smallest == 0) {
+                smallest = allocated;
+            }
+            assertThat(allocated)
+                    .as("bytes allocated sending a %d MB prompt", sizeMb)
+                    .isLessThan(MAX_REQUEST_ALLOCATION)
+                    .isLessThan(smallest * 2 + 64 * 1024);
+        }
+    }
+
+    /**
+     * Benchmark against the request building this client replaced: files concatenated, formatted into the
+     * prompt template, wrapped in a ChatCompletionRequest and serialized by the SDK's ObjectMapper.
+     * That path allocates several times the prompt size; the streaming one a constant few KB.
+     */
+    @Test
+    void requestAllocationComparedWithStringBuildingPath() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        OkHttpClient httpClient = new OkHttpClient();
+        ObjectMapper sdkMapper = OpenAiService.defaultObjectMapper();
+
+        String warmupSource = source(1);
+        for (int i = 0; i < 3; i++) {
+            client.complete("gpt-test", 0.5, 100, "system", prompt(1));
+            completeFormatted(httpClient, sdkMapper, warmupSource);
+        }
+
+        for (int sizeMb : new int[]{1, 10}) {
+            String source = source(sizeMb);
+            SegmentedText prompt = prompt(sizeMb);
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            completeFormatted(httpClient, sdkMapper, source);
+            long formatted = threads.getThreadAllocatedBytes(threadId) - before;
+
+            before = threads.getThreadAllocatedBytes(threadId);
+            client.complete("gpt-test", 0.5, 100, "system", prompt);
+            long streamed = threads.getThreadAllocatedBytes(threadId) - before;
+
+            long promptBytes = (long) sizeMb * 1024 * 1024;
+            assertThat(formatted)
+                    .as("bytes allocated by String.format + ChatCompletionRequest for a %d MB prompt", sizeMb)
+                    .isGreaterThan(promptBytes * 2);
+            assertThat(streamed)
+                    .as("bytes allocated by the streaming client for a %d MB prompt (old path: %d)", sizeMb, formatted)
+                    .isLessThan(MAX_REQUEST_ALLOCATION)
+                    .isLessThan(formatted / 20);
+        }
+    }
+
+    /**
+     * The replaced request path, as OpenAILlmProvider built it before the prompt became a SegmentedText
+     */
+    private void completeFormatted(OkHttpClient httpClient, ObjectMapper sdkMapper, String source) {
+        StringBuilder combined = new StringBuilder();
+        for (int i = 0; i < FILES; i++) {
+            combined.append("// ========== src/File").append(i).append(".java ==========\n");
+            combined.append(source).append("\n\n");
+        }
+        String prompt = String.format("""
+                Analyze the following Java project:
+                %s
+                Return ONLY valid JSON.""", combined);
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model("gpt-test")
+                .messages(List.of(new ChatMessage("system", "system"), new ChatMessage("user", prompt)))
+                .temperature(0.5)
+                .maxTokens(100)
+                .build();
+        try {
+            byte[] body = sdkMapper.writeValueAsBytes(request);
+            Request httpRequest = new Request.Builder()
+                    .url("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions")
+                    .post(RequestBody.create(body, MediaType.get("application/json; charset=utf-8")))
+                    .build();
+            try (Response response = httpClient.newCall(httpRequest).execute()) {
+                assertThat(response.isSuccessful()).isTrue();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prompt shaped like the analysis prompt: template text around per-file headers and sources
+     */
+    private static SegmentedText prompt(int sizeMb) {
+        String source = source(sizeMb);
+        SegmentedText prompt = new SegmentedText().append("Analyze the following Java project:\n");
+        for (int i = 0; i < FILES; i++) {
+            prompt.append("\n// File: src/File" + i + ".java\n").append(source);
+        }
+        return prompt.append("\nReturn ONLY valid JSON.");
+    }
+
+    /**
+     * One file's source, so that {@link #FILES} of them add up to the prompt size
+     */
+    private static String source(int sizeMb) {
+        int fileSize = sizeMb * 1024 * 1024 / FILES;
+        StringBuilder line = new StringBuilder();
+        while (line.length() < fileSize) {
+            line.append("    list.stream().map(\"value\"::concat).toList();\n");
+        }
+        return line.substring(0, fileSize);
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        lastPath.set(exchange.getRequestURI().getPath());
+        try (InputStream in = exchange.getRequestBody()) {
+            if (keepBody) {
+                byte[] body = in.readAllBytes();
+                lastBody.set(body);
+                lastBodySize.set(body.length);
+            } else {
+                lastBodySize.set(in.transferTo(OutputStream.nullOutputStream()));
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, completion.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(completion);
+        }
+    }
+}
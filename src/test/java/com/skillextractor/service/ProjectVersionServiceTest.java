@@ -0,0 +1,247 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.JobStatusResponse;
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.dto.ProjectVersionResponse;
+import com.skillextractor.enums.JobStatus;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.Skill;
+import com.skillextractor.model.User;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.SkillRepository;
+import com.skillextractor.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ProjectVersionServiceTest {
+
+    private static final String BLOCKING_MARKER = "block analysis";
+    static final CountDownLatch CALL_STARTED = new CountDownLatch(1);
+    static final CountDownLatch RELEASE_CALL = new CountDownLatch(1);
+
+    /**
+     * Canned analysis; holds the call while the analyzed files contain {@link #BLOCKING_MARKER}
+     */
+    @TestConfiguration
+    static class BlockingProviderConfig {
+
+        @Bean
+        @Primary
+        LlmProvider blockingLlmProvider() {
+            return new LlmProvider() {
+                @Override
+                public String cacheDiscriminator() {
+                    return "version-test";
+                }
+
+                @Override
+                public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                    if (files.stream().anyMatch(file -> file.getContent().contains(BLOCKING_MARKER))) {
+                        CALL_STARTED.countDown();
+                        try {
+                            RELEASE_CALL.await(30, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return "{\"skills\": [{\"name\": \"Streams\", \"category\": \"STREAMS_LAMBDAS\", "
+                            + "\"description\": \"Uses streams\", \"exampleUsage\": \"list.stream()\", \"isGeneral\": false}]}";
+                }
+
+                @Override
+                public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String generateQuizzes(List<QuizSpec> skills) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String correctJson(String invalidOutput, String expectedFormat) {
+                    return invalidOutput;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ProjectVersionService projectVersionService;
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    /**
+     * A project from before per-file digests has no file rows and skills without a source file
+     */
+    @Test
+    void legacyProjectRetiresSkillsWithoutSourceFile() {
+        User user = userRepository.save(User.builder()
+                .username("legacy-version")
+                .email("legacy-version@example.com")
+                .password("x")
+                .build());
+        Project project = projectRepository.save(Project.builder()
+                .name("legacy")
+                .analyzedFiles("Main.java,Old.java")
+                .totalFiles(2)
+                .totalSizeKb(1L)
+                .user(user)
+                .build());
+        Skill legacySkill = skillRepository.save(Skill.builder()
+                .name("Legacy Threads")
+                .category(SkillCategory.CONCURRENCY)
+                .description("Starts threads")
+                .user(user)
+                .project(project)
+                .build());
+
+        ProjectVersionResponse response = projectVersionService.uploadNewVersion(project.getId(),
+                upload(file("Main.java", "public class Main { public static void main(String[] args) { } }")),
+                user.getId());
+
+        assertThat(response.getChangedFiles()).containsExactly("Main.java");
+        assertThat(response.getDeletedFiles()).containsExactly("Old.java");
+        assertThat(response.getSkillsRetired()).isGreaterThanOrEqualTo(1);
+        assertThat(skillRepository.findById(legacySkill.getId()).orElseThrow().getRetiredAt()).isNotNull();
+    }
+
+    /**
+     * A version committed while another upload was in its LLM phase makes that upload's diff stale
+     */
+    @Test
+    void concurrentVersionUploadIsRejected() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("concurrent-version")
+                .email("concurrent-version@example.com")
+                .password("x")
+                .build());
+        Project project = projectRepository.save(Project.builder()
+                .name("concurrent")
+                .analyzedFiles("")
+                .totalFiles(0)
+                .totalSizeKb(0L)
+                .user(user)
+                .build());
+
+        CompletableFuture<ProjectVersionResponse> slow = CompletableFuture.supplyAsync(() ->
+                projectVersionService.uploadNewVersion(project.getId(),
+                        upload(file("Slow.java", "class Slow { String marker = \"" + BLOCKING_MARKER + "\"; }")), user.getId()));
+        assertThat(CALL_STARTED.await(30, TimeUnit.SECONDS)).isTrue();
+
+        ProjectVersionResponse fast = projectVersionService.uploadNewVersion(project.getId(),
+                upload(file("Fast.java", "class Fast { }")), user.getId());
+        RELEASE_CALL.countDown();
+
+        assertThat(fast.getVersion()).isEqualTo(2);
+        assertThatThrownBy(() -> slow.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(projectRepository.findById(project.getId()).orElseThrow().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void versionKeepsCompactionStatsOfTheFullUpload() {
+        User user = userRepository.save(User.builder()
+                .username("stats-version")
+                .email("stats-version@example.com")
+                .password("x")
+                .build());
+        Project project = projectRepository.save(Project.builder()
+                .name("stats")
+                .analyzedFiles("")
+                .totalFiles(0)
+                .totalSizeKb(0L)
+                .sourceBytes(40_000L)
+                .promptBytes(25_000L)
+                .sourceTokens(10_000)
+                .promptTokens(6_250)
+                .user(user)
+                .build());
+
+        projectVersionService.uploadNewVersion(project.getId(),
+                upload(file("Small.java", "class Small { }")), user.getId());
+
+        Project updated = projectRepository.findById(project.getId()).orElseThrow();
+        assertThat(updated.getSourceBytes()).isEqualTo(40_000L);
+        assertThat(updated.getPromptBytes()).isEqualTo(25_000L);
+        assertThat(updated.getSourceTokens()).isEqualTo(10_000);
+        assertThat(updated.getPromptTokens()).isEqualTo(6_250);
+    }
+
+    @Test
+    void queuedVersionIsAppliedByAWorker() throws InterruptedException {
+        User user = userRepository.save(User.builder()
+                .username("queued-version")
+                .email("queued-version@example.com")
+                .password("x")
+                .build());
+        Project project = projectRepository.save(Project.builder()
+                .name("queued")
+                .analyzedFiles("")
+                .totalFiles(0)
+                .totalSizeKb(0L)
+                .user(user)
+                .build());
+        ProjectUploadRequest request = upload(file("Queued.java", "class Queued { }"));
+
+        JobStatusResponse job = analysisJobService.submitVersion(request,
+                projectVersionService.checkVersionUpload(project.getId(), request, user.getId()), user.getId());
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        JobStatusResponse status = job;
+        while (!status.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = analysisJobService.getJob(job.getJobId(), user.getId()).orElseThrow();
+        }
+        assertThat(status.getStatus()).isEqualTo(JobStatus.DONE);
+        assertThat(status.getSkillsExtracted()).isEqualTo(1);
+        Project updated = projectRepository.findById(project.getId()).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(updated.getAnalyzedFiles()).isEqualTo("Queued.java");
+    }
+
+    static ProjectUploadRequest upload(ProjectUploadRequest.FileData... files) {
+        ProjectUploadRequest request = new ProjectUploadRequest();
+        request.setProjectName("version");
+        request.setFiles(List.of(files));
+        return request;
+    }
+
+    static ProjectUploadRequest.FileData file(String filename, String content) {
+        ProjectUploadRequest.FileData file = new ProjectUploadRequest.FileData();
+        file.setFilename(filename);
+        file.setExtension(filename.substring(filename.lastIndexOf('.') + 1));
+        file.setContent(content);
+        return file;
+    }
+}
@@ -0,0 +1,65 @@
+package com.skillextractor.service;
+
+import com.skillextractor.model.Skill;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizWarmupServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void releaseWorker() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    /**
+     * With one worker busy and a one-slot queue, only two of five skills are accepted; the rest are dropped
+     */
+    @Test
+    void tasksRejectedByAFullQueueAreCountedAsDropped() {
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+
+        QuizPoolService blockingPool = new QuizPoolService(null, null, null, null, null, executor,
+                meterRegistry, 5, 3, 600_000, 4) {
+            @Override
+            public void stock(Skill skill) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        QuizWarmupService warmup = new QuizWarmupService(blockingPool, executor, meterRegistry);
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "maxPerUpload", 10);
+        ReflectionTestUtils.setField(warmup, "batchEnabled", false);
+
+        warmup.scheduleFor(LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> Skill.builder().id(id).name("Skill " + id).isGeneral(false).build())
+                .toList());
+
+        assertThat(count("scheduled")).isEqualTo(2);
+        assertThat(count("dropped")).isEqualTo(3);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("quiz.warmup").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,191 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.Skill;
+import com.skillextractor.model.User;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.SkillRepository;
+import com.skillextractor.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A near-duplicate of an analyzed project only sends its changed files to the LLM
+ */
+@SpringBootTest
+class SimilarProjectReuseTest {
+
+    private static final String GENERAL_EXAMPLE = "ledger.reconcile(orders)";
+    static final List<List<String>> ANALYZED = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class RecordingProviderConfig {
+
+        @Bean
+        @Primary
+        LlmProvider recordingLlmProvider() {
+            return new LlmProvider() {
+                @Override
+                public String cacheDiscriminator() {
+                    return "reuse-test";
+                }
+
+                @Override
+                public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                    ANALYZED.add(files.stream().map(ProjectUploadRequest.FileData::getFilename).toList());
+                    String skills = "{\"name\": \"Streams\", \"category\": \"STREAMS_LAMBDAS\", "
+                            + "\"description\": \"Uses streams\", \"exampleUsage\": \"orders.stream()\", "
+                            + "\"isGeneral\": false}";
+                    // The general skill (and its example) only comes from files containing GENERAL_EXAMPLE
+                    if (files.stream().anyMatch(file -> file.getContent().contains(GENERAL_EXAMPLE))) {
+                        skills += ", {\"name\": \"Streams - General Knowledge\", \"category\": \"STREAMS_LAMBDAS\", "
+                                + "\"description\": \"Streams in general\", \"exampleUsage\": \"" + GENERAL_EXAMPLE
+                                + "\", \"isGeneral\": true}";
+                    }
+                    return "{\"skills\": [" + skills + "]}";
+                }
+
+                @Override
+                public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String generateQuizzes(List<QuizSpec> skills) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String correctJson(String invalidOutput, String expectedFormat) {
+                    return invalidOutput;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private SkillAnalysisService skillAnalysisService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SourceCompactor sourceCompactor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Test
+    void nearDuplicateRecordsCompactionStatsOfTheFullUpload() {
+        List<ProjectUploadRequest.FileData> original = files("return total;");
+        List<ProjectUploadRequest.FileData> edited = files("return total + 1;");
+        analyze(user("reuse-first"), "reuse-first", original);
+
+        Project project = analyze(user("reuse-second"), "reuse-second", edited);
+
+        assertThat(ANALYZED.get(ANALYZED.size() - 1)).containsExactly("Ledger2.java");
+        SourceCompactor.Result full = sourceCompactor.compact(edited);
+        Project stored = projectRepository.findById(project.getId()).orElseThrow();
+        assertThat(stored.getSourceBytes()).isEqualTo(full.bytesBefore());
+        assertThat(stored.getPromptBytes()).isEqualTo(full.bytesAfter());
+        assertThat(stored.getSourceTokens()).isEqualTo(full.tokensBefore());
+        assertThat(stored.getPromptTokens()).isEqualTo(full.tokensAfter());
+    }
+
+    /**
+     * General skills come over from the matched project, possibly another user's; their example only
+     * when the uploader's own files contain it
+     */
+    @Test
+    void generalSkillsCopiedFromAMatchKeepOnlyExamplesFromTheUpload() {
+        analyze(user("example-first"), "example-first", files("return total;", GENERAL_EXAMPLE));
+
+        Project project = analyze(user("example-second"), "example-second", files("return total + 2;", ""));
+
+        List<Skill> skills = skillRepository.findByProjectIdAndRetiredAtIsNull(project.getId());
+        assertThat(skills).filteredOn(skill -> Boolean.TRUE.equals(skill.getIsGeneral()))
+                .singleElement()
+                .satisfies(skill -> assertThat(skill.getExampleUsage()).isNull());
+        assertThat(skills).filteredOn(skill -> !Boolean.TRUE.equals(skill.getIsGeneral()))
+                .allSatisfy(skill -> assertThat(skill.getExampleUsage()).isEqualTo("orders.stream()"));
+    }
+
+    @Test
+    void generalSkillExampleFoundInTheUploadIsKept() {
+        analyze(user("shared-first"), "shared-first", files("return total;", GENERAL_EXAMPLE));
+
+        Project project = analyze(user("shared-second"), "shared-second",
+                files("return total + 3;", GENERAL_EXAMPLE));
+
+        assertThat(skillRepository.findByProjectIdAndRetiredAtIsNull(project.getId()))
+                .filteredOn(skill -> Boolean.TRUE.equals(skill.getIsGeneral()))
+                .singleElement()
+                .satisfies(skill -> assertThat(skill.getExampleUsage()).isEqualTo(GENERAL_EXAMPLE));
+    }
+
+    private Project analyze(User user, String name, List<ProjectUploadRequest.FileData> files) {
+        ProjectUploadRequest request = new ProjectUploadRequest();
+        request.setProjectName(name);
+        request.setFiles(files);
+        Project project = projectService.createProject(request, user.getId());
+        skillAnalysisService.analyzeAndSaveSkills(request, project, user.getId());
+        return project;
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("x")
+                .build());
+    }
+
+    /**
+     * Four ledger classes; {@code lastReturn} ends the last method of Ledger2 only
+     */
+    private static List<ProjectUploadRequest.FileData> files(String lastReturn) {
+        return files(lastReturn, "");
+    }
+
+    /**
+     * Same, with {@code extraLine} as a statement in Ledger3's first method
+     */
+    private static List<ProjectUploadRequest.FileData> files(String lastReturn, String extraLine) {
+        List<ProjectUploadRequest.FileData> files = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            StringBuilder source = new StringBuilder("public class Ledger" + i + " {\n");
+            for (int m = 0; m < 12; m++) {
+                source.append("    long reconcile").append(m).append("(java.util.List<Long> orders) {\n")
+                        .append("        long total = orders.stream().mapToLong(order -> order * ").append(m + i)
+                        .append(").sum();\n")
+                        .append(i == 3 && m == 0 && !extraLine.isEmpty() ? "        " + extraLine + ";\n" : "")
+                        .append("        ").append(i == 2 && m == 11 ? lastReturn : "return total;").append("\n")
+                        .append("    }\n");
+            }
+            ProjectUploadRequest.FileData file = new ProjectUploadRequest.FileData();
+            file.setFilename("Ledger" + i + ".java");
+            file.setExtension("java");
+            file.setContent(source.append("}\n").toString());
+            files.add(file);
+        }
+        return files;
+    }
+}
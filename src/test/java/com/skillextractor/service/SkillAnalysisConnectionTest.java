@@ -0,0 +1,126 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.dto.SkillResponse;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.User;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The LLM round trip must not hold a pooled connection: while the provider call is in flight,
+ * no connection of the pool is checked out.
+ */
+@SpringBootTest
+class SkillAnalysisConnectionTest {
+
+    static final CountDownLatch CALL_STARTED = new CountDownLatch(1);
+    static final CountDownLatch RELEASE_CALL = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class BlockingProviderConfig {
+
+        @Bean
+        @Primary
+        LlmProvider blockingLlmProvider() {
+            return new LlmProvider() {
+                @Override
+                public String cacheDiscriminator() {
+                    return "blocking-test";
+                }
+
+                @Override
+                public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                    CALL_STARTED.countDown();
+                    try {
+                        RELEASE_CALL.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "{\"skills\": [{\"name\": \"Streams\", \"category\": \"STREAMS_LAMBDAS\", "
+                            + "\"description\": \"Uses streams\", \"exampleUsage\": \"list.stream()\", \"isGeneral\": false}]}";
+                }
+
+                @Override
+                public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String generateQuizzes(List<QuizSpec> skills) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String correctJson(String invalidOutput, String expectedFormat) {
+                    return invalidOutput;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private SkillAnalysisService skillAnalysisService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void llmCallHoldsNoPooledConnection() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("pool-test")
+                .email("pool-test@example.com")
+                .password("x")
+                .build());
+        Project project = projectRepository.save(Project.builder()
+                .name("pool-test")
+                .analyzedFiles("Main.java")
+                .totalFiles(1)
+                .totalSizeKb(1L)
+                .user(user)
+                .build());
+        ProjectUploadRequest request = new ProjectUploadRequest();
+        request.setProjectName("pool-test");
+        ProjectUploadRequest.FileData file = new ProjectUploadRequest.FileData();
+        file.setFilename("Main.java");
+        file.setExtension("java");
+        file.setContent("public class Main { void run(java.util.List<String> list) { list.stream().count(); } }");
+        request.setFiles(List.of(file));
+
+        CompletableFuture<List<SkillResponse>> analysis = CompletableFuture.supplyAsync(
+                () -> skillAnalysisService.analyzeAndSaveSkills(request, project, user.getId()));
+
+        assertThat(CALL_STARTED.await(30, TimeUnit.SECONDS)).isTrue();
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        // Give a leaked connection time to show up before sampling
+        for (int i = 0; i < 10; i++) {
+            assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isZero();
+            Thread.sleep(20);
+        }
+        RELEASE_CALL.countDown();
+
+        assertThat(analysis.get(30, TimeUnit.SECONDS)).extracting(SkillResponse::getName).contains("Streams");
+    }
+}
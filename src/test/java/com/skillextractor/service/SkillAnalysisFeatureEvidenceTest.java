@@ -0,0 +1,120 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.JavaFeature;
+import com.skillextractor.enums.SkillCategory;
+import com.skillextractor.model.Project;
+import com.skillextractor.model.User;
+import com.skillextractor.repository.ProjectRepository;
+import com.skillextractor.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The static scan runs on the uploaded sources, not the compacted prompt text: evidence line numbers
+ * are the ones the user sees in their file.
+ */
+@SpringBootTest
+class SkillAnalysisFeatureEvidenceTest {
+
+    static final AtomicReference<FeatureReport> LAST_REPORT = new AtomicReference<>();
+
+    @TestConfiguration
+    static class CapturingProviderConfig {
+
+        @Bean
+        @Primary
+        LlmProvider capturingLlmProvider() {
+            return new LlmProvider() {
+                @Override
+                public String cacheDiscriminator() {
+                    return "evidence-test";
+                }
+
+                @Override
+                public String analyzeProjectForSkills(List<ProjectUploadRequest.FileData> files, FeatureReport features) {
+                    LAST_REPORT.set(features);
+                    return "{\"skills\": [{\"name\": \"Lambdas\", \"category\": \"STREAMS_LAMBDAS\", "
+                            + "\"description\": \"Uses lambdas\", \"exampleUsage\": \"item -> item\", \"isGeneral\": false}]}";
+                }
+
+                @Override
+                public String generateQuiz(String skillName, SkillCategory category, String exampleUsage) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String generateQuizzes(List<QuizSpec> skills) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String correctJson(String invalidOutput, String expectedFormat) {
+                    return invalidOutput;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private SkillAnalysisService skillAnalysisService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    void evidenceLinesPointAtTheUploadedSource() {
+        User user = userRepository.save(User.builder()
+                .username("evidence-test")
+                .email("evidence-test@example.com")
+                .password("x")
+                .build());
+        Project project = projectRepository.save(Project.builder()
+                .name("evidence-test")
+                .analyzedFiles("Printer.java")
+                .totalFiles(1)
+                .totalSizeKb(1L)
+                .user(user)
+                .build());
+        ProjectUploadRequest request = new ProjectUploadRequest();
+        request.setProjectName("evidence-test");
+        ProjectUploadRequest.FileData file = new ProjectUploadRequest.FileData();
+        file.setFilename("Printer.java");
+        file.setExtension("java");
+        file.setContent("""
+                // Licensed under the Apache License
+                package demo;
+
+                import java.util.List;
+
+                /** Prints every item */
+                public class Printer {
+                    void print(List<String> items) {
+                        items.forEach(item -> System.out.println(item));
+                    }
+                }
+                """);
+        request.setFiles(List.of(file));
+
+        skillAnalysisService.analyzeAndSaveSkills(request, project, user.getId());
+
+        FeatureReport.FeatureEvidence lambda = LAST_REPORT.get().getFeatures().get(JavaFeature.LAMBDA);
+        assertThat(lambda).isNotNull();
+        assertThat(lambda.evidence()).first().satisfies(evidence -> {
+            assertThat(evidence.file()).isEqualTo("Printer.java");
+            assertThat(evidence.line()).isEqualTo(9);
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.skillextractor.enums.CompactionLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceCompactorTest {
+
+    private final SourceCompactor compactor = new SourceCompactor(CompactionLevel.STANDARD, new SimpleMeterRegistry());
+
+    @Test
+    void stripsJavaCommentsButKeepsLiterals() {
+        String compacted = compact("Main.java", """
+                // line comment
+                class Main {
+                    /* block */ String url = "https://repo.example/x"; // trailing
+                }
+                """);
+
+        assertThat(compacted).isEqualTo("""
+                class Main {
+                String url = "https://repo.example/x";
+                }
+                """);
+    }
+
+    @Test
+    void xmlKeepsUnquotedUrlsAndDropsXmlComments() {
+        String compacted = compact("pom.xml", """
+                <project>
+                    <!-- repository
+                         used for releases -->
+                    <url>https://repo.example/x</url>
+
+                </project>
+                """);
+
+        assertThat(compacted).isEqualTo("""
+                <project>
+                <url>https://repo.example/x</url>
+                </project>
+                """);
+    }
+
+    @Test
+    void otherFilesPassThroughUnchanged() {
+        String gradle = """
+                repositories { maven { url 'https://repo.example/x' } } // comment
+                """;
+
+        assertThat(compact("build.gradle", gradle)).isEqualTo(gradle);
+    }
+
+    private String compact(String filename, String content) {
+        ProjectUploadRequest.FileData file = new ProjectUploadRequest.FileData();
+        file.setFilename(filename);
+        file.setContent(content);
+        return compactor.compact(List.of(file)).files().get(0).getContent();
+    }
+}
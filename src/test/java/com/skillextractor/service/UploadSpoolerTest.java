@@ -0,0 +1,165 @@
+package com.skillextractor.service;
+
+import com.skillextractor.dto.ProjectUploadRequest;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class UploadSpoolerTest {
+
+    private static final int FILES = 8;
+    private static final long MAX_STREAMING_ALLOCATION = 512 * 1024;
+
+    @TempDir
+    Path spoolDir;
+
+    private final UploadSpooler spooler = new UploadSpooler();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(spooler, "maxFiles", 20);
+        ReflectionTestUtils.setField(spooler, "maxSizeMb", 10L);
+        ReflectionTestUtils.setField(spooler, "spoolDir", spoolDir.toString());
+    }
+
+    @Test
+    void zipEntriesKeepTheirRelativePath() throws IOException {
+        MockMultipartFile zip = zip("project.zip",
+                "a/Util.java", "class Util { int a; }",
+                "./b\\Util.java", "class Util { int b; }",
+                "pom.xml", "<project/>");
+
+        ProjectUploadRequest request = spooler.spool("p", null, List.of(zip));
+
+        assertThat(request.getFiles())
+                .extracting(ProjectUploadRequest.FileData::getFilename, ProjectUploadRequest.FileData::getContent)
+                .containsExactly(
+                        tuple("a/Util.java", "class Util { int a; }"),
+                        tuple("b/Util.java", "class Util { int b; }"),
+                        tuple("pom.xml", "<project/>"));
+    }
+
+    @Test
+    void rejectsPathsLeavingTheUpload() throws IOException {
+        MockMultipartFile zip = zip("project.zip", "src/../../Evil.java", "class Evil {}");
+
+        assertThatThrownBy(() -> spooler.spool("p", null, List.of(zip)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid file path");
+    }
+
+    @Test
+    void rejectsDuplicatePaths() throws IOException {
+        MockMultipartFile zip = zip("project.zip",
+                "src/Util.java", "class Util {}",
+                "src//Util.java", "class Util {}");
+
+        assertThatThrownBy(() -> spooler.spool("p", null, List.of(zip)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Duplicate file");
+    }
+
+    /**
+     * Heap allocated while streaming must not grow with the upload: the same fixed buffer carries
+     * 1 MB and 8 MB alike. Measured per thread, so other threads and GC timing do not matter.
+     */
+    @Test
+    void streamingAllocationStaysFlatAsUploadGrows() throws IOException {
+        ReflectionTestUtils.setField(spooler, "maxSizeMb", 64L);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up class loading and the JIT so the first measurement is not inflated
+        streamedAllocation(threads, threadId, largeZip(FILES, 64 * 1024));
+
+        long smallest = 0;
+        for (int sizeMb : new int[]{1, 2, 4, 8}) {
+            MockMultipartFile zip = largeZip(FILES, sizeMb * 1024 * 1024 / FILES);
+            long allocated = streamedAllocation(threads, threadId, zip);
+            if (smallest == 0) {
+                smallest = allocated;
+            }
+            assertThat(allocated)
+                    .as("bytes allocated streaming %d MB", sizeMb)
+                    .isLessThan(MAX_STREAMING_ALLOCATION)
+                    .isLessThan(smallest * 2 + 64 * 1024);
+        }
+    }
+
+    private long streamedAllocation(ThreadMXBean threads, long threadId, MockMultipartFile zip)
+            throws IOException {
+        Path directory = Files.createTempDirectory(spoolDir, "alloc-");
+        List<MultipartFile> parts = List.of(zip);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        spooler.stream(directory, parts);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        long spooled;
+        try (Stream<Path> files = Files.list(directory)) {
+            spooled = files.mapToLong(path -> path.toFile().length()).sum();
+        }
+        assertThat(spooled).isEqualTo((long) FILES * sizeOfEntries(zip));
+        return allocated;
+    }
+
+    private static long sizeOfEntries(MockMultipartFile zip) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(zip.getInputStream())) {
+            in.getNextEntry();
+            return in.readAllBytes().length;
+        }
+    }
+
+    /**
+     * FILES pseudo-random Java-like entries of entrySize bytes each (random so the archive is not tiny)
+     */
+    private static MockMultipartFile largeZip(int files, int entrySize) throws IOException {
+        Random random = new Random(42);
+        byte[] content = new byte[entrySize];
+        for (int i = 0; i < entrySize; i++) {
+            content[i] = (byte) (i % 64 == 63 ? '\n' : 'a' + random.nextInt(26));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < files; i++) {
+                out.putNextEntry(new ZipEntry("src/File" + i + ".java"));
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+        return new MockMultipartFile("files", "large.zip", "application/zip", bytes.toByteArray());
+    }
+
+    static MockMultipartFile zip(String name, String... pathsAndContents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < pathsAndContents.length; i += 2) {
+                out.putNextEntry(new ZipEntry(pathsAndContents[i]));
+                out.write(pathsAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return new MockMultipartFile("files", name, "application/zip", bytes.toByteArray());
+    }
+}